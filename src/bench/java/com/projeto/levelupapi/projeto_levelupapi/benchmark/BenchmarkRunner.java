@@ -0,0 +1,53 @@
+package com.projeto.levelupapi.projeto_levelupapi.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+// Ponto de entrada do profile "bench": ./mvnw -Pbench test-compile exec:exec
+// Propriedades (repassadas pelo pom ao processo do JMH):
+//   -Dbench.include=JwtFilterBenchmark   regex dos benchmarks (padrão: todos)
+//   -Dbench.forks / -Dbench.warmup / -Dbench.iterations   sobrescrevem as anotações das classes
+//   -Dbench.gc=false                     desliga o profiler de alocação (-prof gc, ligado por padrão)
+//   -Dbench.result=target/jmh-result.json   resultado em JSON para comparar entre versões
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws RunnerException {
+        ChainedOptionsBuilder options = new OptionsBuilder()
+                .include(property("bench.include", ".*Benchmark"))
+                .resultFormat(ResultFormatType.JSON)
+                .result(property("bench.result", "target/jmh-result.json"))
+                .shouldFailOnError(true);
+
+        if (Boolean.parseBoolean(property("bench.gc", "true"))) {
+            options.addProfiler(GCProfiler.class);
+        }
+        Integer forks = intProperty("bench.forks");
+        if (forks != null) {
+            options.forks(forks);
+        }
+        Integer warmup = intProperty("bench.warmup");
+        if (warmup != null) {
+            options.warmupIterations(warmup);
+        }
+        Integer iterations = intProperty("bench.iterations");
+        if (iterations != null) {
+            options.measurementIterations(iterations);
+        }
+        new Runner(options.build()).run();
+    }
+
+    // O pom repassa as propriedades mesmo quando não foram informadas (valor vazio)
+    private static String property(String name, String defaultValue) {
+        String value = System.getProperty(name);
+        return value == null || value.isBlank() ? defaultValue : value;
+    }
+
+    private static Integer intProperty(String name) {
+        String value = property(name, null);
+        return value == null ? null : Integer.valueOf(value);
+    }
+}
@@ -0,0 +1,131 @@
+package com.projeto.levelupapi.projeto_levelupapi.benchmark;
+
+import com.projeto.levelupapi.projeto_levelupapi.ProjetoLevelupapiApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Teste de carga comparando o Tomcat em platform threads e em virtual threads (spring.threads.virtual.enabled).
+// Sobe a aplicação em cada modo numa porta aleatória e, para cada nível de concorrência, mantém N clientes
+// fechados (cada um só envia a próxima requisição depois da resposta) durante load.seconds.
+// Imprime vazão, p50, p99 e erros por modo. As virtual threads só existem em JDK 21+.
+//
+//   ./mvnw -Pbench test-compile exec:exec -Dbench.main=com.projeto.levelupapi.projeto_levelupapi.benchmark.ExecutionModeLoadTest
+//   opções (repassadas pelo pom ao processo do teste): -Dload.clients=1000,5000,10000 -Dload.seconds=30 -Dload.paths=/api/users/1,/api/xp/1,/api/inventory/1
+//
+// Com 10k clientes o gerador abre 10k sockets: ajuste o ulimit -n da máquina antes.
+public class ExecutionModeLoadTest {
+
+    public static void main(String[] args) throws Exception {
+        // O devtools reiniciaria a aplicação num classloader novo a cada run()
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        int[] clients = Arrays.stream(property("load.clients", "1000,5000,10000").split(","))
+                .map(String::trim).mapToInt(Integer::parseInt).toArray();
+        int seconds = Integer.parseInt(property("load.seconds", "30"));
+        String[] paths = property("load.paths", "/api/users/1,/api/xp/1,/api/inventory/1").split(",");
+
+        System.out.printf("%-9s %8s %12s %10s %10s %8s%n", "mode", "clients", "req/s", "p50 ms", "p99 ms", "errors");
+        for (boolean virtual : new boolean[]{false, true}) {
+            ConfigurableApplicationContext context = new SpringApplicationBuilder(ProjetoLevelupapiApplication.class)
+                    .run(
+                            "--server.port=0",
+                            "--spring.threads.virtual.enabled=" + virtual,
+                            "--server.tomcat.max-connections=20000",
+                            "--server.tomcat.accept-count=10000",
+                            "--logging.level.root=WARN");
+            try {
+                int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+                String base = "http://localhost:" + port;
+                for (int n : clients) {
+                    Result result = run(base, paths, n, seconds);
+                    System.out.printf("%-9s %8d %12.0f %10.1f %10.1f %8d%n", virtual ? "virtual" : "platform", n,
+                            result.throughput, result.histogram.percentileMillis(50), result.histogram.percentileMillis(99), result.errors);
+                }
+            } finally {
+                context.close();
+            }
+        }
+    }
+
+    // O pom repassa as propriedades mesmo quando não foram informadas (valor vazio)
+    private static String property(String name, String defaultValue) {
+        String value = System.getProperty(name);
+        return value == null || value.isBlank() ? defaultValue : value.trim();
+    }
+
+    private static Result run(String base, String[] paths, int clients, int seconds) throws Exception {
+        ExecutorService executor = Executors.newCachedThreadPool();
+        HttpClient http = HttpClient.newBuilder()
+                .executor(executor)
+                .connectTimeout(Duration.ofSeconds(10))
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+        try {
+            String token = login(http, base);
+            // Aquecimento curto para JIT e pool de conexões antes de medir
+            drive(http, base, paths, token, clients, Math.min(5, seconds), new LatencyHistogram(), new LongAdder());
+
+            LatencyHistogram histogram = new LatencyHistogram();
+            LongAdder errors = new LongAdder();
+            long elapsed = drive(http, base, paths, token, clients, seconds, histogram, errors);
+            return new Result(histogram.count() / (elapsed / 1e9), histogram, errors.sum());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    // Cada permissão do semáforo é um cliente: só uma requisição em voo por cliente
+    private static long drive(HttpClient http, String base, String[] paths, String token, int clients, int seconds,
+                              LatencyHistogram histogram, LongAdder errors) throws InterruptedException {
+        Semaphore inFlight = new Semaphore(clients);
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.SECONDS.toNanos(seconds);
+        while (System.nanoTime() < deadline) {
+            if (!inFlight.tryAcquire(100, TimeUnit.MILLISECONDS)) {
+                continue;
+            }
+            String path = paths[ThreadLocalRandom.current().nextInt(paths.length)];
+            HttpRequest request = HttpRequest.newBuilder(URI.create(base + path.trim()))
+                    .header("Authorization", "Bearer " + token)
+                    .timeout(Duration.ofSeconds(60))
+                    .GET().build();
+            long sent = System.nanoTime();
+            http.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, failure) -> {
+                if (failure != null || response.statusCode() >= 400) {
+                    errors.increment();
+                } else {
+                    histogram.record(System.nanoTime() - sent);
+                }
+                inFlight.release();
+            });
+        }
+        // Espera as requisições em voo terminarem para não vazarem para a próxima rodada
+        inFlight.tryAcquire(clients, 60, TimeUnit.SECONDS);
+        return System.nanoTime() - start;
+    }
+
+    private static String login(HttpClient http, String base) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(base + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"username\":\"admin\",\"password\":\"admin\"}"))
+                .build();
+        String body = http.send(request, HttpResponse.BodyHandlers.ofString()).body();
+        return body.replaceAll(".*\"token\"\\s*:\\s*\"([^\"]+)\".*", "$1");
+    }
+
+    private record Result(double throughput, LatencyHistogram histogram, long errors) {
+    }
+}
@@ -0,0 +1,101 @@
+package com.projeto.levelupapi.projeto_levelupapi.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.projeto.levelupapi.projeto_levelupapi.dto.InventoryEntryDto;
+import com.projeto.levelupapi.projeto_levelupapi.model.InventoryItem;
+import com.projeto.levelupapi.projeto_levelupapi.model.Item;
+import com.projeto.levelupapi.projeto_levelupapi.model.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Respostas do InventoryController: entidades InventoryItem (como era) contra InventoryEntryDto
+// serializado pelo bean serializer padrão do Jackson, pelo serializador escrito à mão e por um
+// ObjectWriter já resolvido para List<InventoryEntryDto>. O tamanho de cada payload sai no setup.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InventoryResponseBenchmark {
+
+    // Desliga o @JsonSerialize do DTO para medir o bean serializer gerado por reflexão
+    @JsonSerialize(using = JsonSerializer.None.class)
+    private abstract static class DefaultSerializerMixin {
+    }
+
+    @Param({"20", "200"})
+    public int size;
+
+    private ObjectMapper objectMapper;
+    private ObjectMapper beanSerializerMapper;
+    private ObjectWriter entriesWriter;
+    private List<InventoryItem> entities;
+    private List<InventoryEntryDto> entries;
+
+    @Setup
+    public void setup() throws Exception {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        beanSerializerMapper = Jackson2ObjectMapperBuilder.json()
+                .mixIn(InventoryEntryDto.class, DefaultSerializerMixin.class)
+                .build();
+        entriesWriter = objectMapper.writerFor(new TypeReference<List<InventoryEntryDto>>() {});
+
+        // Dono como a entidade sai do banco; xpData fica nulo (em produção era um proxy lazy)
+        User owner = new User();
+        owner.setId(1L);
+        owner.setUsername("player1");
+        owner.setPassword("$2a$10$abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ012");
+        entities = new ArrayList<>(size);
+        entries = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Item item = new Item((long) i, "Item " + i, "Descrição do item " + i, i % 10 == 0 ? null : 1 + i % 100);
+            InventoryItem stack = new InventoryItem((long) i, owner, item, 1 + i % 5);
+            entities.add(stack);
+            entries.add(InventoryEntryDto.of(stack));
+        }
+
+        int entityBytes = entityResponse().length;
+        int entryBytes = entryResponse().length;
+        System.out.printf("%n  [size=%d] payload: entities %d bytes, dto %d bytes (%.0f%% menor)%n",
+                size, entityBytes, entryBytes, 100.0 * (entityBytes - entryBytes) / entityBytes);
+    }
+
+    @Benchmark
+    public byte[] entityResponse() throws Exception {
+        return objectMapper.writeValueAsBytes(entities);
+    }
+
+    @Benchmark
+    public byte[] entryResponseBeanSerializer() throws Exception {
+        return beanSerializerMapper.writeValueAsBytes(entries);
+    }
+
+    @Benchmark
+    public byte[] entryResponse() throws Exception {
+        return objectMapper.writeValueAsBytes(entries);
+    }
+
+    @Benchmark
+    public byte[] entryResponsePrecomputedWriter() throws Exception {
+        return entriesWriter.writeValueAsBytes(entries);
+    }
+}
@@ -0,0 +1,95 @@
+package com.projeto.levelupapi.projeto_levelupapi.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projeto.levelupapi.projeto_levelupapi.model.Item;
+import com.projeto.levelupapi.projeto_levelupapi.model.LevelCurve;
+import com.projeto.levelupapi.projeto_levelupapi.repository.ItemRepository;
+import com.projeto.levelupapi.projeto_levelupapi.service.ItemCatalogCache;
+import com.projeto.levelupapi.projeto_levelupapi.service.ItemCatalogSnapshot;
+import com.projeto.levelupapi.projeto_levelupapi.service.ItemService;
+import com.projeto.levelupapi.projeto_levelupapi.service.LevelUnlockCatalog;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+// ItemService.getAvailableItemsForLevel e isAvailableForLevel sobre o índice em memória do
+// LevelUnlockCatalog, e GET /items serializando o catálogo a cada chamada (como era) contra o
+// snapshot já codificado. O repositório é um proxy que só devolve o catálogo: nada aqui toca o
+// banco, então a diferença medida no catálogo é só a da serialização.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItemCatalogBenchmark {
+
+    @Param({"7", "10000"})
+    public int rewardItems;
+
+    private ItemService itemService;
+    private ItemRepository repository;
+    private ObjectMapper objectMapper;
+    private int level;
+
+    @Setup
+    public void setup() {
+        List<Item> catalog = new ArrayList<>(rewardItems);
+        for (int i = 0; i < rewardItems; i++) {
+            catalog.add(new Item((long) i, "Recompensa " + i, "Item de nível", 2 + i % 99));
+        }
+        repository = (ItemRepository) Proxy.newProxyInstance(
+                ItemRepository.class.getClassLoader(), new Class<?>[]{ItemRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findByUnlockLevelIsNotNull", "findAll" -> catalog;
+                    case "existsByUnlockLevelIsNotNull" -> true;
+                    case "findByName" -> Optional.empty();
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "ItemRepository(bench)";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+        LevelUnlockCatalog unlockCatalog = new LevelUnlockCatalog(repository, LevelCurve.DEFAULT);
+        unlockCatalog.refresh();
+        ItemCatalogCache catalogCache = new ItemCatalogCache(repository);
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        itemService = new ItemService(repository, unlockCatalog, catalogCache,
+                new ItemCatalogSnapshot(repository, catalogCache, objectMapper));
+        level = 3;
+    }
+
+    @Benchmark
+    public List<String> availableItemsForLevel() {
+        return itemService.getAvailableItemsForLevel(level);
+    }
+
+    @Benchmark
+    public boolean isAvailableForLevel() {
+        return itemService.isAvailableForLevel("Recompensa 1", level);
+    }
+
+    @Benchmark
+    public byte[] catalogSerializedPerRequest() throws Exception {
+        return objectMapper.writeValueAsBytes(repository.findAll());
+    }
+
+    @Benchmark
+    public byte[] catalogSnapshot() {
+        return itemService.catalog().json();
+    }
+}
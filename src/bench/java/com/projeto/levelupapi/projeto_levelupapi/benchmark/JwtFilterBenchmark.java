@@ -0,0 +1,96 @@
+package com.projeto.levelupapi.projeto_levelupapi.benchmark;
+
+import com.projeto.levelupapi.projeto_levelupapi.infra.jwt.JwtPrincipalCache;
+import com.projeto.levelupapi.projeto_levelupapi.infra.jwt.JwtTokenProvider;
+import com.projeto.levelupapi.projeto_levelupapi.infra.metrics.MetricsRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Compara o caminho antigo do JwtAuthenticationFilter (dois parses + lookup do usuário)
+// com o cache de principals frio (um parse) e quente (nenhum parse), além das operações
+// isoladas do JwtTokenProvider (emitir, validar e extrair o usuário).
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtFilterBenchmark {
+
+    private JwtTokenProvider tokenProvider;
+    private UserDetailsService userDetailsService;
+    private JwtPrincipalCache coldCache;
+    private JwtPrincipalCache warmCache;
+    private String token;
+    private UsernamePasswordAuthenticationToken authentication;
+
+    @Setup
+    public void setup() {
+        tokenProvider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(tokenProvider, "jwtSecret", "af60addca9ea3e3c099551e1b6576c9966dce0a33de879dd7e160f86dbd872ca");
+        ReflectionTestUtils.setField(tokenProvider, "jwtExpirationMs", 864000000);
+        ReflectionTestUtils.invokeMethod(tokenProvider, "initParser");
+
+        User principal = new User("player", "", List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        authentication = new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+        token = tokenProvider.generateToken(authentication);
+
+        // Sem banco: o lookup do usuário aqui é só o custo de montar o UserDetails
+        userDetailsService = username -> new User(username, "hash", List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        coldCache = new JwtPrincipalCache(tokenProvider, userDetailsService, 10_000, new MetricsRegistry());
+        warmCache = new JwtPrincipalCache(tokenProvider, userDetailsService, 10_000, new MetricsRegistry());
+        warmCache.resolve(token);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return tokenProvider.generateToken(authentication);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return tokenProvider.validateToken(token);
+    }
+
+    @Benchmark
+    public String getUsernameFromJwt() {
+        return tokenProvider.getUsernameFromJwt(token);
+    }
+
+    @Benchmark
+    public Object legacyFilterPath() {
+        if (!tokenProvider.validateToken(token)) {
+            return null;
+        }
+        String username = tokenProvider.getUsernameFromJwt(token);
+        User userDetails = (User) userDetailsService.loadUserByUsername(username);
+        return new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+    }
+
+    @Benchmark
+    public Object coldCachePath() {
+        coldCache.clear();
+        return coldCache.resolve(token);
+    }
+
+    @Benchmark
+    public Object warmCachePath() {
+        return warmCache.resolve(token);
+    }
+}
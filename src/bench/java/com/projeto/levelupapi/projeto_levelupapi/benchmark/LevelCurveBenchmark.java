@@ -0,0 +1,61 @@
+package com.projeto.levelupapi.projeto_levelupapi.benchmark;
+
+import com.projeto.levelupapi.projeto_levelupapi.model.LevelCurve;
+import com.projeto.levelupapi.projeto_levelupapi.model.Xp;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// Laço nível a nível (como o antigo Xp.checkLevelUp) contra a resolução pela tabela acumulada,
+// e o Xp.addXp da entidade (o que o XpService executa por ganho) nos mesmos tamanhos de ganho.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LevelCurveBenchmark {
+
+    @Param({"50", "5000", "500000", "2000000000"})
+    public long grant;
+
+    private final LevelCurve linear = LevelCurve.DEFAULT;
+    private final LevelCurve exponential = LevelCurve.exponential(100, 1.15, 100);
+
+    @Benchmark
+    public long loop() {
+        int level = 1;
+        long xp = grant;
+        while (level <= 100 && xp >= 100L * level) {
+            xp -= 100L * level;
+            level++;
+        }
+        return level > 100 ? 100 : level;
+    }
+
+    @Benchmark
+    public LevelCurve.Progress linearTable() {
+        return linear.resolve(1, 0, grant);
+    }
+
+    @Benchmark
+    public LevelCurve.Progress exponentialTable() {
+        return exponential.resolve(1, 0, grant);
+    }
+
+    @Benchmark
+    public Xp xpAddXp() {
+        Xp xp = new Xp(1L, null, 0, 1);
+        xp.addXp((int) Math.min(grant, Integer.MAX_VALUE));
+        return xp;
+    }
+}
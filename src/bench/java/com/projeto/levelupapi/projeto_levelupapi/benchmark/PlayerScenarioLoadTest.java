@@ -0,0 +1,483 @@
+package com.projeto.levelupapi.projeto_levelupapi.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projeto.levelupapi.projeto_levelupapi.ProjetoLevelupapiApplication;
+import com.projeto.levelupapi.projeto_levelupapi.model.User;
+import com.projeto.levelupapi.projeto_levelupapi.service.UserService;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.servlet.Filter;
+import jakarta.servlet.http.HttpServletRequest;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Teste de carga por cenários de jogo antes de cada deploy. Sobe a aplicação (H2 em memória ou um
+// PostgreSQL local), cadastra load.players jogadores pelo UserService.create, faz login de cada um e
+// mantém load.clients clientes fechados executando um mix ponderado de ações durante load.seconds.
+// No fim imprime, por endpoint: vazão, p50/p95/p99, erros (4xx/5xx/falha de rede) e statements JDBC
+// por requisição, além dos totais do Hibernate.
+//
+//   ./mvnw -Pbench test-compile exec:exec -Dbench.main=com.projeto.levelupapi.projeto_levelupapi.benchmark.PlayerScenarioLoadTest
+//   opções (o pom repassa cada -Dload.* ao processo do teste; vazias = padrão):
+//     -Dload.players=200 -Dload.clients=32 -Dload.seconds=60 -Dload.warmup-seconds=10
+//     -Dload.mix=login:5,xp:35,inventory-add:15,inventory-remove:10,safezone-enter:10,safezone-exit:10,choose-item:15
+//     -Dload.db-url=jdbc:postgresql://localhost:5432/levelup -Dload.db-user=postgres -Dload.db-password=postgres
+//     -Dload.app-properties=xp.write-behind.enabled=true,spring.threads.virtual.enabled=true
+//
+// Respostas 4xx fazem parte do jogo (remover item que acabou, escolher item fora da zona segura) e
+// aparecem separadas dos 5xx, que indicam problema de verdade.
+public class PlayerScenarioLoadTest {
+
+    private static final String PASSWORD = "senha-carga-123";
+    private static final String SCENARIO_HEADER = "X-Load-Scenario";
+    private static final String[] ITEMS = {"Poção de Cura", "Mapa do Jogo", "Escudo de Couro"};
+
+    enum Scenario {
+        LOGIN("login"),
+        XP("xp"),
+        INVENTORY_ADD("inventory-add"),
+        INVENTORY_REMOVE("inventory-remove"),
+        SAFEZONE_ENTER("safezone-enter"),
+        SAFEZONE_EXIT("safezone-exit"),
+        AVAILABLE_ITEMS("available-items"),
+        CHOOSE_ITEM("choose-item");
+
+        final String key;
+
+        Scenario(String key) {
+            this.key = key;
+        }
+
+        static Scenario of(String key) {
+            Scenario scenario = lookup(key);
+            if (scenario == null) {
+                throw new IllegalArgumentException("Unknown scenario: " + key);
+            }
+            return scenario;
+        }
+
+        static Scenario lookup(String key) {
+            for (Scenario scenario : values()) {
+                if (scenario.key.equals(key)) {
+                    return scenario;
+                }
+            }
+            return null;
+        }
+    }
+
+    // Statements JDBC por cenário: o filtro marca a thread da requisição com o cabeçalho do cliente
+    private static final ThreadLocal<Scenario> CURRENT = new ThreadLocal<>();
+    private static final Map<Scenario, LongAdder> STATEMENTS = new EnumMap<>(Scenario.class);
+    private static final LongAdder BACKGROUND_STATEMENTS = new LongAdder();
+
+    static {
+        for (Scenario scenario : Scenario.values()) {
+            STATEMENTS.put(scenario, new LongAdder());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        // O devtools reiniciaria a aplicação num classloader novo a cada run()
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        int players = Integer.parseInt(property("load.players", "200"));
+        int clients = Integer.parseInt(property("load.clients", "32"));
+        int seconds = Integer.parseInt(property("load.seconds", "60"));
+        int warmupSeconds = Integer.parseInt(property("load.warmup-seconds", "10"));
+        Mix mix = Mix.parse(property("load.mix",
+                "login:5,xp:35,inventory-add:15,inventory-remove:10,safezone-enter:10,safezone-exit:10,choose-item:15"));
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(ProjetoLevelupapiApplication.class)
+                .initializers(ctx -> instrument((GenericApplicationContext) ctx))
+                .run(appProperties());
+        try {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            String base = "http://localhost:" + port;
+            String database = context.getEnvironment().getProperty("spring.datasource.url", "H2 (padrão)");
+
+            long seedStart = System.nanoTime();
+            Player[] roster = seed(context.getBean(UserService.class), players);
+            System.out.printf("Seeded %d players in %.1fs on %s%n", roster.length, (System.nanoTime() - seedStart) / 1e9, database);
+
+            ExecutorService httpExecutor = Executors.newCachedThreadPool();
+            HttpClient http = HttpClient.newBuilder()
+                    .executor(httpExecutor)
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .build();
+            try {
+                login(http, base, roster);
+                run(http, base, roster, mix, clients, warmupSeconds, null);
+
+                Statistics statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+                statistics.clear();
+                STATEMENTS.values().forEach(LongAdder::reset);
+                BACKGROUND_STATEMENTS.reset();
+
+                Map<Scenario, Stats> stats = new EnumMap<>(Scenario.class);
+                for (Scenario scenario : Scenario.values()) {
+                    stats.put(scenario, new Stats());
+                }
+                long elapsed = run(http, base, roster, mix, clients, seconds, stats);
+                report(stats, elapsed, clients, statistics);
+            } finally {
+                httpExecutor.shutdownNow();
+            }
+        } finally {
+            context.close();
+        }
+    }
+
+    // O pom repassa as propriedades mesmo quando não foram informadas (valor vazio)
+    private static String property(String name, String defaultValue) {
+        String value = System.getProperty(name);
+        return value == null || value.isBlank() ? defaultValue : value.trim();
+    }
+
+    // Passadas como argumentos de linha de comando para ter precedência sobre o application.properties
+    private static String[] appProperties() {
+        List<String> properties = new ArrayList<>(List.of(
+                "server.port=0",
+                "server.tomcat.threads.max=200",
+                "logging.level.root=WARN",
+                "spring.jpa.properties.hibernate.generate_statistics=true"));
+        String dbUrl = property("load.db-url", null);
+        if (dbUrl != null) {
+            properties.add("spring.datasource.url=" + dbUrl);
+            properties.add("spring.datasource.username=" + property("load.db-user", "postgres"));
+            properties.add("spring.datasource.password=" + property("load.db-password", ""));
+            properties.add("spring.jpa.hibernate.ddl-auto=update");
+        }
+        String extra = property("load.app-properties", "");
+        for (String property : extra.split(",")) {
+            if (!property.isBlank()) {
+                properties.add(property.trim());
+            }
+        }
+        return properties.stream().map(property -> "--" + property).toArray(String[]::new);
+    }
+
+    // Conta statements JDBC (prepare/create) por cenário e registra o filtro que marca a thread
+    private static void instrument(GenericApplicationContext context) {
+        context.getBeanFactory().addBeanPostProcessor(new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource dataSource && "dataSource".equals(beanName) ? countingDataSource(dataSource) : bean;
+            }
+        });
+        context.registerBean("loadScenarioFilter", FilterRegistrationBean.class, () -> {
+            Filter filter = (request, response, chain) -> {
+                String header = ((HttpServletRequest) request).getHeader(SCENARIO_HEADER);
+                CURRENT.set(header == null ? null : Scenario.lookup(header));
+                try {
+                    chain.doFilter(request, response);
+                } finally {
+                    CURRENT.remove();
+                }
+            };
+            FilterRegistrationBean<Filter> registration = new FilterRegistrationBean<>(filter);
+            registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+            return registration;
+        });
+    }
+
+    private static DataSource countingDataSource(DataSource target) {
+        return (DataSource) Proxy.newProxyInstance(DataSource.class.getClassLoader(), new Class<?>[]{DataSource.class},
+                (proxy, method, args) -> {
+                    Object result = invoke(target, method, args);
+                    return result instanceof Connection connection ? countingConnection(connection) : result;
+                });
+    }
+
+    private static Connection countingConnection(Connection target) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    String name = method.getName();
+                    if (name.equals("prepareStatement") || name.equals("createStatement") || name.equals("prepareCall")) {
+                        Scenario scenario = CURRENT.get();
+                        (scenario == null ? BACKGROUND_STATEMENTS : STATEMENTS.get(scenario)).increment();
+                    }
+                    return invoke(target, method, args);
+                });
+    }
+
+    private static Object invoke(Object target, java.lang.reflect.Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    // Cadastro pelo caminho real (hash da senha, XP inicial, itens iniciais, ranking), em paralelo
+    private static Player[] seed(UserService userService, int players) throws Exception {
+        String runId = Long.toString(System.currentTimeMillis(), 36);
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(2, Runtime.getRuntime().availableProcessors()));
+        try {
+            List<Future<Player>> futures = new ArrayList<>(players);
+            for (int i = 0; i < players; i++) {
+                String username = "carga-" + runId + "-" + i;
+                futures.add(executor.submit(() -> {
+                    User user = new User();
+                    user.setUsername(username);
+                    user.setPassword(PASSWORD);
+                    return new Player(userService.create(user).getId(), username);
+                }));
+            }
+            Player[] roster = new Player[players];
+            for (int i = 0; i < players; i++) {
+                roster[i] = futures.get(i).get();
+            }
+            return roster;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static void login(HttpClient http, String base, Player[] roster) throws Exception {
+        for (Player player : roster) {
+            HttpResponse<String> response = http.send(loginRequest(base, player.username), HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Login failed for " + player.username + ": HTTP " + response.statusCode());
+            }
+            player.token = extractToken(response.body());
+        }
+    }
+
+    private static long run(HttpClient http, String base, Player[] roster, Mix mix, int clients, int seconds,
+                            Map<Scenario, Stats> stats) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(clients);
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.SECONDS.toNanos(seconds);
+        ObjectMapper json = new ObjectMapper();
+        for (int c = 0; c < clients; c++) {
+            executor.execute(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (System.nanoTime() < deadline) {
+                    Player player = roster[random.nextInt(roster.length)];
+                    Scenario scenario = mix.pick(random);
+                    try {
+                        play(http, base, player, scenario, stats, json, random);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+        executor.awaitTermination(seconds + 120L, TimeUnit.SECONDS);
+        return System.nanoTime() - start;
+    }
+
+    private static void play(HttpClient http, String base, Player player, Scenario scenario, Map<Scenario, Stats> stats,
+                             ObjectMapper json, ThreadLocalRandom random) throws InterruptedException {
+        String api = base + "/api";
+        switch (scenario) {
+            case LOGIN -> {
+                HttpResponse<String> response = timed(http, loginRequest(base, player.username), scenario, stats);
+                if (response != null && response.statusCode() == 200) {
+                    player.token = extractToken(response.body());
+                }
+            }
+            case XP -> timed(http, post(player, scenario, api + "/xp/" + player.id + "/add?xpGanho=" + (10 + random.nextInt(400)), null),
+                    scenario, stats);
+            case INVENTORY_ADD -> timed(http, post(player, scenario, api + "/inventory/" + player.id + "/add",
+                    itemBody(ITEMS[random.nextInt(ITEMS.length)], 1 + random.nextInt(3))), scenario, stats);
+            case INVENTORY_REMOVE -> timed(http, post(player, scenario, api + "/inventory/" + player.id + "/remove",
+                    itemBody(ITEMS[random.nextInt(ITEMS.length)], 1)), scenario, stats);
+            case SAFEZONE_ENTER -> timed(http, post(player, scenario, api + "/safezone/" + player.id + "/enter", null), scenario, stats);
+            case SAFEZONE_EXIT -> timed(http, post(player, scenario, api + "/safezone/" + player.id + "/exit", null), scenario, stats);
+            case CHOOSE_ITEM, AVAILABLE_ITEMS -> {
+                // Fluxo do jogo: consulta as recompensas do nível e escolhe uma, se houver
+                HttpResponse<String> available = timed(http, get(player, api + "/levelup/" + player.id + "/available-items"),
+                        Scenario.AVAILABLE_ITEMS, stats);
+                if (available == null || available.statusCode() != 200) {
+                    return;
+                }
+                List<?> items;
+                try {
+                    items = json.readValue(available.body(), List.class);
+                } catch (Exception e) {
+                    return;
+                }
+                if (!items.isEmpty()) {
+                    String itemName = String.valueOf(items.get(random.nextInt(items.size())));
+                    timed(http, post(player, Scenario.CHOOSE_ITEM, api + "/levelup/" + player.id + "/choose-item",
+                            "{\"itemName\":\"" + itemName + "\"}"), Scenario.CHOOSE_ITEM, stats);
+                }
+            }
+        }
+    }
+
+    private static HttpResponse<String> timed(HttpClient http, HttpRequest request, Scenario scenario,
+                                              Map<Scenario, Stats> stats) throws InterruptedException {
+        long start = System.nanoTime();
+        try {
+            HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+            if (stats != null) {
+                Stats s = stats.get(scenario);
+                s.latency.record(System.nanoTime() - start);
+                if (response.statusCode() >= 500) {
+                    s.serverErrors.increment();
+                } else if (response.statusCode() >= 400) {
+                    s.clientErrors.increment();
+                }
+            }
+            return response;
+        } catch (java.io.IOException e) {
+            if (stats != null) {
+                stats.get(scenario).failures.increment();
+            }
+            return null;
+        }
+    }
+
+    private static HttpRequest loginRequest(String base, String username) {
+        return HttpRequest.newBuilder(URI.create(base + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .header(SCENARIO_HEADER, Scenario.LOGIN.key)
+                .timeout(Duration.ofSeconds(60))
+                .POST(HttpRequest.BodyPublishers.ofString("{\"username\":\"" + username + "\",\"password\":\"" + PASSWORD + "\"}"))
+                .build();
+    }
+
+    private static HttpRequest get(Player player, String url) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .header("Authorization", "Bearer " + player.token)
+                .header(SCENARIO_HEADER, Scenario.AVAILABLE_ITEMS.key)
+                .timeout(Duration.ofSeconds(60))
+                .GET().build();
+    }
+
+    private static HttpRequest post(Player player, Scenario scenario, String url, String body) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url))
+                .header("Authorization", "Bearer " + player.token)
+                .header(SCENARIO_HEADER, scenario.key)
+                .timeout(Duration.ofSeconds(60));
+        if (body == null) {
+            return builder.POST(HttpRequest.BodyPublishers.noBody()).build();
+        }
+        return builder.header("Content-Type", "application/json").POST(HttpRequest.BodyPublishers.ofString(body)).build();
+    }
+
+    private static String itemBody(String itemName, int quantity) {
+        return "{\"itemName\":\"" + itemName + "\",\"quantity\":" + quantity + "}";
+    }
+
+    private static String extractToken(String body) {
+        return body.replaceAll(".*\"token\"\\s*:\\s*\"([^\"]+)\".*", "$1");
+    }
+
+    private static void report(Map<Scenario, Stats> stats, long elapsedNanos, int clients, Statistics hibernate) {
+        double seconds = elapsedNanos / 1e9;
+        long totalRequests = 0;
+        long totalErrors = 0;
+        long totalStatements = 0;
+        System.out.printf("%nClients: %d, duration: %.1fs%n", clients, seconds);
+        System.out.printf("%-17s %9s %9s %9s %9s %9s %7s %7s %7s %8s %10s%n",
+                "endpoint", "requests", "req/s", "p50 ms", "p95 ms", "p99 ms", "4xx", "5xx", "io", "err %", "stmts/req");
+        for (Map.Entry<Scenario, Stats> entry : stats.entrySet()) {
+            Stats s = entry.getValue();
+            long requests = s.latency.count() + s.failures.sum();
+            if (requests == 0) {
+                continue;
+            }
+            long errors = s.clientErrors.sum() + s.serverErrors.sum() + s.failures.sum();
+            long statements = STATEMENTS.get(entry.getKey()).sum();
+            totalRequests += requests;
+            totalErrors += errors;
+            totalStatements += statements;
+            System.out.printf("%-17s %9d %9.1f %9.1f %9.1f %9.1f %7d %7d %7d %8.2f %10.2f%n",
+                    entry.getKey().key, requests, requests / seconds,
+                    s.latency.percentileMillis(50), s.latency.percentileMillis(95), s.latency.percentileMillis(99),
+                    s.clientErrors.sum(), s.serverErrors.sum(), s.failures.sum(),
+                    100.0 * errors / requests, (double) statements / requests);
+        }
+        System.out.printf("%-17s %9d %9.1f %51s %8.2f %10.2f%n", "total", totalRequests, totalRequests / seconds, "",
+                totalRequests == 0 ? 0 : 100.0 * totalErrors / totalRequests,
+                totalRequests == 0 ? 0 : (double) totalStatements / totalRequests);
+        System.out.printf("%nJDBC statements fora de requisições (flush do write-behind, jobs): %d%n", BACKGROUND_STATEMENTS.sum());
+        System.out.printf("Hibernate: %d consultas HQL (mais lenta %d ms), %d entidades carregadas, %d inseridas, %d atualizadas, %d transações%n",
+                hibernate.getQueryExecutionCount(), hibernate.getQueryExecutionMaxTime(), hibernate.getEntityLoadCount(),
+                hibernate.getEntityInsertCount(), hibernate.getEntityUpdateCount(), hibernate.getTransactionCount());
+    }
+
+    private static final class Player {
+        final Long id;
+        final String username;
+        volatile String token;
+
+        Player(Long id, String username) {
+            this.id = id;
+            this.username = username;
+        }
+    }
+
+    private static final class Stats {
+        final LatencyHistogram latency = new LatencyHistogram();
+        final LongAdder clientErrors = new LongAdder();
+        final LongAdder serverErrors = new LongAdder();
+        final LongAdder failures = new LongAdder();
+    }
+
+    // Sorteio ponderado: pesos acumulados e busca linear (poucos cenários)
+    private record Mix(Scenario[] scenarios, int[] cumulative) {
+
+        static Mix parse(String spec) {
+            List<Scenario> scenarios = new ArrayList<>();
+            List<Integer> weights = new ArrayList<>();
+            int total = 0;
+            for (String part : spec.split(",")) {
+                String[] kv = part.trim().split(":");
+                int weight = Integer.parseInt(kv[1].trim());
+                if (weight <= 0) {
+                    continue;
+                }
+                total += weight;
+                scenarios.add(Scenario.of(kv[0].trim()));
+                weights.add(total);
+            }
+            if (scenarios.isEmpty()) {
+                throw new IllegalArgumentException("load.mix has no scenario with positive weight");
+            }
+            return new Mix(scenarios.toArray(Scenario[]::new), weights.stream().mapToInt(Integer::intValue).toArray());
+        }
+
+        Scenario pick(ThreadLocalRandom random) {
+            int value = random.nextInt(cumulative[cumulative.length - 1]);
+            for (int i = 0; i < cumulative.length; i++) {
+                if (value < cumulative[i]) {
+                    return scenarios[i];
+                }
+            }
+            return scenarios[scenarios.length - 1];
+        }
+    }
+}
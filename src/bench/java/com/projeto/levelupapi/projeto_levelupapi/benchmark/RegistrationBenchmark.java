@@ -0,0 +1,189 @@
+package com.projeto.levelupapi.projeto_levelupapi.benchmark;
+
+import com.projeto.levelupapi.projeto_levelupapi.ProjetoLevelupapiApplication;
+import com.projeto.levelupapi.projeto_levelupapi.model.Item;
+import com.projeto.levelupapi.projeto_levelupapi.model.User;
+import com.projeto.levelupapi.projeto_levelupapi.model.Xp;
+import com.projeto.levelupapi.projeto_levelupapi.repository.ItemRepository;
+import com.projeto.levelupapi.projeto_levelupapi.repository.UserRepository;
+import com.projeto.levelupapi.projeto_levelupapi.repository.XpRepository;
+import com.projeto.levelupapi.projeto_levelupapi.service.InventoryService;
+import com.projeto.levelupapi.projeto_levelupapi.service.ItemCatalogCache;
+import com.projeto.levelupapi.projeto_levelupapi.service.UserService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// Cadastro de jogador em H2: o caminho antigo (save do usuário, save do XP e um upsert por item do
+// kit, cada um na própria transação) contra o atual (uma transação, kit em INSERT em lote).
+// O BCrypt roda com custo 4 para que o tempo medido seja o do banco, não o do hash.
+// A cada iteração imprime as idas ao banco por cadastro (execute/executeBatch e commits).
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+public class RegistrationBenchmark {
+
+    private static final LongAdder EXECUTES = new LongAdder();
+    private static final LongAdder COMMITS = new LongAdder();
+
+    private static final String[][] KIT = {
+            {"Mapa do Jogo", "1"}, {"Poção de Cura", "3"}, {"Espada de Madeira", "1"}, {"Escudo de Couro", "1"}};
+
+    private ConfigurableApplicationContext context;
+    private UserService userService;
+    private UserRepository userRepository;
+    private XpRepository xpRepository;
+    private ItemRepository itemRepository;
+    private ItemCatalogCache itemCatalogCache;
+    private InventoryService inventoryService;
+    private PasswordEncoder passwordEncoder;
+    private final AtomicLong sequence = new AtomicLong();
+    private final LongAdder registrations = new LongAdder();
+
+    @Setup
+    public void setup() {
+        // A configuração de segurança exige o contexto web; a porta aleatória evita conflito
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        context = new SpringApplicationBuilder(ProjetoLevelupapiApplication.class)
+                .initializers(ctx -> ((GenericApplicationContext) ctx).getBeanFactory().addBeanPostProcessor(new BeanPostProcessor() {
+                    @Override
+                    public Object postProcessAfterInitialization(Object bean, String beanName) {
+                        return bean instanceof DataSource dataSource && "dataSource".equals(beanName) ? counting(dataSource) : bean;
+                    }
+                }))
+                .run("--server.port=0", "--security.password.bcrypt-strength=4", "--logging.level.root=WARN");
+        userService = context.getBean(UserService.class);
+        userRepository = context.getBean(UserRepository.class);
+        xpRepository = context.getBean(XpRepository.class);
+        itemRepository = context.getBean(ItemRepository.class);
+        itemCatalogCache = context.getBean(ItemCatalogCache.class);
+        inventoryService = context.getBean(InventoryService.class);
+        passwordEncoder = context.getBean(PasswordEncoder.class);
+        // Garante o kit resolvido antes de medir, nos dois caminhos
+        userService.create(newUser());
+    }
+
+    @Setup(Level.Iteration)
+    public void resetCounters() {
+        EXECUTES.reset();
+        COMMITS.reset();
+        registrations.reset();
+    }
+
+    @TearDown(Level.Iteration)
+    public void printRoundTripsPerRegistration() {
+        long n = Math.max(1, registrations.sum());
+        System.out.printf("%n  per registration: %.1f statements, %.1f commits%n",
+                (double) EXECUTES.sum() / n, (double) COMMITS.sum() / n);
+    }
+
+    // Como era antes: cada save/upsert em autocommit ou na própria transação do repositório
+    @Benchmark
+    public User legacyCreate() {
+        User user = newUser();
+        user.setPassword(passwordEncoder.encode(user.getPassword()));
+        User saved = userRepository.save(user);
+        Xp xp = new Xp();
+        xp.setUser(saved);
+        xp.setXpPoints(0);
+        xp.setLevel(1);
+        xpRepository.save(xp);
+        for (String[] entry : KIT) {
+            if (itemCatalogCache.findByName(entry[0]).isEmpty()) {
+                Item novo = new Item();
+                novo.setName(entry[0]);
+                itemCatalogCache.put(itemRepository.save(novo));
+            }
+            inventoryService.addItem(saved, entry[0], Integer.parseInt(entry[1]));
+        }
+        registrations.increment();
+        return saved;
+    }
+
+    @Benchmark
+    public User create() {
+        User saved = userService.create(newUser());
+        registrations.increment();
+        return saved;
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    private User newUser() {
+        User user = new User();
+        user.setUsername("bench-registration-" + sequence.incrementAndGet());
+        user.setPassword("senha-bench");
+        return user;
+    }
+
+    private static DataSource counting(DataSource target) {
+        return (DataSource) Proxy.newProxyInstance(DataSource.class.getClassLoader(), new Class<?>[]{DataSource.class},
+                (proxy, method, args) -> {
+                    Object result = invoke(target, method, args);
+                    return result instanceof Connection connection ? counting(connection) : result;
+                });
+    }
+
+    private static Connection counting(Connection target) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("commit")) {
+                        COMMITS.increment();
+                    }
+                    Object result = invoke(target, method, args);
+                    if (result instanceof Statement statement) {
+                        return counting(statement, method.getReturnType());
+                    }
+                    return result;
+                });
+    }
+
+    // Cada execute*/executeBatch é uma ida ao banco; o lote inteiro conta uma vez
+    private static Object counting(Statement target, Class<?> type) {
+        return Proxy.newProxyInstance(Statement.class.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> {
+                    if (method.getName().startsWith("execute")) {
+                        EXECUTES.increment();
+                    }
+                    return invoke(target, method, args);
+                });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.projeto.levelupapi.projeto_levelupapi.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projeto.levelupapi.projeto_levelupapi.dto.UserResponseDto;
+import com.projeto.levelupapi.projeto_levelupapi.model.InventoryItem;
+import com.projeto.levelupapi.projeto_levelupapi.model.Item;
+import com.projeto.levelupapi.projeto_levelupapi.model.User;
+import com.projeto.levelupapi.projeto_levelupapi.model.Xp;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Montagem das respostas sem banco: entidade -> UserResponseDto (o map que os controllers faziam)
+// e serialização Jackson de inventários, com o ObjectMapper configurado como o do Spring Boot.
+// Rodar com -prof gc (padrão do BenchmarkRunner) para ver os bytes alocados por resposta.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseMappingBenchmark {
+
+    @Param({"20", "1000"})
+    public int size;
+
+    private ObjectMapper objectMapper;
+    private List<User> users;
+    private List<InventoryItem> inventory;
+    private List<UserResponseDto> responses;
+
+    @Setup
+    public void setup() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        users = new ArrayList<>(size);
+        inventory = new ArrayList<>(size);
+        // Dono do inventário como a entidade sai do banco: xpData nunca preenchido (ver Xp.user)
+        User owner = new User();
+        owner.setId(1L);
+        owner.setUsername("player1");
+        owner.setPassword("$2a$10$abcdefghijklmnopqrstuv");
+        for (int i = 0; i < size; i++) {
+            User user = new User();
+            user.setId((long) i);
+            user.setUsername("player" + i);
+            user.setPassword("$2a$10$abcdefghijklmnopqrstuv");
+            user.setXpData(new Xp((long) i, null, i * 7 % 500, 1 + i % 100));
+            users.add(user);
+
+            Item item = new Item((long) i, "Item " + i, "Descrição do item " + i, i % 10 == 0 ? null : 1 + i % 100);
+            inventory.add(new InventoryItem((long) i, owner, item, 1 + i % 5));
+        }
+        responses = mapUsers();
+    }
+
+    @Benchmark
+    public List<UserResponseDto> mapUsers() {
+        List<UserResponseDto> dtos = new ArrayList<>(users.size());
+        for (User user : users) {
+            UserResponseDto dto = new UserResponseDto();
+            dto.setId(user.getId());
+            dto.setUsername(user.getUsername());
+            dto.setLevel(user.getXpData() != null ? user.getXpData().getLevel() : 1);
+            dto.setXp(user.getXpData() != null ? user.getXpData().getXpPoints() : 0);
+            dtos.add(dto);
+        }
+        return dtos;
+    }
+
+    @Benchmark
+    public byte[] serializeUserResponses() throws Exception {
+        return objectMapper.writeValueAsBytes(responses);
+    }
+
+    @Benchmark
+    public byte[] serializeInventory() throws Exception {
+        return objectMapper.writeValueAsBytes(inventory);
+    }
+}
@@ -0,0 +1,145 @@
+package com.projeto.levelupapi.projeto_levelupapi.benchmark;
+
+import com.projeto.levelupapi.projeto_levelupapi.ProjetoLevelupapiApplication;
+import com.projeto.levelupapi.projeto_levelupapi.dto.UserResponseDto;
+import com.projeto.levelupapi.projeto_levelupapi.model.User;
+import com.projeto.levelupapi.projeto_levelupapi.repository.UserRepository;
+import com.projeto.levelupapi.projeto_levelupapi.service.UserService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Listagem de jogadores com 100k usuários em H2: entidade + xpData LAZY (N+1) contra a projeção
+// usuário + XP em um único SELECT, paginação por offset contra keyset, e a exportação em streaming.
+// A cada iteração imprime quantos statements JDBC cada operação executou.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+public class UserListingBenchmark {
+
+    private static final int USERS = 100_000;
+    private static final int PAGE_SIZE = 1_000;
+
+    private ConfigurableApplicationContext context;
+    private UserRepository userRepository;
+    private UserService userService;
+    private TransactionTemplate transactionTemplate;
+    private Statistics statistics;
+    private long minId;
+    private final LongAdder operations = new LongAdder();
+
+    @Setup
+    public void setup() {
+        // A configuração de segurança exige o contexto web; a porta aleatória evita conflito
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        context = new SpringApplicationBuilder(ProjetoLevelupapiApplication.class)
+                .run(
+                        "--server.port=0",
+                        "--spring.jpa.properties.hibernate.generate_statistics=true",
+                        "--logging.level.root=WARN");
+        userRepository = context.getBean(UserRepository.class);
+        userService = context.getBean(UserService.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        transactionTemplate.setReadOnly(true);
+        statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+        minId = seedUsers(context.getBean(JdbcTemplate.class));
+    }
+
+    @Setup(Level.Iteration)
+    public void resetCounters() {
+        statistics.clear();
+        operations.reset();
+    }
+
+    @TearDown(Level.Iteration)
+    public void printStatementsPerOperation() {
+        long ops = Math.max(1, operations.sum());
+        System.out.printf("%n  JDBC statements per operation: %.1f%n", (double) statistics.getPrepareStatementCount() / ops);
+    }
+
+    // Caminho antigo: página de entidades e um SELECT extra por usuário ao ler o xpData
+    @Benchmark
+    public void entityPageWithLazyXp(Blackhole bh) {
+        int page = ThreadLocalRandom.current().nextInt(USERS / PAGE_SIZE);
+        transactionTemplate.executeWithoutResult(status -> {
+            for (User user : userRepository.findAll(PageRequest.of(page, PAGE_SIZE, Sort.by("id")))) {
+                bh.consume(user.getXpData() != null ? user.getXpData().getLevel() : 1);
+            }
+        });
+        operations.increment();
+    }
+
+    @Benchmark
+    public void projectionOffsetPage(Blackhole bh) {
+        int page = ThreadLocalRandom.current().nextInt(USERS / PAGE_SIZE);
+        bh.consume(userService.listAllResponses(PageRequest.of(page, PAGE_SIZE, Sort.by("id"))));
+        operations.increment();
+    }
+
+    @Benchmark
+    public void projectionKeysetPage(Blackhole bh) {
+        long afterId = minId + ThreadLocalRandom.current().nextInt(USERS - PAGE_SIZE);
+        bh.consume(userService.listResponsesAfter(afterId, PAGE_SIZE));
+        operations.increment();
+    }
+
+    @Benchmark
+    public void streamAllUsers(Blackhole bh) {
+        userService.forEachResponse(bh::consume);
+        operations.increment();
+    }
+
+    @Benchmark
+    public List<UserResponseDto> listAllUsers() {
+        operations.increment();
+        return userService.listAllResponses();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    // Grava também users.xp_id para que o xpData LAZY realmente dispare a consulta por usuário
+    private static long seedUsers(JdbcTemplate jdbc) {
+        List<Object[]> users = new ArrayList<>(USERS);
+        for (int i = 0; i < USERS; i++) {
+            users.add(new Object[]{"bench-user-" + i, "x", "USER", true});
+        }
+        jdbc.batchUpdate("INSERT INTO users (username, password, role, in_safe_zone) VALUES (?, ?, ?, ?)", users);
+        jdbc.update("INSERT INTO xp (user_id, xp_points, level) " +
+                "SELECT id, MOD(id * 37, 100), 1 + MOD(id, 50) FROM users WHERE username LIKE 'bench-user-%'");
+        jdbc.update("UPDATE users u SET xp_id = (SELECT x.id FROM xp x WHERE x.user_id = u.id) WHERE u.username LIKE 'bench-user-%'");
+        Long minId = jdbc.queryForObject("SELECT MIN(id) FROM users WHERE username LIKE 'bench-user-%'", Long.class);
+        return minId == null ? 0 : minId;
+    }
+}
@@ -0,0 +1,154 @@
+package com.projeto.levelupapi.projeto_levelupapi.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.projeto.levelupapi.projeto_levelupapi.dto.InventoryEntryDto;
+import com.projeto.levelupapi.projeto_levelupapi.dto.XpGrantBatchRequestDto;
+import com.projeto.levelupapi.projeto_levelupapi.dto.XpGrantRequestDto;
+import com.projeto.levelupapi.projeto_levelupapi.infra.protobuf.LevelUpMessages;
+import com.projeto.levelupapi.projeto_levelupapi.infra.protobuf.ProtoWriter;
+import com.projeto.levelupapi.projeto_levelupapi.infra.protobuf.ProtobufHttpMessageConverter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+// JSON x protobuf nos dois corpos mais frequentes dos servidores de jogo: a lista do inventário
+// (resposta) e o lote de XP (requisição). O protobuf passa pelo ProtobufHttpMessageConverter
+// registrado na aplicação. Bytes no fio, com e sem gzip, saem no setup.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WireFormatBenchmark {
+
+    private static final Type INVENTORY_TYPE = new TypeReference<List<InventoryEntryDto>>() {}.getType();
+
+    @Param({"20", "200"})
+    public int size;
+
+    private ObjectWriter inventoryJsonWriter;
+    private ObjectReader xpBatchJsonReader;
+    private ProtobufHttpMessageConverter protobuf;
+    private List<InventoryEntryDto> inventory;
+    private byte[] xpBatchJson;
+    private byte[] xpBatchProtobuf;
+
+    @Setup
+    public void setup() throws Exception {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        inventoryJsonWriter = objectMapper.writerFor(new TypeReference<List<InventoryEntryDto>>() {});
+        xpBatchJsonReader = objectMapper.readerFor(XpGrantBatchRequestDto.class);
+        protobuf = new ProtobufHttpMessageConverter();
+        LevelUpMessages.register(protobuf);
+
+        inventory = new ArrayList<>(size);
+        List<XpGrantRequestDto> grants = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            inventory.add(new InventoryEntryDto((long) i + 1, (long) i % 40 + 1, "Item " + i, "Descrição do item " + i, 1 + i % 5));
+            grants.add(new XpGrantRequestDto(10_000L + i, 50 + i % 300));
+        }
+        XpGrantBatchRequestDto batch = new XpGrantBatchRequestDto();
+        batch.setGrants(grants);
+        xpBatchJson = objectMapper.writeValueAsBytes(batch);
+        xpBatchProtobuf = new ProtoWriter().repeated(1, grants, (XpGrantRequestDto grant, ProtoWriter out) ->
+                out.int64(1, grant.getUserId()).int32(2, grant.getXpGained())).toByteArray();
+
+        byte[] inventoryJson = encodeInventoryJson();
+        byte[] inventoryProtobuf = encodeInventoryProtobuf();
+        System.out.printf("%n  [size=%d] inventário: json %d bytes (gzip %d), protobuf %d bytes (gzip %d)%n",
+                size, inventoryJson.length, gzip(inventoryJson), inventoryProtobuf.length, gzip(inventoryProtobuf));
+        System.out.printf("  [size=%d] lote de XP: json %d bytes (gzip %d), protobuf %d bytes (gzip %d)%n",
+                size, xpBatchJson.length, gzip(xpBatchJson), xpBatchProtobuf.length, gzip(xpBatchProtobuf));
+    }
+
+    @Benchmark
+    public byte[] encodeInventoryJson() throws Exception {
+        return inventoryJsonWriter.writeValueAsBytes(inventory);
+    }
+
+    @Benchmark
+    public byte[] encodeInventoryProtobuf() throws Exception {
+        BufferedOutputMessage out = new BufferedOutputMessage();
+        protobuf.write(inventory, INVENTORY_TYPE, ProtobufHttpMessageConverter.PROTOBUF, out);
+        return out.body.toByteArray();
+    }
+
+    @Benchmark
+    public XpGrantBatchRequestDto decodeXpBatchJson() throws Exception {
+        return xpBatchJsonReader.readValue(xpBatchJson);
+    }
+
+    @Benchmark
+    public Object decodeXpBatchProtobuf() throws Exception {
+        return protobuf.read(XpGrantBatchRequestDto.class, null, new BufferedInputMessage(xpBatchProtobuf));
+    }
+
+    private static int gzip(byte[] data) throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(data);
+        }
+        return bytes.size();
+    }
+
+    private static final class BufferedOutputMessage implements HttpOutputMessage {
+        private final HttpHeaders headers = new HttpHeaders();
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream(4096);
+
+        @Override
+        public OutputStream getBody() {
+            return body;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+
+    private static final class BufferedInputMessage implements HttpInputMessage {
+        private final byte[] body;
+
+        BufferedInputMessage(byte[] body) {
+            this.body = body;
+        }
+
+        @Override
+        public InputStream getBody() {
+            return new ByteArrayInputStream(body);
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(ProtobufHttpMessageConverter.PROTOBUF);
+            return headers;
+        }
+    }
+}
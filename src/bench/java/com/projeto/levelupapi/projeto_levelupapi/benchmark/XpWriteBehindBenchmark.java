@@ -0,0 +1,100 @@
+package com.projeto.levelupapi.projeto_levelupapi.benchmark;
+
+import com.projeto.levelupapi.projeto_levelupapi.ProjetoLevelupapiApplication;
+import com.projeto.levelupapi.projeto_levelupapi.service.XpService;
+import com.projeto.levelupapi.projeto_levelupapi.service.XpWriteBehindBuffer;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Carga de XpService.adicionarXp com e sem write-behind, contra H2 em memória.
+// No fim de cada trial imprime as escritas na tabela xp por segundo (linhas e statements).
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Threads(16)
+@Fork(1)
+public class XpWriteBehindBenchmark {
+
+    private static final int PLAYERS = 1_000;
+
+    @Param({"false", "true"})
+    public boolean writeBehind;
+
+    private ConfigurableApplicationContext context;
+    private XpService xpService;
+    private XpWriteBehindBuffer buffer;
+    private Statistics statistics;
+    private long[] userIds;
+    private long startNanos;
+
+    @Setup
+    public void setup() {
+        // A configuração de segurança exige o contexto web; a porta aleatória evita conflito
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        context = new SpringApplicationBuilder(ProjetoLevelupapiApplication.class)
+                .run(
+                        "--server.port=0",
+                        "--xp.write-behind.enabled=" + writeBehind,
+                        "--xp.write-behind.journal=target/bench-xp.journal",
+                        "--spring.jpa.properties.hibernate.generate_statistics=true",
+                        "--logging.level.root=WARN");
+        xpService = context.getBean(XpService.class);
+        buffer = context.getBean(XpWriteBehindBuffer.class);
+        statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+        userIds = seedPlayers(context.getBean(JdbcTemplate.class));
+        statistics.clear();
+        startNanos = System.nanoTime();
+    }
+
+    @Benchmark
+    public String addXp() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return xpService.adicionarXp(userIds[random.nextInt(userIds.length)], 1 + random.nextInt(20));
+    }
+
+    @TearDown
+    public void tearDown() {
+        buffer.flush();
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+        long rows = writeBehind ? buffer.getRowsFlushed() : statistics.getEntityUpdateCount();
+        long statements = writeBehind ? buffer.getFlushBatches() : statistics.getEntityUpdateCount();
+        System.out.printf("%n[writeBehind=%s] xp rows written: %.1f/s, write statements: %.1f/s%n",
+                writeBehind, rows / seconds, statements / seconds);
+        context.close();
+    }
+
+    private static long[] seedPlayers(JdbcTemplate jdbc) {
+        List<Object[]> users = new ArrayList<>(PLAYERS);
+        for (int i = 0; i < PLAYERS; i++) {
+            users.add(new Object[]{"bench-player-" + i, "x", "USER", true});
+        }
+        jdbc.batchUpdate("INSERT INTO users (username, password, role, in_safe_zone) VALUES (?, ?, ?, ?)", users);
+        jdbc.update("INSERT INTO xp (user_id, xp_points, level) SELECT id, 0, 1 FROM users WHERE username LIKE 'bench-player-%'");
+        return jdbc.queryForList("SELECT id FROM users WHERE username LIKE 'bench-player-%'", Long.class)
+                .stream().mapToLong(Long::longValue).toArray();
+    }
+}
@@ -5,6 +5,8 @@ import com.projeto.levelupapi.projeto_levelupapi.dto.JwtResponse;
 import com.projeto.levelupapi.projeto_levelupapi.dto.LoginRequestDto;
 import com.projeto.levelupapi.projeto_levelupapi.dto.UserRequestDto;
 import com.projeto.levelupapi.projeto_levelupapi.infra.jwt.JwtTokenProvider;
+import com.projeto.levelupapi.projeto_levelupapi.infra.metrics.MetricsRegistry;
+import com.projeto.levelupapi.projeto_levelupapi.infra.metrics.Timer;
 import com.projeto.levelupapi.projeto_levelupapi.model.User;
 import com.projeto.levelupapi.projeto_levelupapi.repository.UserRepository;
 import org.springframework.http.ResponseEntity;
@@ -31,10 +33,14 @@ import jakarta.validation.Valid;
 public class AuthController {
     private final AuthenticationManager authenticationManager;
     private final JwtTokenProvider tokenProvider;
+    private final Timer loginSuccess;
+    private final Timer loginFailure;
 
-    public AuthController(AuthenticationManager authenticationManager, JwtTokenProvider tokenProvider) {
+    public AuthController(AuthenticationManager authenticationManager, JwtTokenProvider tokenProvider, MetricsRegistry metrics) {
         this.authenticationManager = authenticationManager;
         this.tokenProvider = tokenProvider;
+        this.loginSuccess = metrics.timer("levelup.auth.login", "Tempo do login (BCrypt + emissão do token)", "outcome", "success");
+        this.loginFailure = metrics.timer("levelup.auth.login", "Tempo do login (BCrypt + emissão do token)", "outcome", "failure");
     }
 
     @PostMapping("/login")
@@ -54,13 +60,20 @@ public class AuthController {
     })
     public ResponseEntity<JwtResponse> authenticateUser(
         @Valid @RequestBody LoginRequestDto loginRequestDto) {
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(
-                        loginRequestDto.getUsername(),
-                        loginRequestDto.getPassword()
-                )
-        );
-        String jwt = tokenProvider.generateToken(authentication);
-        return ResponseEntity.ok(new JwtResponse(jwt));
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            Authentication authentication = authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(
+                            loginRequestDto.getUsername(),
+                            loginRequestDto.getPassword()
+                    )
+            );
+            String jwt = tokenProvider.generateToken(authentication);
+            success = true;
+            return ResponseEntity.ok(new JwtResponse(jwt));
+        } finally {
+            (success ? loginSuccess : loginFailure).recordSince(start);
+        }
     }
 }
@@ -0,0 +1,52 @@
+package com.projeto.levelupapi.projeto_levelupapi.controller;
+
+import com.projeto.levelupapi.projeto_levelupapi.exception.ResourceNotFoundException;
+import com.projeto.levelupapi.projeto_levelupapi.model.User;
+import com.projeto.levelupapi.projeto_levelupapi.service.PlayerEventBus;
+import com.projeto.levelupapi.projeto_levelupapi.service.UserService;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+
+@RestController
+@RequestMapping("/api/events")
+@Tag(name = "📡 Eventos", description = "Notificações em tempo real (Server-Sent Events) do jogador autenticado")
+@SecurityRequirement(name = "bearerAuth")
+public class EventController {
+    private final PlayerEventBus playerEventBus;
+    private final UserService userService;
+
+    public EventController(PlayerEventBus playerEventBus, UserService userService) {
+        this.playerEventBus = playerEventBus;
+        this.userService = userService;
+    }
+
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(
+        summary = "Receber eventos do jogador",
+        description = "Mantém a conexão aberta e envia os eventos do jogador do token, substituindo o polling de XP e da Zona de Segurança: " +
+                     "xp { xpPoints, level }, level-up { previousLevel, level, message }, inventory { version } " +
+                     "(busque as alterações em /api/inventory/{userId}/changes) e safe-zone { inSafeZone }. " +
+                     "Eventos de estado pendentes são mesclados (só o mais recente chega); resync { dropped } indica que " +
+                     "eventos foram descartados e o estado deve ser relido. Comentários de heartbeat chegam periodicamente; " +
+                     "ao cair, reconecte e releia o estado"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Stream de eventos aberto"),
+        @ApiResponse(responseCode = "404", description = "Jogador do token não encontrado"),
+        @ApiResponse(responseCode = "401", description = "Token de autenticação inválido ou ausente")
+    })
+    public SseEmitter subscribe(@Parameter(hidden = true) Authentication authentication) {
+        User user = userService.findByUsername(authentication.getName())
+                .orElseThrow(() -> new ResourceNotFoundException("Usuário " + authentication.getName() + " não encontrado"));
+        return playerEventBus.subscribe(user.getId());
+    }
+}
@@ -0,0 +1,104 @@
+package com.projeto.levelupapi.projeto_levelupapi.controller;
+
+import com.projeto.levelupapi.projeto_levelupapi.service.ExportService;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+
+import java.time.Instant;
+
+@RestController
+@RequestMapping("/api/export")
+@PreAuthorize("hasRole('ADMIN')")
+@Tag(name = "📤 Exportação", description = "Exportação completa em NDJSON (um objeto JSON por linha) para análise de dados")
+@SecurityRequirement(name = "bearerAuth")
+public class ExportController {
+    public static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private final ExportService exportService;
+
+    public ExportController(ExportService exportService) {
+        this.exportService = exportService;
+    }
+
+    @GetMapping("/users")
+    @Operation(
+        summary = "Exportar jogadores",
+        description = "Transmite todos os jogadores com nível, XP e data da última alteração, um por linha. " +
+                     "A resposta é escrita à medida que as linhas são lidas do banco (apenas administradores)"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Exportação iniciada"),
+        @ApiResponse(responseCode = "400", description = "Filtros inválidos"),
+        @ApiResponse(responseCode = "403", description = "Apenas administradores"),
+        @ApiResponse(responseCode = "401", description = "Token de autenticação inválido ou ausente")
+    })
+    public ResponseEntity<StreamingResponseBody> exportUsers(
+        @Parameter(description = "Nível mínimo (inclusivo)")
+        @RequestParam(required = false) Integer minLevel,
+        @Parameter(description = "Nível máximo (inclusivo)")
+        @RequestParam(required = false) Integer maxLevel,
+        @Parameter(description = "Somente jogadores alterados a partir desta data (ISO-8601, ex.: 2025-01-01T00:00:00Z)")
+        @RequestParam(required = false) Instant updatedSince) {
+        exportService.validarNiveis(minLevel, maxLevel);
+        exportService.gravarXpPendente();
+        return ndjson(out -> exportService.exportUsers(minLevel, maxLevel, updatedSince, out));
+    }
+
+    @GetMapping("/items")
+    @Operation(
+        summary = "Exportar itens",
+        description = "Transmite o catálogo de itens, um por linha, com filtro opcional pelo nível de desbloqueio (apenas administradores)"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Exportação iniciada"),
+        @ApiResponse(responseCode = "400", description = "Filtros inválidos"),
+        @ApiResponse(responseCode = "403", description = "Apenas administradores"),
+        @ApiResponse(responseCode = "401", description = "Token de autenticação inválido ou ausente")
+    })
+    public ResponseEntity<StreamingResponseBody> exportItems(
+        @Parameter(description = "Nível de desbloqueio mínimo (inclusivo)")
+        @RequestParam(required = false) Integer minLevel,
+        @Parameter(description = "Nível de desbloqueio máximo (inclusivo)")
+        @RequestParam(required = false) Integer maxLevel) {
+        exportService.validarNiveis(minLevel, maxLevel);
+        return ndjson(out -> exportService.exportItems(minLevel, maxLevel, out));
+    }
+
+    @GetMapping("/inventory")
+    @Operation(
+        summary = "Exportar inventários",
+        description = "Transmite as pilhas de itens de todos os jogadores (ou de um só), uma por linha (apenas administradores)"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Exportação iniciada"),
+        @ApiResponse(responseCode = "400", description = "Filtros inválidos"),
+        @ApiResponse(responseCode = "403", description = "Apenas administradores"),
+        @ApiResponse(responseCode = "401", description = "Token de autenticação inválido ou ausente")
+    })
+    public ResponseEntity<StreamingResponseBody> exportInventories(
+        @Parameter(description = "ID do jogador (vazio exporta todos)")
+        @RequestParam(required = false) Long userId,
+        @Parameter(description = "Nível de desbloqueio mínimo do item (inclusivo)")
+        @RequestParam(required = false) Integer minLevel,
+        @Parameter(description = "Nível de desbloqueio máximo do item (inclusivo)")
+        @RequestParam(required = false) Integer maxLevel,
+        @Parameter(description = "Somente pilhas alteradas a partir desta data (ISO-8601)")
+        @RequestParam(required = false) Instant updatedSince) {
+        exportService.validarNiveis(minLevel, maxLevel);
+        return ndjson(out -> exportService.exportInventories(userId, minLevel, maxLevel, updatedSince, out));
+    }
+
+    private ResponseEntity<StreamingResponseBody> ndjson(StreamingResponseBody body) {
+        return ResponseEntity.ok().contentType(NDJSON).body(body);
+    }
+}
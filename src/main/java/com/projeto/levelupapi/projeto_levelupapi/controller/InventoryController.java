@@ -4,13 +4,20 @@ package com.projeto.levelupapi.projeto_levelupapi.controller;
 
 import com.projeto.levelupapi.projeto_levelupapi.exception.ResourceNotFoundException;
 import com.projeto.levelupapi.projeto_levelupapi.exception.BadRequestException;
+import com.projeto.levelupapi.projeto_levelupapi.dto.CursorPage;
+import com.projeto.levelupapi.projeto_levelupapi.dto.InventoryBatchRequestDto;
+import com.projeto.levelupapi.projeto_levelupapi.dto.InventoryDeltaDto;
+import com.projeto.levelupapi.projeto_levelupapi.dto.InventoryEntryDto;
+import com.projeto.levelupapi.projeto_levelupapi.dto.InventoryStackDto;
 import com.projeto.levelupapi.projeto_levelupapi.model.InventoryItem;
 import com.projeto.levelupapi.projeto_levelupapi.model.User;
 import com.projeto.levelupapi.projeto_levelupapi.service.InventoryService;
 import com.projeto.levelupapi.projeto_levelupapi.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -22,6 +29,7 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
+import jakarta.validation.Valid;
 
 import java.util.List;
 import java.util.Map;
@@ -44,23 +52,66 @@ public class InventoryController {
     @GetMapping("/{userId}")
     @Operation(
         summary = "Visualizar inventário do jogador",
-        description = "Retorna todos os itens no inventário do jogador, incluindo quantidades"
+        description = "Retorna todos os itens no inventário do jogador, incluindo quantidades. " +
+                     "O ETag é a versão do inventário: envie-o em If-None-Match e, se nada mudou, a resposta é 304 sem corpo"
     )
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Inventário retornado com sucesso"),
+        @ApiResponse(responseCode = "304", description = "Inventário não mudou desde a versão informada"),
         @ApiResponse(responseCode = "404", description = "Jogador não encontrado"),
         @ApiResponse(responseCode = "401", description = "Token de autenticação inválido ou ausente")
     })
-    public ResponseEntity<List<InventoryItem>> getInventory(
+    public ResponseEntity<List<InventoryEntryDto>> getInventory(
         @Parameter(description = "ID único do jogador", required = true)
-        @PathVariable Long userId) {
+        @PathVariable Long userId,
+        WebRequest request) {
         User user = userService.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("Usuário com ID " + userId + " não encontrado"));
-        List<InventoryItem> inventory = inventoryService.getInventory(user);
-        return ResponseEntity.ok(inventory);
+        String etag = versionTag(user);
+        // 304 decidido só com a versão lida junto com o jogador, sem consultar os stacks
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        List<InventoryEntryDto> inventory = inventoryService.getInventory(user);
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .eTag(etag)
+                .body(inventory);
     }
 
-    @GetMapping("/paged")
+    @GetMapping("/{userId}/changes")
+    @Operation(
+        summary = "Sincronizar alterações do inventário",
+        description = "Retorna só os itens que mudaram (com a quantidade atual) e os que saíram do inventário desde a versão informada. " +
+                     "Guarde o campo version da resposta e envie-o como since na próxima chamada (0 na primeira). " +
+                     "Se full for true, changed traz o inventário inteiro e substitui o que o cliente tem"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Alterações retornadas com sucesso"),
+        @ApiResponse(responseCode = "304", description = "Inventário não mudou desde a versão do If-None-Match"),
+        @ApiResponse(responseCode = "400", description = "Versão inválida"),
+        @ApiResponse(responseCode = "404", description = "Jogador não encontrado"),
+        @ApiResponse(responseCode = "401", description = "Token de autenticação inválido ou ausente")
+    })
+    public ResponseEntity<InventoryDeltaDto> getInventoryChanges(
+        @Parameter(description = "ID único do jogador", required = true)
+        @PathVariable Long userId,
+        @Parameter(description = "Versão do inventário que o cliente já tem (campo version da última sincronização)")
+        @RequestParam(defaultValue = "0") long since,
+        WebRequest request) {
+        User user = userService.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Usuário com ID " + userId + " não encontrado"));
+        String etag = versionTag(user);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .eTag(etag)
+                .body(inventoryService.getChangesSince(user, since));
+    }
+
+    @GetMapping("/{userId}/paged")
     @Operation(
         summary = "Visualizar inventário com paginação",
         description = "Retorna o inventário do jogador de forma paginada para melhor performance"
@@ -70,7 +121,7 @@ public class InventoryController {
         @ApiResponse(responseCode = "404", description = "Jogador não encontrado"),
         @ApiResponse(responseCode = "401", description = "Token de autenticação inválido ou ausente")
     })
-    public Page<InventoryItem> getInventoryPaged(
+    public Page<InventoryEntryDto> getInventoryPaged(
         @Parameter(description = "ID único do jogador", required = true)
         @PathVariable Long userId,
         @Parameter(description = "Parâmetros de paginação (page, size, sort)")
@@ -80,6 +131,30 @@ public class InventoryController {
         return inventoryService.listInventory(user, pageable);
     }
 
+    @GetMapping("/{userId}/cursor")
+    @Operation(
+        summary = "Visualizar inventário por cursor",
+        description = "Paginação por cursor do inventário do jogador, sem contagem de registros. " +
+                     "Use o nextCursor da resposta para buscar a página seguinte"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Página do inventário retornada com sucesso"),
+        @ApiResponse(responseCode = "400", description = "Cursor inválido"),
+        @ApiResponse(responseCode = "404", description = "Jogador não encontrado"),
+        @ApiResponse(responseCode = "401", description = "Token de autenticação inválido ou ausente")
+    })
+    public CursorPage<InventoryEntryDto> getInventoryByCursor(
+        @Parameter(description = "ID único do jogador", required = true)
+        @PathVariable Long userId,
+        @Parameter(description = "Cursor retornado em nextCursor pela página anterior (vazio na primeira página)")
+        @RequestParam(required = false) String cursor,
+        @Parameter(description = "Quantidade de registros por página (máximo 100)")
+        @RequestParam(defaultValue = "20") int size) {
+        User user = userService.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Usuário com ID " + userId + " não encontrado"));
+        return inventoryService.listInventoryAfter(user, cursor, size);
+    }
+
     @PostMapping("/{userId}/add")
     @Operation(
         summary = "Adicionar item ao inventário",
@@ -92,7 +167,7 @@ public class InventoryController {
         @ApiResponse(responseCode = "404", description = "Jogador não encontrado"),
         @ApiResponse(responseCode = "401", description = "Token de autenticação inválido ou ausente")
     })
-    public ResponseEntity<InventoryItem> addItem(
+    public ResponseEntity<InventoryEntryDto> addItem(
         @Parameter(description = "ID único do jogador", required = true)
         @PathVariable Long userId,
         @io.swagger.v3.oas.annotations.parameters.RequestBody(
@@ -129,7 +204,7 @@ public class InventoryController {
         User user = userService.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("Usuário com ID " + userId + " não encontrado"));
         InventoryItem item = inventoryService.addItem(user, itemName, quantity);
-        return ResponseEntity.ok(item);
+        return ResponseEntity.ok(InventoryEntryDto.of(item));
     }
 
     @PostMapping("/{userId}/remove")
@@ -182,4 +257,40 @@ public class InventoryController {
         inventoryService.removeItem(user, itemName, quantity);
         return ResponseEntity.ok().build();
     }
-}
+
+    @PostMapping("/{userId}/batch")
+    @Operation(
+        summary = "Aplicar várias alterações no inventário",
+        description = "Aplica várias operações de adicionar/remover itens em uma única requisição e transação (ex.: loot ou crafting). " +
+                     "As operações são aplicadas na ordem enviada e, se alguma for inválida, nenhuma alteração é feita. " +
+                     "Retorna a quantidade final de cada item envolvido (0 quando o item saiu do inventário)."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Operações aplicadas com sucesso"),
+        @ApiResponse(responseCode = "400", description = "Lista vazia, tipo de operação ou quantidade inválida"),
+        @ApiResponse(responseCode = "404", description = "Jogador ou item não encontrado, ou remoção de item que o jogador não possui"),
+        @ApiResponse(responseCode = "401", description = "Token de autenticação inválido ou ausente")
+    })
+    public ResponseEntity<List<InventoryStackDto>> applyBatch(
+        @Parameter(description = "ID único do jogador", required = true)
+        @PathVariable Long userId,
+        @io.swagger.v3.oas.annotations.parameters.RequestBody(
+            description = "Lista de operações (type: ADD ou REMOVE, itemName, quantity)",
+            content = @Content(
+                examples = @ExampleObject(
+                    value = "{ \"operations\": [ { \"type\": \"REMOVE\", \"itemName\": \"Poção de Cura\", \"quantity\": 2 }, " +
+                            "{ \"type\": \"ADD\", \"itemName\": \"Espada de Ferro\", \"quantity\": 1 } ] }"
+                )
+            )
+        )
+        @Valid @RequestBody InventoryBatchRequestDto request) {
+        User user = userService.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Usuário com ID " + userId + " não encontrado"));
+        return ResponseEntity.ok(inventoryService.applyBatch(user, request.getOperations()));
+    }
+
+    // ETag fraco: a mesma versão vale para o JSON e para o protobuf
+    private static String versionTag(User user) {
+        return "W/\"" + user.getInventoryVersion() + "\"";
+    }
+}
\ No newline at end of file
@@ -1,9 +1,16 @@
 package com.projeto.levelupapi.projeto_levelupapi.controller;
 
+import com.projeto.levelupapi.projeto_levelupapi.dto.CursorPage;
+import com.projeto.levelupapi.projeto_levelupapi.exception.BadRequestException;
 import com.projeto.levelupapi.projeto_levelupapi.model.Item;
+import com.projeto.levelupapi.projeto_levelupapi.service.ItemCatalogSnapshot;
 import com.projeto.levelupapi.projeto_levelupapi.service.ItemService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -14,8 +21,10 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.media.Schema;
 
 import java.util.List;
 import java.util.Map;
@@ -45,30 +54,81 @@ public class ItemController {
         @io.swagger.v3.oas.annotations.parameters.RequestBody(
             description = "Dados do novo item",
             content = @Content(
-                examples = @ExampleObject(
-                    value = "{ \"name\": \"Espada de Ferro\", \"description\": \"Uma espada resistente forjada em ferro puro\" }"
-                )
+                examples = {
+                    @ExampleObject(
+                        name = "Item comum",
+                        value = "{ \"name\": \"Espada de Ferro\", \"description\": \"Uma espada resistente forjada em ferro puro\" }"
+                    ),
+                    @ExampleObject(
+                        name = "Recompensa de nível",
+                        value = "{ \"name\": \"Cajado Arcano\", \"description\": \"Cajado para magos\", \"unlockLevel\": \"5\" }"
+                    )
+                }
             )
         )
         @RequestBody Map<String, String> body) {
         Item item = itemService.createItem(
                 body.get("name"),
-                body.get("description")
+                body.get("description"),
+                parseUnlockLevel(body.get("unlockLevel"))
         );
         return ResponseEntity.ok(item);
     }
 
+    @PutMapping("/{id}/unlock-level")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(
+        summary = "Definir nível de desbloqueio do item",
+        description = "Define em qual nível o item pode ser escolhido como recompensa de level up. " +
+                     "Envie unlockLevel nulo para remover o item das recompensas. Apenas administradores."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Nível de desbloqueio atualizado"),
+        @ApiResponse(responseCode = "400", description = "Nível fora do intervalo permitido"),
+        @ApiResponse(responseCode = "404", description = "Item não encontrado"),
+        @ApiResponse(responseCode = "403", description = "Apenas administradores podem alterar o catálogo"),
+        @ApiResponse(responseCode = "401", description = "Token de autenticação inválido ou ausente")
+    })
+    public ResponseEntity<Item> updateUnlockLevel(
+        @Parameter(description = "ID do item", required = true)
+        @PathVariable Long id,
+        @io.swagger.v3.oas.annotations.parameters.RequestBody(
+            description = "Novo nível de desbloqueio",
+            content = @Content(
+                examples = @ExampleObject(value = "{ \"unlockLevel\": \"3\" }")
+            )
+        )
+        @RequestBody Map<String, String> body) {
+        return ResponseEntity.ok(itemService.updateUnlockLevel(id, parseUnlockLevel(body.get("unlockLevel"))));
+    }
+
     @GetMapping
     @Operation(
         summary = "Listar todos os itens",
-        description = "Retorna uma lista completa de todos os itens disponíveis no sistema"
+        description = "Retorna uma lista completa de todos os itens disponíveis no sistema. " +
+                     "A resposta traz um ETag: envie-o em If-None-Match e, se o catálogo não mudou, a resposta é 304 sem corpo"
     )
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "200", description = "Lista de itens retornada com sucesso"),
+        @ApiResponse(responseCode = "200", description = "Lista de itens retornada com sucesso",
+            content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = Item.class)))),
+        @ApiResponse(responseCode = "304", description = "Catálogo não mudou desde o ETag informado"),
         @ApiResponse(responseCode = "401", description = "Token de autenticação inválido ou ausente")
     })
-    public List<Item> getAllItems() {
-        return itemService.listAll();
+    public ResponseEntity<byte[]> getAllItems(
+        @Parameter(hidden = true)
+        @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        ItemCatalogSnapshot.Snapshot catalog = itemService.catalog();
+        // Corpo já codificado: o 304 (If-None-Match) é decidido pelo ETag antes de qualquer escrita
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                .contentType(MediaType.APPLICATION_JSON);
+        if (acceptsGzip(acceptEncoding)) {
+            return response.eTag(catalog.gzipEtag())
+                    .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                    .body(catalog.gzipJson());
+        }
+        return response.eTag(catalog.etag()).body(catalog.json());
     }
 
     @GetMapping("/paged")
@@ -78,11 +138,67 @@ public class ItemController {
     )
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Página de itens retornada com sucesso"),
+        @ApiResponse(responseCode = "304", description = "Catálogo não mudou desde o ETag informado"),
+        @ApiResponse(responseCode = "400", description = "Campo de ordenação inválido"),
         @ApiResponse(responseCode = "401", description = "Token de autenticação inválido ou ausente")
     })
-    public Page<Item> getAllItemsPaged(
+    public ResponseEntity<Page<Item>> getAllItemsPaged(
         @Parameter(description = "Parâmetros de paginação (page, size, sort)")
         Pageable pageable) {
-        return itemService.listAll(pageable);
+        ItemCatalogSnapshot.Snapshot catalog = itemService.catalog();
+        return derivedView(catalog).body(catalog.page(pageable));
+    }
+
+    @GetMapping("/cursor")
+    @Operation(
+        summary = "Listar itens por cursor",
+        description = "Paginação por cursor ordenada por ID: não conta o total de registros e o custo não cresce com a profundidade da página. " +
+                     "Use o nextCursor da resposta para buscar a página seguinte"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Página de itens retornada com sucesso"),
+        @ApiResponse(responseCode = "304", description = "Catálogo não mudou desde o ETag informado"),
+        @ApiResponse(responseCode = "400", description = "Cursor inválido"),
+        @ApiResponse(responseCode = "401", description = "Token de autenticação inválido ou ausente")
+    })
+    public ResponseEntity<CursorPage<Item>> getAllItemsByCursor(
+        @Parameter(description = "Cursor retornado em nextCursor pela página anterior (vazio na primeira página)")
+        @RequestParam(required = false) String cursor,
+        @Parameter(description = "Quantidade de registros por página (máximo 100)")
+        @RequestParam(defaultValue = "20") int size) {
+        ItemCatalogSnapshot.Snapshot catalog = itemService.catalog();
+        return derivedView(catalog).body(itemService.listAfter(catalog, cursor, size));
+    }
+
+    // Páginas saem do mesmo snapshot e mudam junto com ele. ETag fraco: o corpo é serializado a cada
+    // 200 e o Tomcat pode comprimi-lo (respostas com ETag forte não são comprimidas)
+    private static ResponseEntity.BodyBuilder derivedView(ItemCatalogSnapshot.Snapshot catalog) {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .eTag("W/" + catalog.etag());
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length == 1 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    private Integer parseUnlockLevel(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("Nível de desbloqueio inválido");
+        }
     }
 }
\ No newline at end of file
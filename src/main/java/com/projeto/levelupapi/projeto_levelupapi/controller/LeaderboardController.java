@@ -0,0 +1,93 @@
+package com.projeto.levelupapi.projeto_levelupapi.controller;
+
+import com.projeto.levelupapi.projeto_levelupapi.dto.LeaderboardEntryDto;
+import com.projeto.levelupapi.projeto_levelupapi.service.LeaderboardService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/leaderboard")
+@Tag(name = "🏆 Ranking", description = "Classificação dos jogadores por nível e XP, atualizada a cada ganho de XP")
+@SecurityRequirement(name = "bearerAuth")
+public class LeaderboardController {
+    private final LeaderboardService leaderboardService;
+
+    public LeaderboardController(LeaderboardService leaderboardService) {
+        this.leaderboardService = leaderboardService;
+    }
+
+    @GetMapping("/top")
+    @Operation(
+        summary = "Melhores jogadores",
+        description = "Retorna os primeiros colocados do ranking (nível e XP), no máximo 100"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Ranking retornado com sucesso"),
+        @ApiResponse(responseCode = "401", description = "Token de autenticação inválido ou ausente")
+    })
+    public List<LeaderboardEntryDto> getTop(
+        @Parameter(description = "Quantidade de jogadores (máximo 100)")
+        @RequestParam(defaultValue = "10") int limit) {
+        return leaderboardService.top(limit);
+    }
+
+    @GetMapping("/{userId}")
+    @Operation(
+        summary = "Posição do jogador",
+        description = "Retorna a posição atual do jogador no ranking"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Posição retornada com sucesso"),
+        @ApiResponse(responseCode = "404", description = "Jogador não encontrado no ranking"),
+        @ApiResponse(responseCode = "401", description = "Token de autenticação inválido ou ausente")
+    })
+    public LeaderboardEntryDto getRank(
+        @Parameter(description = "ID único do jogador", required = true)
+        @PathVariable Long userId) {
+        return leaderboardService.rankOf(userId);
+    }
+
+    @GetMapping("/{userId}/around")
+    @Operation(
+        summary = "Jogadores próximos no ranking",
+        description = "Retorna o jogador junto com os colocados imediatamente acima e abaixo dele"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Vizinhança do ranking retornada com sucesso"),
+        @ApiResponse(responseCode = "404", description = "Jogador não encontrado no ranking"),
+        @ApiResponse(responseCode = "401", description = "Token de autenticação inválido ou ausente")
+    })
+    public List<LeaderboardEntryDto> getAround(
+        @Parameter(description = "ID único do jogador", required = true)
+        @PathVariable Long userId,
+        @Parameter(description = "Quantidade de jogadores de cada lado (máximo 50)")
+        @RequestParam(defaultValue = "5") int range) {
+        return leaderboardService.around(userId, range);
+    }
+
+    @PostMapping("/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(
+        summary = "Reconstruir ranking",
+        description = "Recarrega o ranking inteiro a partir da tabela de XP (apenas administradores)"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "204", description = "Ranking reconstruído"),
+        @ApiResponse(responseCode = "403", description = "Apenas administradores"),
+        @ApiResponse(responseCode = "401", description = "Token de autenticação inválido ou ausente")
+    })
+    public ResponseEntity<Void> rebuild() {
+        leaderboardService.rebuild();
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -1,10 +1,10 @@
 package com.projeto.levelupapi.projeto_levelupapi.controller;
 
-import com.projeto.levelupapi.projeto_levelupapi.model.User;
 import com.projeto.levelupapi.projeto_levelupapi.service.ItemService;
 import com.projeto.levelupapi.projeto_levelupapi.service.InventoryService;
+import com.projeto.levelupapi.projeto_levelupapi.service.SafeZonePresence;
 import com.projeto.levelupapi.projeto_levelupapi.service.UserService;
-import com.projeto.levelupapi.projeto_levelupapi.exception.ResourceNotFoundException;
+import com.projeto.levelupapi.projeto_levelupapi.service.XpService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -28,11 +28,15 @@ public class LevelUpController {
     private final ItemService itemService;
     private final InventoryService inventoryService;
     private final UserService userService;
+    private final XpService xpService;
+    private final SafeZonePresence safeZonePresence;
 
-    public LevelUpController(ItemService itemService, InventoryService inventoryService, UserService userService) {
+    public LevelUpController(ItemService itemService, InventoryService inventoryService, UserService userService, XpService xpService, SafeZonePresence safeZonePresence) {
         this.itemService = itemService;
         this.inventoryService = inventoryService;
         this.userService = userService;
+        this.xpService = xpService;
+        this.safeZonePresence = safeZonePresence;
     }
 
     @GetMapping("/{userId}/available-items")
@@ -49,9 +53,7 @@ public class LevelUpController {
     public ResponseEntity<List<String>> getAvailableItems(
         @Parameter(description = "ID único do jogador", required = true)
         @PathVariable Long userId) {
-        User user = userService.findById(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
-        int level = user.getXpData() != null ? user.getXpData().getLevel() : 1;
+        int level = xpService.obterNivel(userId);
         return ResponseEntity.ok(itemService.getAvailableItemsForLevel(level));
     }
 
@@ -97,17 +99,15 @@ public class LevelUpController {
         if (itemName == null) {
             return ResponseEntity.badRequest().body("Nome do item é obrigatório");
         }
-        User user = userService.findById(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
-        if (!user.isInSafeZone()) {
+        // Presença vem da memória (404 se o jogador não existe), sem carregar o User
+        if (!safeZonePresence.isInSafeZone(userId)) {
             return ResponseEntity.badRequest().body("Você precisa estar na Zona de Segurança para escolher um item de level up.");
         }
-        int level = user.getXpData() != null ? user.getXpData().getLevel() : 1;
-        List<String> available = itemService.getAvailableItemsForLevel(level);
-        if (!available.contains(itemName)) {
+        int level = xpService.obterNivel(userId);
+        if (!itemService.isAvailableForLevel(itemName, level)) {
             return ResponseEntity.badRequest().body("Item não disponível para o seu nível");
         }
-        inventoryService.addItem(user, itemName, 1);
+        inventoryService.addItem(userService.getReference(userId), itemName, 1);
         return ResponseEntity.ok("Item " + itemName + " adicionado ao inventário!");
     }
 }
@@ -0,0 +1,72 @@
+package com.projeto.levelupapi.projeto_levelupapi.controller;
+
+import com.projeto.levelupapi.projeto_levelupapi.infra.metrics.Meter;
+import com.projeto.levelupapi.projeto_levelupapi.infra.metrics.MetricsRegistry;
+import com.projeto.levelupapi.projeto_levelupapi.infra.metrics.PrometheusTextFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/actuator")
+@PreAuthorize("hasRole('ADMIN')")
+@Tag(name = "📈 Métricas", description = "Métricas da aplicação: tempos dos serviços, caches, pool de conexões e Hibernate")
+@SecurityRequirement(name = "bearerAuth")
+public class MetricsController {
+    private final MetricsRegistry metricsRegistry;
+
+    public MetricsController(MetricsRegistry metricsRegistry) {
+        this.metricsRegistry = metricsRegistry;
+    }
+
+    @GetMapping("/metrics")
+    @Operation(
+        summary = "Listar métricas",
+        description = "Retorna o valor atual de todas as métricas em JSON (apenas administradores)"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Métricas retornadas com sucesso"),
+        @ApiResponse(responseCode = "403", description = "Apenas administradores"),
+        @ApiResponse(responseCode = "401", description = "Token de autenticação inválido ou ausente")
+    })
+    public List<Map<String, Object>> getMetrics() {
+        return metricsRegistry.getMeters().stream().map(meter -> {
+            Map<String, Object> json = new LinkedHashMap<>();
+            json.put("name", meter.getName());
+            json.put("type", meter.getType());
+            json.put("tags", meter.getTags());
+            json.put("values", meter.snapshot());
+            return json;
+        }).toList();
+    }
+
+    @GetMapping("/prometheus")
+    @Operation(
+        summary = "Coleta do Prometheus",
+        description = "Métricas no formato texto do Prometheus (configure o scrape com o token de um administrador)"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Métricas retornadas com sucesso"),
+        @ApiResponse(responseCode = "403", description = "Apenas administradores"),
+        @ApiResponse(responseCode = "401", description = "Token de autenticação inválido ou ausente")
+    })
+    public ResponseEntity<String> scrape() {
+        List<Meter> meters = metricsRegistry.getMeters();
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_TYPE, PrometheusTextFormat.CONTENT_TYPE)
+                .body(PrometheusTextFormat.write(meters));
+    }
+}
@@ -1,8 +1,8 @@
 package com.projeto.levelupapi.projeto_levelupapi.controller;
 
-import com.projeto.levelupapi.projeto_levelupapi.model.User;
-import com.projeto.levelupapi.projeto_levelupapi.service.UserService;
-import com.projeto.levelupapi.projeto_levelupapi.exception.ResourceNotFoundException;
+import com.projeto.levelupapi.projeto_levelupapi.service.PlayerEvent;
+import com.projeto.levelupapi.projeto_levelupapi.service.PlayerEventBus;
+import com.projeto.levelupapi.projeto_levelupapi.service.SafeZonePresence;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -18,10 +18,12 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 @Tag(name = "🛡️ Zona de Segurança", description = "Controle de entrada e saída da Zona de Segurança - necessária para escolher itens de level up")
 @SecurityRequirement(name = "bearerAuth")
 public class SafeZoneController {
-    private final UserService userService;
+    private final SafeZonePresence safeZonePresence;
+    private final PlayerEventBus playerEventBus;
 
-    public SafeZoneController(UserService userService) {
-        this.userService = userService;
+    public SafeZoneController(SafeZonePresence safeZonePresence, PlayerEventBus playerEventBus) {
+        this.safeZonePresence = safeZonePresence;
+        this.playerEventBus = playerEventBus;
     }
 
     @PostMapping("/{userId}/enter")
@@ -37,10 +39,8 @@ public class SafeZoneController {
     public ResponseEntity<String> enterSafeZone(
         @Parameter(description = "ID único do jogador", required = true)
         @PathVariable Long userId) {
-        User user = userService.findById(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
-        user.setInSafeZone(true);
-        userService.update(user.getId(), user);
+        safeZonePresence.enter(userId);
+        playerEventBus.publish(PlayerEvent.safeZone(userId, true));
         return ResponseEntity.ok("Você entrou na Zona de Segurança.");
     }
 
@@ -57,10 +57,8 @@ public class SafeZoneController {
     public ResponseEntity<String> exitSafeZone(
         @Parameter(description = "ID único do jogador", required = true)
         @PathVariable Long userId) {
-        User user = userService.findById(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
-        user.setInSafeZone(false);
-        userService.update(user.getId(), user);
+        safeZonePresence.exit(userId);
+        playerEventBus.publish(PlayerEvent.safeZone(userId, false));
         return ResponseEntity.ok("Você saiu da Zona de Segurança.");
     }
 
@@ -77,8 +75,6 @@ public class SafeZoneController {
     public ResponseEntity<Boolean> getSafeZoneStatus(
         @Parameter(description = "ID único do jogador", required = true)
         @PathVariable Long userId) {
-        User user = userService.findById(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
-        return ResponseEntity.ok(user.isInSafeZone());
+        return ResponseEntity.ok(safeZonePresence.isInSafeZone(userId));
     }
 }
@@ -1,5 +1,6 @@
 package com.projeto.levelupapi.projeto_levelupapi.controller;
 
+import com.projeto.levelupapi.projeto_levelupapi.dto.CursorPage;
 import com.projeto.levelupapi.projeto_levelupapi.dto.UserRequestDto;
 import com.projeto.levelupapi.projeto_levelupapi.dto.UserResponseDto;
 import com.projeto.levelupapi.projeto_levelupapi.model.User;
@@ -21,7 +22,6 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/users")
@@ -46,14 +46,7 @@ public class UserController {
         @ApiResponse(responseCode = "401", description = "Token de autenticação inválido ou ausente")
     })
     public List<UserResponseDto> getAllUsers() {
-        return userService.listAll(Pageable.unpaged()).stream().map(user -> {
-            UserResponseDto dto = new UserResponseDto();
-            dto.setId(user.getId());
-            dto.setUsername(user.getUsername());
-            dto.setLevel(user.getXpData() != null ? user.getXpData().getLevel() : 1);
-            dto.setXp(user.getXpData() != null ? user.getXpData().getXpPoints() : 0);
-            return dto;
-        }).collect(Collectors.toList());
+        return userService.listAllResponses();
     }
 
     @GetMapping("/paged")
@@ -69,14 +62,27 @@ public class UserController {
     public Page<UserResponseDto> getAllUsersPaged(
         @Parameter(description = "Parâmetros de paginação (page, size, sort)")
         Pageable pageable) {
-        return userService.listAll(pageable).map(user -> {
-            UserResponseDto dto = new UserResponseDto();
-            dto.setId(user.getId());
-            dto.setUsername(user.getUsername());
-            dto.setLevel(user.getXpData() != null ? user.getXpData().getLevel() : 1);
-            dto.setXp(user.getXpData() != null ? user.getXpData().getXpPoints() : 0);
-            return dto;
-        });
+        return userService.listAllResponses(pageable);
+    }
+
+    @GetMapping("/cursor")
+    @SecurityRequirement(name = "bearerAuth")
+    @Operation(
+        summary = "Listar jogadores por cursor",
+        description = "Paginação por cursor ordenada por ID: não conta o total de registros e o custo não cresce com a profundidade da página. " +
+                     "Use o nextCursor da resposta para buscar a página seguinte"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Página de jogadores retornada com sucesso"),
+        @ApiResponse(responseCode = "400", description = "Cursor inválido"),
+        @ApiResponse(responseCode = "401", description = "Token de autenticação inválido ou ausente")
+    })
+    public CursorPage<UserResponseDto> getAllUsersByCursor(
+        @Parameter(description = "Cursor retornado em nextCursor pela página anterior (vazio na primeira página)")
+        @RequestParam(required = false) String cursor,
+        @Parameter(description = "Quantidade de registros por página (máximo 100)")
+        @RequestParam(defaultValue = "20") int size) {
+        return userService.listResponsesAfter(cursor, size);
     }
 
     @GetMapping("/{id}")
@@ -93,15 +99,8 @@ public class UserController {
     public ResponseEntity<UserResponseDto> getUserById(
         @Parameter(description = "ID único do jogador", required = true)
         @PathVariable Long id) {
-        return userService.findById(id)
-                .map(user -> {
-                    UserResponseDto dto = new UserResponseDto();
-                    dto.setId(user.getId());
-                    dto.setUsername(user.getUsername());
-                    dto.setLevel(user.getXpData() != null ? user.getXpData().getLevel() : 1);
-                    dto.setXp(user.getXpData() != null ? user.getXpData().getXpPoints() : 0);
-                    return ResponseEntity.ok(dto);
-                })
+        return userService.findResponseById(id)
+                .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
 
@@ -150,12 +149,9 @@ public class UserController {
         user.setUsername(userRequestDto.getUsername());
         user.setPassword(userRequestDto.getPassword());
         User atualizado = userService.update(id, user);
-        UserResponseDto dto = new UserResponseDto();
-        dto.setId(atualizado.getId());
-        dto.setUsername(atualizado.getUsername());
-        dto.setLevel(atualizado.getXpData() != null ? atualizado.getXpData().getLevel() : 1);
-        dto.setXp(atualizado.getXpData() != null ? atualizado.getXpData().getXpPoints() : 0);
-        return ResponseEntity.ok(dto);
+        return userService.findResponseById(atualizado.getId())
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
     }
 
     @DeleteMapping("/{id}")
@@ -1,6 +1,11 @@
 package com.projeto.levelupapi.projeto_levelupapi.controller;
 
+import com.projeto.levelupapi.projeto_levelupapi.dto.CursorPage;
+import com.projeto.levelupapi.projeto_levelupapi.dto.XpGrantBatchRequestDto;
+import com.projeto.levelupapi.projeto_levelupapi.dto.XpGrantResultDto;
+import com.projeto.levelupapi.projeto_levelupapi.dto.XpResponseDto;
 import com.projeto.levelupapi.projeto_levelupapi.service.XpService;
+import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -11,6 +16,10 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/xp")
@@ -41,6 +50,31 @@ public class XpController {
         return ResponseEntity.ok(mensagem);
     }
 
+    @PostMapping("/batch")
+    @Operation(
+        summary = "Adicionar XP a vários jogadores",
+        description = "Concede XP a vários jogadores em uma única requisição e transação (ex.: recompensa de fim de partida). " +
+                     "Retorna, para cada concessão, o nível anterior, o novo nível, o XP atual e se houve level up."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "XP adicionado a todos os jogadores"),
+        @ApiResponse(responseCode = "404", description = "Um ou mais jogadores não encontrados - nenhum XP é concedido"),
+        @ApiResponse(responseCode = "400", description = "Lista vazia ou valor de XP inválido (deve ser positivo)"),
+        @ApiResponse(responseCode = "401", description = "Token de autenticação inválido ou ausente")
+    })
+    public ResponseEntity<List<XpGrantResultDto>> adicionarXpEmLote(
+        @io.swagger.v3.oas.annotations.parameters.RequestBody(
+            description = "Lista de concessões de XP (userId, xpGained)",
+            content = @Content(
+                examples = @ExampleObject(
+                    value = "{ \"grants\": [ { \"userId\": 1, \"xpGained\": 250 }, { \"userId\": 2, \"xpGained\": 120 } ] }"
+                )
+            )
+        )
+        @Valid @RequestBody XpGrantBatchRequestDto request) {
+        return ResponseEntity.ok(xpService.adicionarXpEmLote(request.getGrants()));
+    }
+
     @GetMapping("/{userId}")
     @Operation(
         summary = "Consultar XP atual do jogador",
@@ -56,4 +90,23 @@ public class XpController {
         @PathVariable Long userId) {
         return ResponseEntity.ok(xpService.obterXp(userId).getXpPoints());
     }
-}
+
+    @GetMapping("/cursor")
+    @Operation(
+        summary = "Listar XP dos jogadores por cursor",
+        description = "Retorna XP e nível de todos os jogadores com paginação por cursor, ordenada pelo ID do jogador. " +
+                     "Use o nextCursor da resposta para buscar a página seguinte"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Página de XP retornada com sucesso"),
+        @ApiResponse(responseCode = "400", description = "Cursor inválido"),
+        @ApiResponse(responseCode = "401", description = "Token de autenticação inválido ou ausente")
+    })
+    public CursorPage<XpResponseDto> listarXpPorCursor(
+        @Parameter(description = "Cursor retornado em nextCursor pela página anterior (vazio na primeira página)")
+        @RequestParam(required = false) String cursor,
+        @Parameter(description = "Quantidade de registros por página (máximo 100)")
+        @RequestParam(defaultValue = "20") int size) {
+        return xpService.listAfter(cursor, size);
+    }
+}
\ No newline at end of file
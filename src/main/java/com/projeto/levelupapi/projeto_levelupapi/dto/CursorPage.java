@@ -0,0 +1,35 @@
+package com.projeto.levelupapi.projeto_levelupapi.dto;
+
+import com.projeto.levelupapi.projeto_levelupapi.infra.CursorCodec;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.function.Function;
+
+// Página por cursor (keyset): sem total de elementos, só o token para buscar a próxima fatia
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+    public static final int DEFAULT_SIZE = 20;
+    public static final int MAX_SIZE = 100;
+
+    private List<T> content;
+    private int size;
+    private boolean hasNext;
+    private String nextCursor;
+
+    // rows deve vir com até size + 1 linhas: a linha extra só indica que existe próxima página
+    public static <T> CursorPage<T> of(List<T> rows, int size, Function<T, Long> sortKey) {
+        boolean hasNext = rows.size() > size;
+        List<T> content = hasNext ? List.copyOf(rows.subList(0, size)) : rows;
+        String next = hasNext ? CursorCodec.encode(sortKey.apply(content.get(content.size() - 1))) : null;
+        return new CursorPage<>(content, content.size(), hasNext, next);
+    }
+
+    public static int clampSize(int size) {
+        return Math.max(1, Math.min(size, MAX_SIZE));
+    }
+}
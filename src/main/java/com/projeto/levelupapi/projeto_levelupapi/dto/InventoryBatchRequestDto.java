@@ -0,0 +1,15 @@
+package com.projeto.levelupapi.projeto_levelupapi.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class InventoryBatchRequestDto {
+    @NotEmpty
+    @Size(max = 100)
+    private List<@Valid InventoryOperationDto> operations;
+}
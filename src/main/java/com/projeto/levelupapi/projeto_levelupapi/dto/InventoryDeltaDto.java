@@ -0,0 +1,20 @@
+package com.projeto.levelupapi.projeto_levelupapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// Alterações do inventário desde uma versão: stacks novos ou alterados (quantidade atual) e itens
+// que saíram. O cliente guarda version e a envia como since na próxima sincronização.
+// Com full = true, changed é o inventário inteiro e substitui o que o cliente tem.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class InventoryDeltaDto {
+    private long version;
+    private boolean full;
+    private List<InventoryEntryDto> changed;
+    private List<Long> removedItemIds;
+}
@@ -0,0 +1,70 @@
+package com.projeto.levelupapi.projeto_levelupapi.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.projeto.levelupapi.projeto_levelupapi.model.InventoryItem;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.IOException;
+
+// Stack do inventário como vai para o cliente: só os campos do item, sem o User dono
+// (hash de senha, role, proxy lazy de xpData) que a entidade InventoryItem arrastava
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonSerialize(using = InventoryEntryDto.Serializer.class)
+public class InventoryEntryDto {
+    private Long id;
+    private Long itemId;
+    private String itemName;
+    private String itemDescription;
+    private int quantity;
+
+    public static InventoryEntryDto of(InventoryItem stack) {
+        return new InventoryEntryDto(stack.getId(), stack.getItem().getId(), stack.getItem().getName(),
+                stack.getItem().getDescription(), stack.getQuantity());
+    }
+
+    // Serializador escrito à mão para a resposta mais volumosa da API: campos em ordem fixa e nomes
+    // já codificados, sem introspecção de getters nem checagem de null por propriedade
+    public static class Serializer extends StdSerializer<InventoryEntryDto> {
+        private static final SerializedString ID = new SerializedString("id");
+        private static final SerializedString ITEM_ID = new SerializedString("itemId");
+        private static final SerializedString ITEM_NAME = new SerializedString("itemName");
+        private static final SerializedString ITEM_DESCRIPTION = new SerializedString("itemDescription");
+        private static final SerializedString QUANTITY = new SerializedString("quantity");
+
+        public Serializer() {
+            super(InventoryEntryDto.class);
+        }
+
+        @Override
+        public void serialize(InventoryEntryDto value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(value);
+            gen.writeFieldName(ID);
+            writeLong(gen, value.id);
+            gen.writeFieldName(ITEM_ID);
+            writeLong(gen, value.itemId);
+            gen.writeFieldName(ITEM_NAME);
+            gen.writeString(value.itemName);
+            gen.writeFieldName(ITEM_DESCRIPTION);
+            gen.writeString(value.itemDescription);
+            gen.writeFieldName(QUANTITY);
+            gen.writeNumber(value.quantity);
+            gen.writeEndObject();
+        }
+
+        private static void writeLong(JsonGenerator gen, Long value) throws IOException {
+            if (value == null) {
+                gen.writeNull();
+            } else {
+                gen.writeNumber(value.longValue());
+            }
+        }
+    }
+}
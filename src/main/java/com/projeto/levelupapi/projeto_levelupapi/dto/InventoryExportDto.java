@@ -0,0 +1,18 @@
+package com.projeto.levelupapi.projeto_levelupapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class InventoryExportDto {
+    private Long userId;
+    private Long itemId;
+    private String itemName;
+    private int quantity;
+    private Instant updatedAt;
+}
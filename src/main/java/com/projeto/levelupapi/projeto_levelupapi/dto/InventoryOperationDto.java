@@ -0,0 +1,22 @@
+package com.projeto.levelupapi.projeto_levelupapi.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class InventoryOperationDto {
+    public enum Type { ADD, REMOVE }
+
+    @NotNull
+    private Type type;
+    @NotBlank
+    private String itemName;
+    @Positive
+    private int quantity = 1;
+}
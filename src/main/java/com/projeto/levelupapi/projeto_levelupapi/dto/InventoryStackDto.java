@@ -0,0 +1,15 @@
+package com.projeto.levelupapi.projeto_levelupapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class InventoryStackDto {
+    private Long itemId;
+    private String itemName;
+    // 0 quando o stack foi removido do inventário
+    private int quantity;
+}
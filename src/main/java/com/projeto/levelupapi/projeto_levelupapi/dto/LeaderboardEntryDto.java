@@ -0,0 +1,16 @@
+package com.projeto.levelupapi.projeto_levelupapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeaderboardEntryDto {
+    private long rank;
+    private Long userId;
+    private String username;
+    private int level;
+    private int xp;
+}
@@ -0,0 +1,26 @@
+package com.projeto.levelupapi.projeto_levelupapi.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+public class UserExportDto {
+    private Long id;
+    private String username;
+    private int level;
+    private int xp;
+    private Instant updatedAt;
+
+    // Projeção JPQL: jogador sem XP sai no nível 1; updatedAt é a alteração mais recente entre usuário e XP
+    public UserExportDto(Long id, String username, Integer level, Integer xp, Instant userUpdatedAt, Instant xpUpdatedAt) {
+        this.id = id;
+        this.username = username;
+        this.level = level != null ? level : 1;
+        this.xp = xp != null ? xp : 0;
+        this.updatedAt = userUpdatedAt == null || (xpUpdatedAt != null && xpUpdatedAt.isAfter(userUpdatedAt))
+                ? xpUpdatedAt : userUpdatedAt;
+    }
+}
@@ -1,11 +1,21 @@
 package com.projeto.levelupapi.projeto_levelupapi.dto;
 
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 @Data
+@NoArgsConstructor
 public class UserResponseDto {
     private Long id;
     private String username;
     private int level;
     private int xp;
-}
\ No newline at end of file
+
+    // Usado pelas projeções JPQL (select new ...): jogador sem registro de XP aparece no nível 1 com 0 XP
+    public UserResponseDto(Long id, String username, Integer level, Integer xp) {
+        this.id = id;
+        this.username = username;
+        this.level = level != null ? level : 1;
+        this.xp = xp != null ? xp : 0;
+    }
+}
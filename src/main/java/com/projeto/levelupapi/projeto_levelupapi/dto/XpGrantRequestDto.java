@@ -0,0 +1,17 @@
+package com.projeto.levelupapi.projeto_levelupapi.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class XpGrantRequestDto {
+    @NotNull
+    private Long userId;
+    @Positive
+    private int xpGained;
+}
@@ -0,0 +1,17 @@
+package com.projeto.levelupapi.projeto_levelupapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class XpGrantResultDto {
+    private Long userId;
+    private int previousLevel;
+    private int level;
+    private int xpPoints;
+    private boolean leveledUp;
+    private String message;
+}
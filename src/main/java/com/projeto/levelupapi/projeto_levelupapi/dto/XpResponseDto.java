@@ -1,8 +1,12 @@
 package com.projeto.levelupapi.projeto_levelupapi.dto;
 
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
 public class XpResponseDto {
     private Long userId;
     private int xpPoints;
@@ -0,0 +1,36 @@
+package com.projeto.levelupapi.projeto_levelupapi.infra;
+
+import com.projeto.levelupapi.projeto_levelupapi.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+// Token opaco das páginas por cursor: guarda a última chave de ordenação lida (o id) em Base64 URL-safe.
+// O prefixo de versão permite mudar o formato sem quebrar silenciosamente cursores antigos.
+public final class CursorCodec {
+    private static final String VERSION = "v1:";
+
+    private CursorCodec() {
+    }
+
+    public static String encode(long lastKey) {
+        byte[] raw = (VERSION + lastKey).getBytes(StandardCharsets.US_ASCII);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+    }
+
+    // Cursor vazio/ausente = primeira página (retorna 0, menor que qualquer id gerado)
+    public static long decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.US_ASCII);
+            if (!raw.startsWith(VERSION)) {
+                throw new BadRequestException("Cursor inválido");
+            }
+            return Long.parseLong(raw.substring(VERSION.length()));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Cursor inválido");
+        }
+    }
+}
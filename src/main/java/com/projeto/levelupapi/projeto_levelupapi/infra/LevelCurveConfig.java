@@ -0,0 +1,28 @@
+package com.projeto.levelupapi.projeto_levelupapi.infra;
+
+import com.projeto.levelupapi.projeto_levelupapi.model.LevelCurve;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class LevelCurveConfig {
+
+    @Bean
+    public LevelCurve levelCurve(@Value("${levelup.curve.type:linear}") String type,
+                                 @Value("${levelup.curve.max-level:100}") int maxLevel,
+                                 @Value("${levelup.curve.base-xp:100}") long baseXp,
+                                 @Value("${levelup.curve.growth:1.5}") double growth,
+                                 @Value("${levelup.curve.table:}") long[] table) {
+        switch (type) {
+            case "linear":
+                return LevelCurve.linear(baseXp, maxLevel);
+            case "exponential":
+                return LevelCurve.exponential(baseXp, growth, maxLevel);
+            case "table":
+                return LevelCurve.table(table);
+            default:
+                throw new IllegalArgumentException("Tipo de curva de nível desconhecido: " + type);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.projeto.levelupapi.projeto_levelupapi.infra;
+
+import com.projeto.levelupapi.projeto_levelupapi.infra.protobuf.LevelUpMessages;
+import com.projeto.levelupapi.projeto_levelupapi.infra.protobuf.ProtobufHttpMessageConverter;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+// Formato binário opcional: o conversor entra no fim da lista, depois do Jackson, então sem
+// Accept (ou com */*) a resposta continua em JSON e o protobuf só vale quando pedido
+@Configuration
+public class ProtobufConfig implements WebMvcConfigurer {
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        ProtobufHttpMessageConverter protobuf = new ProtobufHttpMessageConverter();
+        LevelUpMessages.register(protobuf);
+        converters.add(protobuf);
+    }
+}
@@ -0,0 +1,48 @@
+package com.projeto.levelupapi.projeto_levelupapi.infra;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+// Modo de execução em virtual threads, ligado por spring.threads.virtual.enabled=true.
+// O Spring Boot passa a atender as requisições do Tomcat (e @Async/@Scheduled) em virtual threads,
+// o que só tem efeito rodando em JDK 21+; no JDK 17 a propriedade é ignorada e o pool continua o de sempre.
+// Aqui ficam as peças que o modo precisa: o teto de conexões atrelado ao Hikari e o monitor de pinning.
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadConfig.class);
+
+    // static: o post-processor precisa existir antes dos demais beans desta configuração
+    @Bean
+    static BeanPostProcessor connectionLimitingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource hikari) {
+                    int maxConnections = hikari.getMaximumPoolSize();
+                    logger.info("Virtual threads enabled: limiting concurrent connection borrowers to {} (Hikari maximumPoolSize)", maxConnections);
+                    return new ConnectionLimitingDataSource(hikari, maxConnections, hikari.getConnectionTimeout());
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    VirtualThreadPinningMonitor virtualThreadPinningMonitor(
+            @Value("${levelup.virtual-threads.pinning-threshold-ms:20}") long thresholdMs) {
+        if (Runtime.version().feature() < 21) {
+            logger.warn("spring.threads.virtual.enabled=true requires JDK 21+, running on {}: requests stay on platform threads",
+                    Runtime.version());
+        }
+        return new VirtualThreadPinningMonitor(Duration.ofMillis(thresholdMs));
+    }
+}
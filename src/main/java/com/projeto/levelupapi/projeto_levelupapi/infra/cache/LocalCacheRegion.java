@@ -0,0 +1,21 @@
+package com.projeto.levelupapi.projeto_levelupapi.infra.cache;
+
+import org.hibernate.cache.spi.ExtendedStatisticsSupport;
+
+// Regiões criadas pelo LocalRegionFactory: tamanho (também visto pelas Statistics do Hibernate) e remoções por TTL/limite
+public interface LocalCacheRegion extends ExtendedStatisticsSupport {
+
+    long getEvictionCount();
+
+    @Override
+    default long getElementCountOnDisk() {
+        return 0;
+    }
+
+    @Override
+    default long getSizeInMemory() {
+        return NO_SIZE;
+    }
+
+    long NO_SIZE = -1;
+}
@@ -0,0 +1,127 @@
+package com.projeto.levelupapi.projeto_levelupapi.infra.cache;
+
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.cache.cfg.spi.DomainDataRegionBuildingContext;
+import org.hibernate.cache.cfg.spi.DomainDataRegionConfig;
+import org.hibernate.cache.spi.CacheKeysFactory;
+import org.hibernate.cache.spi.DomainDataRegion;
+import org.hibernate.cache.spi.QueryResultsRegion;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cache.spi.support.DomainDataRegionTemplate;
+import org.hibernate.cache.spi.support.DomainDataStorageAccess;
+import org.hibernate.cache.spi.support.QueryResultsRegionTemplate;
+import org.hibernate.cache.spi.support.RegionFactoryTemplate;
+import org.hibernate.cache.spi.support.SimpleTimestamper;
+import org.hibernate.cache.spi.support.StorageAccess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Cache de segundo nível do Hibernate em memória, sem provedor externo
+// (hibernate.cache.region.factory_class). Cada região tem TTL e limite de entradas próprios:
+//   levelup.cache.<região>.ttl-seconds / levelup.cache.<região>.max-entries
+// com levelup.cache.default.* para as demais. A região de timestamps do query cache nunca
+// expira nem perde entradas: é ela que invalida resultados de consultas após escritas.
+public class LocalRegionFactory extends RegionFactoryTemplate {
+    private static final Logger logger = LoggerFactory.getLogger(LocalRegionFactory.class);
+    private static final String PREFIX = "levelup.cache.";
+
+    private Map<String, Object> configValues = Map.of();
+
+    @Override
+    protected void prepareForUse(SessionFactoryOptions settings, Map<String, Object> configValues) {
+        this.configValues = configValues;
+    }
+
+    @Override
+    protected void releaseFromUse() {
+        configValues = Map.of();
+    }
+
+    @Override
+    public DomainDataRegion buildDomainDataRegion(DomainDataRegionConfig regionConfig, DomainDataRegionBuildingContext buildingContext) {
+        verifyStarted();
+        return new DomainRegion(regionConfig, this, createDomainDataStorageAccess(regionConfig, buildingContext),
+                getImplicitCacheKeysFactory(), buildingContext);
+    }
+
+    @Override
+    protected DomainDataStorageAccess createDomainDataStorageAccess(DomainDataRegionConfig regionConfig, DomainDataRegionBuildingContext buildingContext) {
+        return configured(regionConfig.getRegionName());
+    }
+
+    @Override
+    public QueryResultsRegion buildQueryResultsRegion(String regionName, SessionFactoryImplementor sessionFactory) {
+        verifyStarted();
+        return new QueryRegion(regionName, this, createQueryResultsRegionStorageAccess(regionName, sessionFactory));
+    }
+
+    @Override
+    protected StorageAccess createQueryResultsRegionStorageAccess(String regionName, SessionFactoryImplementor sessionFactory) {
+        return configured(regionName);
+    }
+
+    @Override
+    protected StorageAccess createTimestampsRegionStorageAccess(String regionName, SessionFactoryImplementor sessionFactory) {
+        return new LocalStorageAccess(0, 0, 0);
+    }
+
+    private LocalStorageAccess configured(String regionName) {
+        long ttlSeconds = setting(regionName, "ttl-seconds", 300);
+        int maxEntries = (int) setting(regionName, "max-entries", 10_000);
+        logger.info("L2 cache region {}: ttl {}s, max {} entries", regionName, ttlSeconds, maxEntries);
+        // getTimeout() vem em unidades do SimpleTimestamper (1/4096 ms)
+        long lockTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(getTimeout() / SimpleTimestamper.ONE_MS);
+        return new LocalStorageAccess(TimeUnit.SECONDS.toNanos(ttlSeconds), lockTimeoutNanos, maxEntries);
+    }
+
+    private long setting(String regionName, String name, long defaultValue) {
+        Object value = configValues.get(PREFIX + regionName + "." + name);
+        if (value == null) {
+            value = configValues.get(PREFIX + "default." + name);
+        }
+        return value == null ? defaultValue : Long.parseLong(value.toString().trim());
+    }
+
+    private static final class DomainRegion extends DomainDataRegionTemplate implements LocalCacheRegion {
+        private final LocalStorageAccess storage;
+
+        DomainRegion(DomainDataRegionConfig regionConfig, RegionFactory regionFactory, DomainDataStorageAccess storage,
+                     CacheKeysFactory keysFactory, DomainDataRegionBuildingContext buildingContext) {
+            super(regionConfig, regionFactory, storage, keysFactory, buildingContext);
+            this.storage = (LocalStorageAccess) storage;
+        }
+
+        @Override
+        public long getElementCountInMemory() {
+            return storage.size();
+        }
+
+        @Override
+        public long getEvictionCount() {
+            return storage.getEvictions();
+        }
+    }
+
+    private static final class QueryRegion extends QueryResultsRegionTemplate implements LocalCacheRegion {
+        private final LocalStorageAccess storage;
+
+        QueryRegion(String name, RegionFactory regionFactory, StorageAccess storage) {
+            super(name, regionFactory, storage);
+            this.storage = (LocalStorageAccess) storage;
+        }
+
+        @Override
+        public long getElementCountInMemory() {
+            return storage.size();
+        }
+
+        @Override
+        public long getEvictionCount() {
+            return storage.getEvictions();
+        }
+    }
+}
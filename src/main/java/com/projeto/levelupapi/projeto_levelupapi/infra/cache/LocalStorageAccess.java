@@ -0,0 +1,124 @@
+package com.projeto.levelupapi.projeto_levelupapi.infra.cache;
+
+import org.hibernate.cache.spi.support.AbstractReadWriteAccess;
+import org.hibernate.cache.spi.support.DomainDataStorageAccess;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Armazenamento de uma região do cache de segundo nível: mapa concorrente com TTL por entrada
+// e limite de entradas. Passado o limite, primeiro saem as expiradas e depois entradas quaisquer
+// até sobrar 90% do limite (o Hibernate recarrega do banco o que faltar).
+// Soft locks das entidades READ_WRITE não saem pelo limite nem pelo TTL da região: sem o lock, um
+// putFromLoad concorrente gravaria no cache o valor de antes do commit. Eles expiram só depois do
+// timeout de lock do Hibernate, quando ele mesmo já deixaria a entrada ser sobrescrita.
+final class LocalStorageAccess implements DomainDataStorageAccess {
+
+    private record Entry(Object value, long expiresAt) {
+    }
+
+    private final long ttlNanos;
+    private final long lockTimeoutNanos;
+    private final int maxEntries;
+    private final ConcurrentHashMap<Object, Entry> entries = new ConcurrentHashMap<>();
+    private final ReentrantLock trimLock = new ReentrantLock();
+    private final LongAdder evictions = new LongAdder();
+
+    // ttlNanos = 0: sem expiração; maxEntries = 0: sem limite
+    LocalStorageAccess(long ttlNanos, long lockTimeoutNanos, int maxEntries) {
+        this.ttlNanos = ttlNanos;
+        this.lockTimeoutNanos = lockTimeoutNanos;
+        this.maxEntries = maxEntries;
+    }
+
+    @Override
+    public Object getFromCache(Object key, SharedSessionContractImplementor session) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (isExpired(entry, System.nanoTime())) {
+            if (entries.remove(key, entry)) {
+                evictions.increment();
+            }
+            return null;
+        }
+        return entry.value();
+    }
+
+    @Override
+    public void putIntoCache(Object key, Object value, SharedSessionContractImplementor session) {
+        long expiresIn = isLock(value) ? lockTimeoutNanos : ttlNanos;
+        entries.put(key, new Entry(value, expiresIn > 0 ? System.nanoTime() + expiresIn : 0L));
+        if (maxEntries > 0 && entries.size() > maxEntries) {
+            trim();
+        }
+    }
+
+    @Override
+    public boolean contains(Object key) {
+        return getFromCache(key, null) != null;
+    }
+
+    @Override
+    public void evictData() {
+        entries.clear();
+    }
+
+    @Override
+    public void evictData(Object key) {
+        entries.remove(key);
+    }
+
+    @Override
+    public void release() {
+        entries.clear();
+    }
+
+    // Uma thread limpa por vez; as demais seguem sem esperar
+    private void trim() {
+        if (!trimLock.tryLock()) {
+            return;
+        }
+        try {
+            long now = System.nanoTime();
+            int target = maxEntries - maxEntries / 10;
+            Iterator<Map.Entry<Object, Entry>> it = entries.entrySet().iterator();
+            while (it.hasNext() && entries.size() > target) {
+                if (isExpired(it.next().getValue(), now)) {
+                    it.remove();
+                    evictions.increment();
+                }
+            }
+            it = entries.entrySet().iterator();
+            while (it.hasNext() && entries.size() > target) {
+                if (!isLock(it.next().getValue().value())) {
+                    it.remove();
+                    evictions.increment();
+                }
+            }
+        } finally {
+            trimLock.unlock();
+        }
+    }
+
+    private static boolean isExpired(Entry entry, long now) {
+        return entry.expiresAt() != 0 && entry.expiresAt() - now < 0;
+    }
+
+    private static boolean isLock(Object value) {
+        return value instanceof AbstractReadWriteAccess.SoftLockImpl;
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    long getEvictions() {
+        return evictions.sum();
+    }
+}
@@ -0,0 +1,163 @@
+package com.projeto.levelupapi.projeto_levelupapi.infra.jwt;
+
+import com.projeto.levelupapi.projeto_levelupapi.infra.metrics.MetricsRegistry;
+import com.projeto.levelupapi.projeto_levelupapi.infra.metrics.Timer;
+import io.jsonwebtoken.Claims;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Cache de tokens já verificados: cada token é validado (assinatura + claims) uma única vez
+// e as requisições seguintes reaproveitam o principal até o "exp" do próprio token.
+@Component
+public class JwtPrincipalCache {
+    private static final Logger logger = LoggerFactory.getLogger(JwtPrincipalCache.class);
+
+    private final JwtTokenProvider tokenProvider;
+    private final UserDetailsService userDetailsService;
+    private final int maxSize;
+
+    private final ConcurrentHashMap<String, CachedPrincipal> cache = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    // Só o caminho com verificação de assinatura é cronometrado; acertos no cache são contados (getHits)
+    private final Timer validTokens;
+    private final Timer invalidTokens;
+
+    public JwtPrincipalCache(JwtTokenProvider tokenProvider,
+                             UserDetailsService userDetailsService,
+                             @Value("${jwt.cache.max-size:10000}") int maxSize,
+                             MetricsRegistry metrics) {
+        this.tokenProvider = tokenProvider;
+        this.userDetailsService = userDetailsService;
+        this.maxSize = maxSize;
+        this.validTokens = metrics.timer("levelup.jwt.validation", "Verificação de assinatura e claims do JWT", "result", "valid");
+        this.invalidTokens = metrics.timer("levelup.jwt.validation", "Verificação de assinatura e claims do JWT", "result", "invalid");
+    }
+
+    // Retorna a autenticação do token ou null se ele for inválido/expirado
+    public UsernamePasswordAuthenticationToken resolve(String token) {
+        long now = System.currentTimeMillis();
+        CachedPrincipal cached = cache.get(token);
+        if (cached != null) {
+            if (cached.expiresAt > now) {
+                hits.increment();
+                return cached.toAuthentication();
+            }
+            if (cache.remove(token, cached)) {
+                evictions.increment();
+            }
+        }
+        misses.increment();
+
+        long start = System.nanoTime();
+        Claims claims = tokenProvider.parseClaims(token);
+        if (claims == null) {
+            invalidTokens.recordSince(start);
+            return null;
+        }
+        validTokens.recordSince(start);
+        CachedPrincipal principal = toPrincipal(claims);
+        Date expiration = claims.getExpiration();
+        if (expiration != null && maxSize > 0) {
+            store(token, principal.withExpiration(expiration.getTime()), now);
+        }
+        return principal.toAuthentication();
+    }
+
+    public void clear() {
+        cache.clear();
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    private CachedPrincipal toPrincipal(Claims claims) {
+        String username = claims.getSubject();
+        String role = claims.get("role", String.class);
+        if (role != null) {
+            // A role já vem assinada no token (ver generateToken), então não é preciso ir ao banco
+            Collection<? extends GrantedAuthority> authorities = Collections.singletonList(new SimpleGrantedAuthority(role));
+            return new CachedPrincipal(new User(username, "", authorities), 0L);
+        }
+        // Tokens antigos sem a claim "role" caem no caminho com consulta ao banco
+        UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+        return new CachedPrincipal(new User(userDetails.getUsername(), "", userDetails.getAuthorities()), 0L);
+    }
+
+    private void store(String token, CachedPrincipal principal, long now) {
+        if (cache.size() >= maxSize) {
+            evictExpired(now);
+        }
+        if (cache.size() >= maxSize) {
+            // Ainda cheio: libera ~10% das entradas para não pagar a varredura a cada miss
+            int toEvict = Math.max(1, maxSize / 10);
+            Iterator<String> keys = cache.keySet().iterator();
+            while (toEvict-- > 0 && keys.hasNext()) {
+                keys.next();
+                keys.remove();
+                evictions.increment();
+            }
+            logger.debug("JWT principal cache full ({} entries), evicted a batch of tokens", maxSize);
+        }
+        cache.put(token, principal);
+    }
+
+    private void evictExpired(long now) {
+        cache.entrySet().removeIf(entry -> {
+            if (entry.getValue().expiresAt <= now) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        });
+    }
+
+    private static final class CachedPrincipal {
+        private final UserDetails userDetails;
+        private final long expiresAt;
+
+        private CachedPrincipal(UserDetails userDetails, long expiresAt) {
+            this.userDetails = userDetails;
+            this.expiresAt = expiresAt;
+        }
+
+        private CachedPrincipal withExpiration(long expiresAt) {
+            return new CachedPrincipal(userDetails, expiresAt);
+        }
+
+        // O token de autenticação é mutável, então cada requisição recebe a sua própria instância
+        private UsernamePasswordAuthenticationToken toAuthentication() {
+            return new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package com.projeto.levelupapi.projeto_levelupapi.infra.metrics;
+
+import com.projeto.levelupapi.projeto_levelupapi.infra.BoundedPasswordEncoder;
+import com.projeto.levelupapi.projeto_levelupapi.infra.ConnectionLimitingDataSource;
+import com.projeto.levelupapi.projeto_levelupapi.infra.cache.LocalCacheRegion;
+import com.projeto.levelupapi.projeto_levelupapi.infra.jwt.JwtPrincipalCache;
+import com.projeto.levelupapi.projeto_levelupapi.repository.ItemRepository;
+import com.projeto.levelupapi.projeto_levelupapi.repository.XpRepository;
+import com.projeto.levelupapi.projeto_levelupapi.service.ItemCatalogCache;
+import com.projeto.levelupapi.projeto_levelupapi.service.ItemCatalogSnapshot;
+import com.projeto.levelupapi.projeto_levelupapi.service.LeaderboardService;
+import com.projeto.levelupapi.projeto_levelupapi.service.PlayerEventBus;
+import com.projeto.levelupapi.projeto_levelupapi.service.SafeZonePresence;
+import com.projeto.levelupapi.projeto_levelupapi.service.XpWriteBehindBuffer;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.spi.CacheImplementor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.ToLongFunction;
+import java.util.function.ToDoubleFunction;
+
+// Publica no MetricsRegistry os contadores que os componentes já mantêm (caches, pool de hash,
+// write-behind, ranking) e as estatísticas do Hikari e do Hibernate. Tudo é lido só na coleta.
+@Component
+public class ApplicationMetricsBinder {
+    private static final Logger logger = LoggerFactory.getLogger(ApplicationMetricsBinder.class);
+
+    private final MetricsRegistry registry;
+    private final JwtPrincipalCache jwtPrincipalCache;
+    private final ItemCatalogCache itemCatalogCache;
+    private final ItemCatalogSnapshot itemCatalogSnapshot;
+    private final BoundedPasswordEncoder passwordEncoder;
+    private final XpWriteBehindBuffer xpWriteBehindBuffer;
+    private final LeaderboardService leaderboardService;
+    private final SafeZonePresence safeZonePresence;
+    private final PlayerEventBus playerEventBus;
+    private final DataSource dataSource;
+    private final EntityManagerFactory entityManagerFactory;
+
+    public ApplicationMetricsBinder(MetricsRegistry registry, JwtPrincipalCache jwtPrincipalCache,
+                                    ItemCatalogCache itemCatalogCache, ItemCatalogSnapshot itemCatalogSnapshot,
+                                    BoundedPasswordEncoder passwordEncoder,
+                                    XpWriteBehindBuffer xpWriteBehindBuffer, LeaderboardService leaderboardService,
+                                    SafeZonePresence safeZonePresence, PlayerEventBus playerEventBus, DataSource dataSource, EntityManagerFactory entityManagerFactory) {
+        this.registry = registry;
+        this.jwtPrincipalCache = jwtPrincipalCache;
+        this.itemCatalogCache = itemCatalogCache;
+        this.itemCatalogSnapshot = itemCatalogSnapshot;
+        this.passwordEncoder = passwordEncoder;
+        this.xpWriteBehindBuffer = xpWriteBehindBuffer;
+        this.leaderboardService = leaderboardService;
+        this.safeZonePresence = safeZonePresence;
+        this.playerEventBus = playerEventBus;
+        this.dataSource = dataSource;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @PostConstruct
+    void bind() {
+        bindCaches();
+        bindPasswordEncoder();
+        bindXp();
+        bindSafeZone();
+        bindEvents();
+        bindDataSource();
+        bindHibernate();
+    }
+
+    private void bindCaches() {
+        registry.gauge("levelup.jwt.cache.size", "Tokens verificados em cache", jwtPrincipalCache, JwtPrincipalCache::size);
+        registry.functionCounter("levelup.jwt.cache.requests", "Consultas ao cache de tokens", jwtPrincipalCache, JwtPrincipalCache::getHits, "result", "hit");
+        registry.functionCounter("levelup.jwt.cache.requests", "Consultas ao cache de tokens", jwtPrincipalCache, JwtPrincipalCache::getMisses, "result", "miss");
+        registry.functionCounter("levelup.jwt.cache.evictions", "Tokens removidos do cache", jwtPrincipalCache, JwtPrincipalCache::getEvictions);
+
+        registry.gauge("levelup.items.cache.size", "Itens no cache do catálogo", itemCatalogCache, ItemCatalogCache::size);
+        registry.functionCounter("levelup.items.cache.requests", "Consultas ao cache do catálogo", itemCatalogCache, ItemCatalogCache::getHits, "result", "hit");
+        registry.functionCounter("levelup.items.cache.requests", "Consultas ao cache do catálogo", itemCatalogCache, ItemCatalogCache::getMisses, "result", "miss");
+        registry.functionCounter("levelup.items.catalog.rebuilds", "Snapshots do catálogo serializados", itemCatalogSnapshot, ItemCatalogSnapshot::getRebuilds);
+        registry.gauge("levelup.items.catalog.bytes", "Tamanho do JSON do catálogo em memória", itemCatalogSnapshot, ItemCatalogSnapshot::sizeInBytes);
+    }
+
+    private void bindPasswordEncoder() {
+        BoundedPasswordEncoder encoder = passwordEncoder;
+        registry.functionCounter("levelup.password.hashes", "Hashes BCrypt calculados", encoder, BoundedPasswordEncoder::getHashes);
+        registry.functionCounter("levelup.password.hash.seconds", "Tempo total gasto em BCrypt", encoder, e -> e.getHashNanos() / 1e9);
+        registry.gauge("levelup.password.hash.max.seconds", "Maior tempo de um hash BCrypt", encoder, e -> e.getMaxHashNanos() / 1e9);
+        registry.functionCounter("levelup.password.queue.wait.seconds", "Tempo total de espera na fila de hash", encoder, e -> e.getQueueWaitNanos() / 1e9);
+        registry.functionCounter("levelup.password.rejected", "Pedidos de hash recusados (503)", encoder, BoundedPasswordEncoder::getRejected);
+        registry.gauge("levelup.password.queue.depth", "Pedidos aguardando na fila de hash", encoder, BoundedPasswordEncoder::getQueueDepth);
+        registry.gauge("levelup.password.active", "Hashes em execução", encoder, BoundedPasswordEncoder::getActiveCount);
+    }
+
+    private void bindXp() {
+        registry.gauge("levelup.xp.writebehind.pending", "Jogadores com XP ainda não gravado", xpWriteBehindBuffer, XpWriteBehindBuffer::pendingCount);
+        registry.functionCounter("levelup.xp.writebehind.grants", "Ganhos de XP aplicados no buffer", xpWriteBehindBuffer, XpWriteBehindBuffer::getGrantsBuffered);
+        registry.functionCounter("levelup.xp.writebehind.rows.flushed", "Linhas de XP gravadas pelo flush", xpWriteBehindBuffer, XpWriteBehindBuffer::getRowsFlushed);
+        registry.functionCounter("levelup.xp.writebehind.flushes", "Lotes gravados pelo flush", xpWriteBehindBuffer, XpWriteBehindBuffer::getFlushBatches);
+        registry.functionCounter("levelup.xp.writebehind.sync.writes", "Ganhos gravados na hora com o buffer cheio", xpWriteBehindBuffer, XpWriteBehindBuffer::getSyncWrites);
+        registry.gauge("levelup.leaderboard.size", "Jogadores no ranking", leaderboardService, LeaderboardService::size);
+    }
+
+    private void bindSafeZone() {
+        registry.gauge("levelup.safezone.players", "Jogadores com presença em memória", safeZonePresence, SafeZonePresence::size);
+        registry.gauge("levelup.safezone.pending", "Transições ainda não gravadas", safeZonePresence, SafeZonePresence::pendingCount);
+        registry.functionCounter("levelup.safezone.transitions", "Entradas e saídas da Zona de Segurança", safeZonePresence, SafeZonePresence::getTransitions);
+        registry.functionCounter("levelup.safezone.loads", "Estados lidos do banco", safeZonePresence, SafeZonePresence::getLoads);
+        registry.functionCounter("levelup.safezone.rows.flushed", "Linhas gravadas pelo flush", safeZonePresence, SafeZonePresence::getRowsFlushed);
+    }
+
+    private void bindEvents() {
+        registry.gauge("levelup.events.streams", "Streams SSE abertos", playerEventBus, PlayerEventBus::getSubscriptions);
+        registry.functionCounter("levelup.events.published", "Eventos publicados para jogadores conectados", playerEventBus, PlayerEventBus::getPublished);
+        registry.functionCounter("levelup.events.delivered", "Eventos escritos nos streams", playerEventBus, PlayerEventBus::getDelivered);
+        registry.functionCounter("levelup.events.merged", "Eventos de estado mesclados com um pendente", playerEventBus, PlayerEventBus::getMerged);
+        registry.functionCounter("levelup.events.dropped", "Eventos descartados com o buffer do stream cheio", playerEventBus, PlayerEventBus::getDropped);
+    }
+
+    private void bindDataSource() {
+        if (dataSource instanceof ConnectionLimitingDataSource limiter) {
+            registry.gauge("levelup.datasource.permits.available", "Permissões livres do limitador de conexões", limiter, ConnectionLimitingDataSource::availablePermits);
+            registry.gauge("levelup.datasource.permits.waiting", "Threads aguardando permissão de conexão", limiter, ConnectionLimitingDataSource::queuedThreads);
+        }
+        HikariDataSource hikari = unwrapHikari();
+        if (hikari == null) {
+            return;
+        }
+        String pool = String.valueOf(hikari.getPoolName());
+        hikariGauge(hikari, "hikaricp.connections.active", "Conexões emprestadas", HikariPoolMXBean::getActiveConnections, pool);
+        hikariGauge(hikari, "hikaricp.connections.idle", "Conexões ociosas", HikariPoolMXBean::getIdleConnections, pool);
+        hikariGauge(hikari, "hikaricp.connections", "Conexões abertas", HikariPoolMXBean::getTotalConnections, pool);
+        hikariGauge(hikari, "hikaricp.connections.pending", "Threads aguardando conexão", HikariPoolMXBean::getThreadsAwaitingConnection, pool);
+        registry.gauge("hikaricp.connections.max", "Tamanho máximo do pool", hikari, HikariDataSource::getMaximumPoolSize, "pool", pool);
+    }
+
+    // O pool só existe depois da primeira conexão; até lá o valor é NaN
+    private void hikariGauge(HikariDataSource hikari, String name, String description,
+                             ToDoubleFunction<HikariPoolMXBean> function, String pool) {
+        registry.gauge(name, description, hikari, ds -> {
+            HikariPoolMXBean mxBean = ds.getHikariPoolMXBean();
+            return mxBean == null ? Double.NaN : function.applyAsDouble(mxBean);
+        }, "pool", pool);
+    }
+
+    private HikariDataSource unwrapHikari() {
+        try {
+            return dataSource.isWrapperFor(HikariDataSource.class) ? dataSource.unwrap(HikariDataSource.class) : null;
+        } catch (SQLException e) {
+            logger.warn("Could not unwrap HikariDataSource, pool metrics disabled: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    // Depende de hibernate.generate_statistics=true (application.properties)
+    private void bindHibernate() {
+        Statistics stats = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        if (!stats.isStatisticsEnabled()) {
+            logger.info("Hibernate statistics disabled, skipping Hibernate metrics");
+            return;
+        }
+        registry.functionCounter("hibernate.sessions.open", "Sessões abertas", stats, Statistics::getSessionOpenCount);
+        registry.functionCounter("hibernate.transactions", "Transações concluídas", stats, s -> s.getSuccessfulTransactionCount(), "result", "success");
+        registry.functionCounter("hibernate.transactions", "Transações concluídas", stats, s -> s.getTransactionCount() - s.getSuccessfulTransactionCount(), "result", "failure");
+        registry.functionCounter("hibernate.statements", "Statements JDBC preparados", stats, Statistics::getPrepareStatementCount);
+        registry.functionCounter("hibernate.flushes", "Flushes de sessão", stats, Statistics::getFlushCount);
+        registry.functionCounter("hibernate.entities", "Operações em entidades", stats, Statistics::getEntityLoadCount, "operation", "load");
+        registry.functionCounter("hibernate.entities", "Operações em entidades", stats, Statistics::getEntityFetchCount, "operation", "fetch");
+        registry.functionCounter("hibernate.entities", "Operações em entidades", stats, Statistics::getEntityInsertCount, "operation", "insert");
+        registry.functionCounter("hibernate.entities", "Operações em entidades", stats, Statistics::getEntityUpdateCount, "operation", "update");
+        registry.functionCounter("hibernate.entities", "Operações em entidades", stats, Statistics::getEntityDeleteCount, "operation", "delete");
+        registry.functionCounter("hibernate.collections.fetches", "Coleções carregadas sob demanda", stats, Statistics::getCollectionFetchCount);
+        registry.functionCounter("hibernate.query.executions", "Consultas HQL/JPQL executadas", stats, Statistics::getQueryExecutionCount);
+        registry.gauge("hibernate.query.executions.max.seconds", "Consulta mais lenta", stats, s -> s.getQueryExecutionMaxTime() / 1000.0);
+        registry.functionCounter("hibernate.second.level.cache.requests", "Consultas ao cache de segundo nível", stats, Statistics::getSecondLevelCacheHitCount, "result", "hit");
+        registry.functionCounter("hibernate.second.level.cache.requests", "Consultas ao cache de segundo nível", stats, Statistics::getSecondLevelCacheMissCount, "result", "miss");
+        registry.functionCounter("hibernate.optimistic.failures", "Falhas de lock otimista", stats, Statistics::getOptimisticFailureCount);
+        registry.functionCounter("hibernate.query.cache.requests", "Consultas ao query cache", stats, Statistics::getQueryCacheHitCount, "result", "hit");
+        registry.functionCounter("hibernate.query.cache.requests", "Consultas ao query cache", stats, Statistics::getQueryCacheMissCount, "result", "miss");
+        registry.functionCounter("hibernate.query.cache.puts", "Resultados gravados no query cache", stats, Statistics::getQueryCachePutCount);
+        bindCacheRegions(stats);
+    }
+
+    // Regiões de entidade existem desde a subida; as de consulta só são criadas no primeiro uso
+    private void bindCacheRegions(Statistics stats) {
+        CacheImplementor cache = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getCache();
+        Set<String> regions = new LinkedHashSet<>(List.of(stats.getSecondLevelCacheRegionNames()));
+        regions.add(ItemRepository.QUERY_CACHE_REGION);
+        regions.add(XpRepository.QUERY_CACHE_REGION);
+        for (String region : regions) {
+            regionCounter(stats, region, "result", "hit", CacheRegionStatistics::getHitCount);
+            regionCounter(stats, region, "result", "miss", CacheRegionStatistics::getMissCount);
+            registry.functionCounter("hibernate.cache.region.puts", "Entradas gravadas na região", stats,
+                    s -> regionStat(s, region, CacheRegionStatistics::getPutCount), "region", region);
+            registry.gauge("hibernate.cache.region.size", "Entradas em memória na região", cache,
+                    c -> c.getRegion(region) instanceof LocalCacheRegion local ? local.getElementCountInMemory() : Double.NaN, "region", region);
+            registry.functionCounter("hibernate.cache.region.evictions", "Entradas removidas por TTL ou limite", cache,
+                    c -> c.getRegion(region) instanceof LocalCacheRegion local ? local.getEvictionCount() : 0, "region", region);
+        }
+    }
+
+    private void regionCounter(Statistics stats, String region, String tag, String value, ToLongFunction<CacheRegionStatistics> function) {
+        registry.functionCounter("hibernate.cache.region.requests", "Consultas à região do cache de segundo nível", stats,
+                s -> regionStat(s, region, function), "region", region, tag, value);
+    }
+
+    private static long regionStat(Statistics stats, String region, ToLongFunction<CacheRegionStatistics> function) {
+        CacheRegionStatistics regionStats = stats.getCacheRegionStatistics(region);
+        return regionStats == null ? 0 : function.applyAsLong(regionStats);
+    }
+}
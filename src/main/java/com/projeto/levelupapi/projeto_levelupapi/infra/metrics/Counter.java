@@ -0,0 +1,38 @@
+package com.projeto.levelupapi.projeto_levelupapi.infra.metrics;
+
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+// Contador monotônico; LongAdder evita disputa de CAS entre threads no caminho quente
+public final class Counter extends Meter {
+
+    private final LongAdder count = new LongAdder();
+
+    Counter(String name, String description, Map<String, String> tags) {
+        super(name, description, tags);
+    }
+
+    public void increment() {
+        count.increment();
+    }
+
+    public void increment(long amount) {
+        if (amount > 0) {
+            count.add(amount);
+        }
+    }
+
+    public long count() {
+        return count.sum();
+    }
+
+    @Override
+    public Type getType() {
+        return Type.COUNTER;
+    }
+
+    @Override
+    public Map<String, Double> snapshot() {
+        return Map.of("count", (double) count());
+    }
+}
@@ -0,0 +1,39 @@
+package com.projeto.levelupapi.projeto_levelupapi.infra.metrics;
+
+import java.util.Map;
+import java.util.function.ToDoubleFunction;
+
+// Gauge ou contador lido de um objeto existente na hora da coleta (tamanho de cache, getHits()...).
+// Os objetos observados são beans singleton, então a referência forte não prende nada a mais.
+final class FunctionMeter<T> extends Meter {
+
+    private final Type type;
+    private final T target;
+    private final ToDoubleFunction<T> function;
+
+    FunctionMeter(String name, String description, Map<String, String> tags, Type type, T target, ToDoubleFunction<T> function) {
+        super(name, description, tags);
+        this.type = type;
+        this.target = target;
+        this.function = function;
+    }
+
+    double value() {
+        try {
+            return function.applyAsDouble(target);
+        } catch (RuntimeException e) {
+            // Ex.: pool do Hikari ainda não iniciado; a coleta não pode falhar por causa de uma métrica
+            return Double.NaN;
+        }
+    }
+
+    @Override
+    public Type getType() {
+        return type;
+    }
+
+    @Override
+    public Map<String, Double> snapshot() {
+        return Map.of(type == Type.COUNTER ? "count" : "value", value());
+    }
+}
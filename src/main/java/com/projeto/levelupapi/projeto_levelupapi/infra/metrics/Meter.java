@@ -0,0 +1,38 @@
+package com.projeto.levelupapi.projeto_levelupapi.infra.metrics;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Base das métricas do MetricsRegistry: nome no formato "a.b.c", descrição e tags fixas
+public abstract class Meter {
+
+    public enum Type { COUNTER, GAUGE, TIMER }
+
+    private final String name;
+    private final String description;
+    private final Map<String, String> tags;
+
+    protected Meter(String name, String description, Map<String, String> tags) {
+        this.name = name;
+        this.description = description;
+        this.tags = Collections.unmodifiableMap(new LinkedHashMap<>(tags));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public Map<String, String> getTags() {
+        return tags;
+    }
+
+    public abstract Type getType();
+
+    // Valores atuais para o endpoint JSON (count, value, totalSeconds...)
+    public abstract Map<String, Double> snapshot();
+}
@@ -0,0 +1,78 @@
+package com.projeto.levelupapi.projeto_levelupapi.infra.metrics;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+
+// Registro das métricas da aplicação, exposto em /actuator/metrics (JSON) e /actuator/prometheus.
+// Timers e contadores devem ser obtidos uma vez (construtor/@PostConstruct) e guardados em campos:
+// o caminho quente só toca os LongAdder, nunca o mapa.
+@Component
+public class MetricsRegistry {
+
+    private final ConcurrentHashMap<String, Meter> meters = new ConcurrentHashMap<>();
+
+    // Tags em pares chave/valor: timer("levelup.auth.login", "...", "outcome", "success")
+    public Counter counter(String name, String description, String... tags) {
+        Map<String, String> tagMap = toTags(tags);
+        return register(name, tagMap, Counter.class, () -> new Counter(name, description, tagMap));
+    }
+
+    public Timer timer(String name, String description, String... tags) {
+        Map<String, String> tagMap = toTags(tags);
+        return register(name, tagMap, Timer.class, () -> new Timer(name, description, tagMap));
+    }
+
+    // Valor instantâneo lido na coleta (tamanho de fila, conexões ativas...)
+    public <T> void gauge(String name, String description, T target, ToDoubleFunction<T> function, String... tags) {
+        Map<String, String> tagMap = toTags(tags);
+        meters.put(key(name, tagMap), new FunctionMeter<>(name, description, tagMap, Meter.Type.GAUGE, target, function));
+    }
+
+    // Contador mantido por outro componente (ex.: getHits() de um cache), lido na coleta
+    public <T> void functionCounter(String name, String description, T target, ToDoubleFunction<T> function, String... tags) {
+        Map<String, String> tagMap = toTags(tags);
+        meters.put(key(name, tagMap), new FunctionMeter<>(name, description, tagMap, Meter.Type.COUNTER, target, function));
+    }
+
+    // Métricas ordenadas por nome e tags, agrupando as séries de uma mesma família
+    public List<Meter> getMeters() {
+        List<Meter> list = new ArrayList<>(meters.values());
+        list.sort(Comparator.comparing(Meter::getName).thenComparing(m -> m.getTags().toString()));
+        return list;
+    }
+
+    public Meter find(String name, String... tags) {
+        return meters.get(key(name, toTags(tags)));
+    }
+
+    private <M extends Meter> M register(String name, Map<String, String> tags, Class<M> type, Supplier<M> factory) {
+        Meter meter = meters.computeIfAbsent(key(name, tags), k -> factory.get());
+        if (!type.isInstance(meter)) {
+            throw new IllegalStateException("Metric " + name + tags + " already registered as " + meter.getType());
+        }
+        return type.cast(meter);
+    }
+
+    private static Map<String, String> toTags(String... tags) {
+        if (tags.length % 2 != 0) {
+            throw new IllegalArgumentException("Tags must be key/value pairs");
+        }
+        Map<String, String> map = new LinkedHashMap<>();
+        for (int i = 0; i < tags.length; i += 2) {
+            map.put(tags[i], tags[i + 1]);
+        }
+        return map;
+    }
+
+    private static String key(String name, Map<String, String> tags) {
+        return tags.isEmpty() ? name : name + tags;
+    }
+}
@@ -0,0 +1,134 @@
+package com.projeto.levelupapi.projeto_levelupapi.infra.metrics;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+// Formato de exposição texto do Prometheus (versão 0.0.4).
+// Nomes "a.b.c" viram "a_b_c"; contadores ganham "_total" e timers viram histogramas em segundos.
+public final class PrometheusTextFormat {
+
+    public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    // Rótulos "le" das faixas dos timers (0.00001, 2.5, 10...), calculados uma vez
+    private static final String[] BUCKET_LABELS = Arrays.stream(Timer.BUCKETS_SECONDS)
+            .mapToObj(s -> BigDecimal.valueOf(s).stripTrailingZeros().toPlainString())
+            .toArray(String[]::new);
+
+    private PrometheusTextFormat() {
+    }
+
+    public static String write(List<Meter> meters) {
+        StringBuilder out = new StringBuilder(meters.size() * 128);
+        String family = null;
+        for (Meter meter : meters) {
+            String base = sanitize(meter.getName());
+            if (!meter.getName().equals(family)) {
+                family = meter.getName();
+                writeHeader(out, meter, base);
+            }
+            switch (meter.getType()) {
+                case COUNTER -> sample(out, base + "_total", meter.getTags(), null, counterValue(meter));
+                case GAUGE -> sample(out, base, meter.getTags(), null, ((FunctionMeter<?>) meter).value());
+                case TIMER -> writeTimer(out, (Timer) meter, base + "_seconds");
+            }
+        }
+        // O _max dos timers é uma família separada (gauge), escrita depois dos histogramas
+        family = null;
+        for (Meter meter : meters) {
+            if (meter instanceof Timer timer) {
+                String name = sanitize(meter.getName()) + "_seconds_max";
+                if (!meter.getName().equals(family)) {
+                    family = meter.getName();
+                    out.append("# HELP ").append(name).append(' ').append(escapeHelp(meter.getDescription())).append('\n');
+                    out.append("# TYPE ").append(name).append(" gauge\n");
+                }
+                sample(out, name, meter.getTags(), null, timer.maxSeconds());
+            }
+        }
+        return out.toString();
+    }
+
+    private static void writeHeader(StringBuilder out, Meter meter, String base) {
+        String name = switch (meter.getType()) {
+            case COUNTER -> base + "_total";
+            case GAUGE -> base;
+            case TIMER -> base + "_seconds";
+        };
+        String type = switch (meter.getType()) {
+            case COUNTER -> "counter";
+            case GAUGE -> "gauge";
+            case TIMER -> "histogram";
+        };
+        out.append("# HELP ").append(name).append(' ').append(escapeHelp(meter.getDescription())).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private static void writeTimer(StringBuilder out, Timer timer, String name) {
+        long[] cumulative = timer.cumulativeBucketCounts();
+        for (int i = 0; i < Timer.BUCKETS_SECONDS.length; i++) {
+            sample(out, name + "_bucket", timer.getTags(), BUCKET_LABELS[i], cumulative[i]);
+        }
+        long total = cumulative[cumulative.length - 1];
+        sample(out, name + "_bucket", timer.getTags(), "+Inf", total);
+        // _count igual ao bucket +Inf, como o formato exige, mesmo com gravações concorrentes à coleta
+        sample(out, name + "_count", timer.getTags(), null, total);
+        sample(out, name + "_sum", timer.getTags(), null, timer.totalSeconds());
+    }
+
+    private static double counterValue(Meter meter) {
+        return meter instanceof Counter counter ? counter.count() : ((FunctionMeter<?>) meter).value();
+    }
+
+    private static void sample(StringBuilder out, String name, Map<String, String> tags, String le, double value) {
+        out.append(name);
+        if (!tags.isEmpty() || le != null) {
+            out.append('{');
+            boolean first = true;
+            for (Map.Entry<String, String> tag : tags.entrySet()) {
+                if (!first) {
+                    out.append(',');
+                }
+                out.append(sanitize(tag.getKey())).append("=\"").append(escapeLabel(tag.getValue())).append('"');
+                first = false;
+            }
+            if (le != null) {
+                out.append(first ? "" : ",").append("le=\"").append(le).append('"');
+            }
+            out.append('}');
+        }
+        out.append(' ').append(formatValue(value)).append('\n');
+    }
+
+    static String sanitize(String name) {
+        StringBuilder sb = new StringBuilder(name.length());
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            boolean valid = (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || c == '_' || c == ':' || (i > 0 && c >= '0' && c <= '9');
+            sb.append(valid ? c : '_');
+        }
+        return sb.toString();
+    }
+
+    private static String formatValue(double value) {
+        if (Double.isNaN(value)) {
+            return "NaN";
+        }
+        if (Double.isInfinite(value)) {
+            return value > 0 ? "+Inf" : "-Inf";
+        }
+        if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            return Long.toString((long) value);
+        }
+        return Double.toString(value);
+    }
+
+    private static String escapeLabel(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    private static String escapeHelp(String value) {
+        return value == null ? "" : value.replace("\\", "\\\\").replace("\n", "\\n");
+    }
+}
@@ -0,0 +1,136 @@
+package com.projeto.levelupapi.projeto_levelupapi.infra.metrics;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+// Timer com histograma de faixas fixas (exportado como histogram do Prometheus).
+// Registrar custa dois System.nanoTime(), uma busca binária nas faixas e três LongAdder,
+// sem alocação; ver MetricsOverheadBenchmark para o orçamento medido.
+public final class Timer extends Meter {
+
+    // Limites das faixas em segundos: de 10µs (validação de JWT) até 10s (login com BCrypt sob fila)
+    static final double[] BUCKETS_SECONDS = {
+            0.00001, 0.000025, 0.00005, 0.0001, 0.00025, 0.0005,
+            0.001, 0.0025, 0.005, 0.01, 0.025, 0.05,
+            0.1, 0.25, 0.5, 1, 2.5, 5, 10
+    };
+    private static final long[] BUCKETS_NANOS = Arrays.stream(BUCKETS_SECONDS).mapToLong(s -> Math.round(s * 1e9)).toArray();
+
+    // O máximo cobre as duas últimas janelas de 1 minuto, para um pico antigo não ficar para sempre
+    private static final long MAX_WINDOW_NANOS = 60_000_000_000L;
+
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    // Última posição = acima da maior faixa (+Inf)
+    private final LongAdder[] buckets = new LongAdder[BUCKETS_NANOS.length + 1];
+
+    private final LongAccumulator currentMax = new LongAccumulator(Math::max, 0);
+    private volatile long previousMax;
+    private volatile long currentWindow;
+
+    Timer(String name, String description, Map<String, String> tags) {
+        super(name, description, tags);
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+        currentWindow = System.nanoTime() / MAX_WINDOW_NANOS;
+    }
+
+    // Uso: long inicio = System.nanoTime(); try { ... } finally { timer.recordSince(inicio); }
+    public void recordSince(long startNanos) {
+        long now = System.nanoTime();
+        record(now - startNanos, now);
+    }
+
+    public void record(long durationNanos) {
+        record(durationNanos, System.nanoTime());
+    }
+
+    public <T> T record(Supplier<T> action) {
+        long start = System.nanoTime();
+        try {
+            return action.get();
+        } finally {
+            recordSince(start);
+        }
+    }
+
+    private void record(long durationNanos, long now) {
+        if (durationNanos < 0) {
+            return;
+        }
+        count.increment();
+        totalNanos.add(durationNanos);
+        buckets[bucketIndex(durationNanos)].increment();
+
+        long window = now / MAX_WINDOW_NANOS;
+        if (window != currentWindow) {
+            rotate(window);
+        }
+        currentMax.accumulate(durationNanos);
+    }
+
+    private synchronized void rotate(long window) {
+        if (window != currentWindow) {
+            // Janela anterior vazia (nada gravado por mais de 1 minuto) não carrega o máximo antigo
+            previousMax = window == currentWindow + 1 ? currentMax.getThenReset() : 0;
+            if (window != currentWindow + 1) {
+                currentMax.reset();
+            }
+            currentWindow = window;
+        }
+    }
+
+    static int bucketIndex(long durationNanos) {
+        int idx = Arrays.binarySearch(BUCKETS_NANOS, durationNanos);
+        return idx >= 0 ? idx : -idx - 1;
+    }
+
+    public long count() {
+        return count.sum();
+    }
+
+    public double totalSeconds() {
+        return totalNanos.sum() / 1e9;
+    }
+
+    public double maxSeconds() {
+        long window = System.nanoTime() / MAX_WINDOW_NANOS;
+        if (window != currentWindow) {
+            rotate(window);
+        }
+        return Math.max(previousMax, currentMax.get()) / 1e9;
+    }
+
+    // Contagens acumuladas por faixa (le), na ordem de BUCKETS_SECONDS seguidas de +Inf
+    public long[] cumulativeBucketCounts() {
+        long[] counts = new long[buckets.length];
+        long running = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            running += buckets[i].sum();
+            counts[i] = running;
+        }
+        return counts;
+    }
+
+    @Override
+    public Type getType() {
+        return Type.TIMER;
+    }
+
+    @Override
+    public Map<String, Double> snapshot() {
+        long n = count();
+        double total = totalSeconds();
+        Map<String, Double> values = new LinkedHashMap<>();
+        values.put("count", (double) n);
+        values.put("totalSeconds", total);
+        values.put("meanSeconds", n == 0 ? 0.0 : total / n);
+        values.put("maxSeconds", maxSeconds());
+        return values;
+    }
+}
@@ -0,0 +1,172 @@
+package com.projeto.levelupapi.projeto_levelupapi.infra.protobuf;
+
+import com.projeto.levelupapi.projeto_levelupapi.dto.CursorPage;
+import com.projeto.levelupapi.projeto_levelupapi.dto.InventoryBatchRequestDto;
+import com.projeto.levelupapi.projeto_levelupapi.dto.InventoryDeltaDto;
+import com.projeto.levelupapi.projeto_levelupapi.dto.InventoryEntryDto;
+import com.projeto.levelupapi.projeto_levelupapi.dto.InventoryOperationDto;
+import com.projeto.levelupapi.projeto_levelupapi.dto.InventoryStackDto;
+import com.projeto.levelupapi.projeto_levelupapi.dto.XpGrantBatchRequestDto;
+import com.projeto.levelupapi.projeto_levelupapi.dto.XpGrantRequestDto;
+import com.projeto.levelupapi.projeto_levelupapi.dto.XpGrantResultDto;
+import com.projeto.levelupapi.projeto_levelupapi.dto.XpResponseDto;
+import com.projeto.levelupapi.projeto_levelupapi.exception.GlobalExceptionHandler.ErrorDetails;
+import org.springframework.core.ResolvableType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+// Codecs das mensagens do src/main/proto/levelup.proto, escritos à mão (o build não roda o protoc).
+// Os números dos campos aqui e no .proto têm de ser os mesmos. Na leitura só os campos presentes
+// são atribuídos: o que faltar fica com o valor padrão do DTO e passa pelo @Valid como no JSON.
+public final class LevelUpMessages {
+
+    private LevelUpMessages() {
+    }
+
+    public static void register(ProtobufHttpMessageConverter converter) {
+        converter
+                .encoder(Integer.class, (xpPoints, out) -> out.int32(1, xpPoints))
+                .encoder(listOf(String.class), (List<String> names, ProtoWriter out) -> out.repeatedString(1, names))
+                .encoder(pageOf(XpResponseDto.class), (CursorPage<XpResponseDto> page, ProtoWriter out) ->
+                        writePage(page, out, LevelUpMessages::writeXpEntry))
+                .encoder(listOf(XpGrantResultDto.class), (List<XpGrantResultDto> results, ProtoWriter out) ->
+                        out.repeated(1, results, LevelUpMessages::writeXpGrantResult))
+                .encoder(InventoryEntryDto.class, LevelUpMessages::writeInventoryEntry)
+                .encoder(listOf(InventoryEntryDto.class), (List<InventoryEntryDto> entries, ProtoWriter out) ->
+                        out.repeated(1, entries, LevelUpMessages::writeInventoryEntry))
+                .encoder(pageOf(InventoryEntryDto.class), (CursorPage<InventoryEntryDto> page, ProtoWriter out) ->
+                        writePage(page, out, LevelUpMessages::writeInventoryEntry))
+                .encoder(InventoryDeltaDto.class, LevelUpMessages::writeInventoryDelta)
+                .encoder(listOf(InventoryStackDto.class), (List<InventoryStackDto> stacks, ProtoWriter out) ->
+                        out.repeated(1, stacks, LevelUpMessages::writeInventoryStack))
+                .encoder(ErrorDetails.class, LevelUpMessages::writeError)
+                .decoder(XpGrantBatchRequestDto.class, LevelUpMessages::readXpGrantBatch)
+                .decoder(InventoryBatchRequestDto.class, LevelUpMessages::readInventoryBatch);
+    }
+
+    private static ResolvableType listOf(Class<?> element) {
+        return ResolvableType.forClassWithGenerics(List.class, element);
+    }
+
+    private static ResolvableType pageOf(Class<?> element) {
+        return ResolvableType.forClassWithGenerics(CursorPage.class, element);
+    }
+
+    private static <T> void writePage(CursorPage<T> page, ProtoWriter out, ProtoEncoder<T> element) {
+        out.repeated(1, page.getContent(), element)
+                .int32(2, page.getSize())
+                .bool(3, page.isHasNext())
+                .string(4, page.getNextCursor());
+    }
+
+    static void writeXpEntry(XpResponseDto xp, ProtoWriter out) {
+        out.int64(1, xp.getUserId())
+                .int32(2, xp.getXpPoints())
+                .int32(3, xp.getLevel());
+    }
+
+    static void writeXpGrantResult(XpGrantResultDto result, ProtoWriter out) {
+        out.int64(1, result.getUserId())
+                .int32(2, result.getPreviousLevel())
+                .int32(3, result.getLevel())
+                .int32(4, result.getXpPoints())
+                .bool(5, result.isLeveledUp())
+                .string(6, result.getMessage());
+    }
+
+    static void writeInventoryEntry(InventoryEntryDto entry, ProtoWriter out) {
+        out.int64(1, entry.getId())
+                .int64(2, entry.getItemId())
+                .string(3, entry.getItemName())
+                .string(4, entry.getItemDescription())
+                .int32(5, entry.getQuantity());
+    }
+
+    // removed_item_ids é repeated int64: um campo por id (sem packed), que todo leitor proto3 aceita
+    static void writeInventoryDelta(InventoryDeltaDto delta, ProtoWriter out) {
+        out.int64(1, delta.getVersion())
+                .bool(2, delta.isFull())
+                .repeated(3, delta.getChanged(), LevelUpMessages::writeInventoryEntry);
+        for (Long itemId : delta.getRemovedItemIds()) {
+            out.int64(4, itemId);
+        }
+    }
+
+    static void writeInventoryStack(InventoryStackDto stack, ProtoWriter out) {
+        out.int64(1, stack.getItemId())
+                .string(2, stack.getItemName())
+                .int32(3, stack.getQuantity());
+    }
+
+    // map<string, string> no fio é um repeated de mensagens {key = 1, value = 2}
+    static void writeError(ErrorDetails error, ProtoWriter out) {
+        out.string(1, error.getTimestamp() != null ? error.getTimestamp().toString() : null)
+                .string(2, error.getMessage())
+                .string(3, error.getPath());
+        if (error.getErrors() instanceof Map<?, ?> errors) {
+            out.repeated(4, errors.entrySet(), (Map.Entry<?, ?> entry, ProtoWriter field) -> field
+                    .string(1, String.valueOf(entry.getKey()))
+                    .string(2, String.valueOf(entry.getValue())));
+        }
+    }
+
+    static XpGrantBatchRequestDto readXpGrantBatch(ProtoReader in) {
+        List<XpGrantRequestDto> grants = new ArrayList<>();
+        for (int field; (field = in.nextField()) != 0; ) {
+            if (field == 1) {
+                grants.add(in.message(LevelUpMessages::readXpGrant));
+            } else {
+                in.skip();
+            }
+        }
+        XpGrantBatchRequestDto request = new XpGrantBatchRequestDto();
+        request.setGrants(grants);
+        return request;
+    }
+
+    static XpGrantRequestDto readXpGrant(ProtoReader in) {
+        XpGrantRequestDto grant = new XpGrantRequestDto();
+        for (int field; (field = in.nextField()) != 0; ) {
+            switch (field) {
+                case 1 -> grant.setUserId(in.int64());
+                case 2 -> grant.setXpGained(in.int32());
+                default -> in.skip();
+            }
+        }
+        return grant;
+    }
+
+    static InventoryBatchRequestDto readInventoryBatch(ProtoReader in) {
+        List<InventoryOperationDto> operations = new ArrayList<>();
+        for (int field; (field = in.nextField()) != 0; ) {
+            if (field == 1) {
+                operations.add(in.message(LevelUpMessages::readInventoryOperation));
+            } else {
+                in.skip();
+            }
+        }
+        InventoryBatchRequestDto request = new InventoryBatchRequestDto();
+        request.setOperations(operations);
+        return request;
+    }
+
+    // InventoryOperationType: 0 = não informado (falha no @NotNull), 1 = ADD, 2 = REMOVE
+    static InventoryOperationDto readInventoryOperation(ProtoReader in) {
+        InventoryOperationDto operation = new InventoryOperationDto();
+        for (int field; (field = in.nextField()) != 0; ) {
+            switch (field) {
+                case 1 -> {
+                    int type = in.int32();
+                    operation.setType(type == 1 ? InventoryOperationDto.Type.ADD
+                            : type == 2 ? InventoryOperationDto.Type.REMOVE : null);
+                }
+                case 2 -> operation.setItemName(in.string());
+                case 3 -> operation.setQuantity(in.int32());
+                default -> in.skip();
+            }
+        }
+        return operation;
+    }
+}
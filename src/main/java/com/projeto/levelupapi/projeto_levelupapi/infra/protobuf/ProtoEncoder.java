@@ -0,0 +1,6 @@
+package com.projeto.levelupapi.projeto_levelupapi.infra.protobuf;
+
+@FunctionalInterface
+public interface ProtoEncoder<T> {
+    void encode(T value, ProtoWriter out);
+}
@@ -0,0 +1,114 @@
+package com.projeto.levelupapi.projeto_levelupapi.infra.protobuf;
+
+import java.nio.charset.StandardCharsets;
+import java.util.function.Function;
+
+// Leitura no formato de fio do Protocol Buffers. Campos desconhecidos são pulados, então clientes
+// com uma versão mais nova do levelup.proto continuam sendo aceitos. Entrada malformada lança
+// IllegalArgumentException (o conversor responde 400).
+public final class ProtoReader {
+    private final byte[] buffer;
+    private final int limit;
+    private int position;
+    private int wireType;
+
+    public ProtoReader(byte[] buffer) {
+        this(buffer, 0, buffer.length);
+    }
+
+    private ProtoReader(byte[] buffer, int offset, int limit) {
+        this.buffer = buffer;
+        this.position = offset;
+        this.limit = limit;
+    }
+
+    // Número do próximo campo, ou 0 no fim da mensagem
+    public int nextField() {
+        if (position >= limit) {
+            return 0;
+        }
+        long tag = varint();
+        int field = (int) (tag >>> 3);
+        if (field <= 0) {
+            throw new IllegalArgumentException("Invalid protobuf field number " + field);
+        }
+        wireType = (int) (tag & 0x7);
+        return field;
+    }
+
+    public long int64() {
+        expect(ProtoWriter.VARINT);
+        return varint();
+    }
+
+    public int int32() {
+        expect(ProtoWriter.VARINT);
+        return (int) varint();
+    }
+
+    public boolean bool() {
+        expect(ProtoWriter.VARINT);
+        return varint() != 0;
+    }
+
+    public String string() {
+        int length = length();
+        String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+        position += length;
+        return value;
+    }
+
+    public <T> T message(Function<ProtoReader, T> decoder) {
+        int length = length();
+        ProtoReader nested = new ProtoReader(buffer, position, position + length);
+        position += length;
+        return decoder.apply(nested);
+    }
+
+    public void skip() {
+        switch (wireType) {
+            case ProtoWriter.VARINT -> varint();
+            case ProtoWriter.FIXED64 -> advance(8);
+            case ProtoWriter.LENGTH_DELIMITED -> advance(length());
+            case ProtoWriter.FIXED32 -> advance(4);
+            default -> throw new IllegalArgumentException("Unsupported protobuf wire type " + wireType);
+        }
+    }
+
+    private int length() {
+        expect(ProtoWriter.LENGTH_DELIMITED);
+        long length = varint();
+        if (length < 0 || length > limit - position) {
+            throw new IllegalArgumentException("Truncated protobuf message");
+        }
+        return (int) length;
+    }
+
+    private void expect(int expected) {
+        if (wireType != expected) {
+            throw new IllegalArgumentException("Unexpected protobuf wire type " + wireType + " (expected " + expected + ")");
+        }
+    }
+
+    private void advance(int bytes) {
+        if (bytes > limit - position) {
+            throw new IllegalArgumentException("Truncated protobuf message");
+        }
+        position += bytes;
+    }
+
+    private long varint() {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            if (position >= limit) {
+                throw new IllegalArgumentException("Truncated protobuf varint");
+            }
+            byte b = buffer[position++];
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed protobuf varint");
+    }
+}
@@ -0,0 +1,152 @@
+package com.projeto.levelupapi.projeto_levelupapi.infra.protobuf;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+// Codificação no formato de fio do Protocol Buffers (proto3): campos com valor padrão (0, false,
+// vazio, null) não são escritos, como faria o código gerado pelo protoc
+public final class ProtoWriter {
+    static final int VARINT = 0;
+    static final int FIXED64 = 1;
+    static final int LENGTH_DELIMITED = 2;
+    static final int FIXED32 = 5;
+
+    private byte[] buffer;
+    private int position;
+
+    public ProtoWriter() {
+        this(256);
+    }
+
+    public ProtoWriter(int capacity) {
+        buffer = new byte[Math.max(16, capacity)];
+    }
+
+    public ProtoWriter int64(int field, Long value) {
+        if (value != null && value != 0) {
+            tag(field, VARINT);
+            varint(value);
+        }
+        return this;
+    }
+
+    // int32 negativo vai como varint de 10 bytes (extensão de sinal), igual ao protoc
+    public ProtoWriter int32(int field, int value) {
+        if (value != 0) {
+            tag(field, VARINT);
+            varint(value);
+        }
+        return this;
+    }
+
+    public ProtoWriter bool(int field, boolean value) {
+        if (value) {
+            tag(field, VARINT);
+            ensure(1);
+            buffer[position++] = 1;
+        }
+        return this;
+    }
+
+    public ProtoWriter string(int field, String value) {
+        if (value != null && !value.isEmpty()) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            tag(field, LENGTH_DELIMITED);
+            varint(bytes.length);
+            ensure(bytes.length);
+            System.arraycopy(bytes, 0, buffer, position, bytes.length);
+            position += bytes.length;
+        }
+        return this;
+    }
+
+    // Mensagem aninhada (também usada para cada elemento de um campo repeated). O tamanho é
+    // conhecido só depois de escrever o conteúdo: reserva um byte e desloca se precisar de mais
+    public <T> ProtoWriter message(int field, T value, ProtoEncoder<T> encoder) {
+        if (value == null) {
+            return this;
+        }
+        tag(field, LENGTH_DELIMITED);
+        ensure(1);
+        int lengthAt = position++;
+        encoder.encode(value, this);
+        int length = position - lengthAt - 1;
+        int lengthSize = varintSize(length);
+        if (lengthSize > 1) {
+            ensure(lengthSize - 1);
+            System.arraycopy(buffer, lengthAt + 1, buffer, lengthAt + lengthSize, length);
+            position += lengthSize - 1;
+        }
+        int end = position;
+        position = lengthAt;
+        varint(length);
+        position = end;
+        return this;
+    }
+
+    public <T> ProtoWriter repeated(int field, Iterable<? extends T> values, ProtoEncoder<T> encoder) {
+        if (values != null) {
+            for (T value : values) {
+                message(field, value, encoder);
+            }
+        }
+        return this;
+    }
+
+    public ProtoWriter repeatedString(int field, Iterable<String> values) {
+        if (values != null) {
+            for (String value : values) {
+                // Em um repeated o elemento vazio também conta: escreve o tamanho zero
+                byte[] bytes = value == null ? new byte[0] : value.getBytes(StandardCharsets.UTF_8);
+                tag(field, LENGTH_DELIMITED);
+                varint(bytes.length);
+                ensure(bytes.length);
+                System.arraycopy(bytes, 0, buffer, position, bytes.length);
+                position += bytes.length;
+            }
+        }
+        return this;
+    }
+
+    public int size() {
+        return position;
+    }
+
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, position);
+    }
+
+    public void writeTo(OutputStream out) throws IOException {
+        out.write(buffer, 0, position);
+    }
+
+    private void tag(int field, int wireType) {
+        varint(((long) field << 3) | wireType);
+    }
+
+    private void varint(long value) {
+        ensure(10);
+        while ((value & ~0x7FL) != 0) {
+            buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[position++] = (byte) value;
+    }
+
+    private static int varintSize(int value) {
+        int size = 1;
+        while ((value & ~0x7F) != 0) {
+            value >>>= 7;
+            size++;
+        }
+        return size;
+    }
+
+    private void ensure(int extra) {
+        if (position + extra > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + extra));
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.projeto.levelupapi.projeto_levelupapi.infra.protobuf;
+
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+// Corpo em protobuf (Accept / Content-Type application/x-protobuf) para os tipos registrados.
+// Cada tipo Java, com os genéricos (ex.: List<InventoryEntryDto>), corresponde a uma mensagem do
+// levelup.proto; tipos não registrados ficam com o JSON.
+public class ProtobufHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+    public static final MediaType PROTOBUF = MediaType.parseMediaType("application/x-protobuf");
+    public static final MediaType PROTOBUF_STANDARD = MediaType.parseMediaType("application/protobuf");
+
+    private final Map<String, ProtoEncoder<Object>> encoders = new HashMap<>();
+    private final Map<String, Function<ProtoReader, ?>> decoders = new HashMap<>();
+    private final Map<Type, String> keys = new ConcurrentHashMap<>();
+
+    public ProtobufHttpMessageConverter() {
+        super(PROTOBUF, PROTOBUF_STANDARD);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> ProtobufHttpMessageConverter encoder(ResolvableType type, ProtoEncoder<? super T> encoder) {
+        encoders.put(key(type.getType()), (ProtoEncoder<Object>) encoder);
+        return this;
+    }
+
+    public <T> ProtobufHttpMessageConverter encoder(Class<T> type, ProtoEncoder<? super T> encoder) {
+        return encoder(ResolvableType.forClass(type), encoder);
+    }
+
+    public <T> ProtobufHttpMessageConverter decoder(Class<T> type, Function<ProtoReader, T> decoder) {
+        decoders.put(key(type), decoder);
+        return this;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return true;
+    }
+
+    @Override
+    public boolean canRead(Type type, @Nullable Class<?> contextClass, @Nullable MediaType mediaType) {
+        return decoders.containsKey(key(type)) && canRead(mediaType);
+    }
+
+    @Override
+    public boolean canWrite(@Nullable Type type, Class<?> clazz, @Nullable MediaType mediaType) {
+        return encoders.containsKey(key(type != null ? type : clazz)) && canWrite(mediaType);
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, @Nullable MediaType mediaType) {
+        return canRead((Type) clazz, null, mediaType);
+    }
+
+    @Override
+    public boolean canWrite(Class<?> clazz, @Nullable MediaType mediaType) {
+        return canWrite(clazz, clazz, mediaType);
+    }
+
+    // O Spring lista os tipos produzíveis pela classe do valor (ArrayList, CursorPage), sem os genéricos;
+    // o canWrite com o tipo completo já decidiu se este conversor atende o retorno
+    @Override
+    public List<MediaType> getSupportedMediaTypes(Class<?> clazz) {
+        return getSupportedMediaTypes();
+    }
+
+    @Override
+    public Object read(Type type, @Nullable Class<?> contextClass, HttpInputMessage inputMessage) throws IOException {
+        return readInternal(type, inputMessage);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+        return readInternal((Type) clazz, inputMessage);
+    }
+
+    private Object readInternal(Type type, HttpInputMessage inputMessage) throws IOException {
+        byte[] body = inputMessage.getBody().readAllBytes();
+        try {
+            return decoders.get(key(type)).apply(new ProtoReader(body));
+        } catch (IllegalArgumentException e) {
+            throw new HttpMessageNotReadableException("Invalid protobuf body: " + e.getMessage(), e, inputMessage);
+        }
+    }
+
+    @Override
+    protected void writeInternal(Object value, @Nullable Type type, HttpOutputMessage outputMessage) throws IOException {
+        ProtoEncoder<Object> encoder = encoders.get(key(type != null ? type : value.getClass()));
+        if (encoder == null) {
+            encoder = encoders.get(key(value.getClass()));
+        }
+        ProtoWriter writer = new ProtoWriter();
+        encoder.encode(value, writer);
+        outputMessage.getHeaders().setContentLength(writer.size());
+        writer.writeTo(outputMessage.getBody());
+    }
+
+    // ResolvableType renderiza os genéricos do mesmo jeito para tipos da reflexão e os montados no
+    // registro. canWrite roda em toda resposta (inclusive JSON), então a chave de cada tipo é guardada
+    private String key(Type type) {
+        return keys.computeIfAbsent(type, t -> ResolvableType.forType(t).toString());
+    }
+}
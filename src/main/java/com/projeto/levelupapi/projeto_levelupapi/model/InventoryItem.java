@@ -5,8 +5,15 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.Instant;
+
 @Entity
-@Table(name = "inventory")
+@Table(name = "inventory",
+        uniqueConstraints = @UniqueConstraint(name = "uk_inventory_user_item", columnNames = {"user_id", "item_id"}),
+        indexes = {
+                @Index(name = "idx_inventory_user_id_seek", columnList = "user_id, id"),
+                @Index(name = "idx_inventory_user_version", columnList = "user_id, change_version")
+        })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -23,4 +30,17 @@ public class InventoryItem {
     private Item item;
 
     private int quantity;
+
+    // Preenchido pelo próprio SQL de upsert/decremento (CURRENT_TIMESTAMP)
+    private Instant updatedAt;
+
+    // Versão do inventário do jogador (User.inventoryVersion) na última alteração deste stack
+    private long changeVersion;
+
+    public InventoryItem(Long id, User user, Item item, int quantity) {
+        this.id = id;
+        this.user = user;
+        this.item = item;
+        this.quantity = quantity;
+    }
 }
@@ -0,0 +1,28 @@
+package com.projeto.levelupapi.projeto_levelupapi.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Marca de remoção de um stack: versão do inventário em que o item saiu, para a sincronização
+// incremental (GET /api/inventory/{userId}/changes). Uma linha por jogador e item, regravada a
+// cada nova remoção; se o item voltar, o stack novo (versão maior) prevalece sobre a marca.
+@Entity
+@Table(name = "inventory_tombstone",
+        uniqueConstraints = @UniqueConstraint(name = "uk_inventory_tombstone_user_item", columnNames = {"user_id", "item_id"}))
+@Data
+@NoArgsConstructor
+public class InventoryTombstone {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    @Column(nullable = false)
+    private Long itemId;
+
+    private long changeVersion;
+}
@@ -4,9 +4,12 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Table(name = "items")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "items")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -20,4 +23,7 @@ public class Item {
     private String name;
 
     private String description;
+
+    // Nível em que o item passa a poder ser escolhido como recompensa (null = não é recompensa de nível)
+    private Integer unlockLevel;
 }
@@ -0,0 +1,48 @@
+package com.projeto.levelupapi.projeto_levelupapi.model;
+
+// Curva de progressão: quanto XP cada nível exige e como um ganho de XP se traduz em nível.
+// As implementações pré-calculam a tabela de XP acumulado, então resolver um ganho custa
+// O(log n) independente do tamanho do ganho, e o limite de nível é aplicado na própria resolução.
+public interface LevelCurve {
+
+    // Curva original do jogo: cada nível exige 100 XP × nível, até o nível 100
+    LevelCurve DEFAULT = linear(100, 100);
+
+    int maxLevel();
+
+    // XP necessária para passar do nível informado para o próximo
+    long xpRequiredForLevelUp(int level);
+
+    // XP total acumulada para chegar ao nível informado partindo do nível 1 com 0 XP
+    long cumulativeXp(int level);
+
+    // Resolve o nível e a XP restante após um ganho. Ao passar do nível máximo o jogador fica
+    // no nível máximo com 0 XP; cálculos saturam em Long.MAX_VALUE em vez de estourar.
+    Progress resolve(int level, long xpPoints, long xpGanho);
+
+    record Progress(int level, long xpPoints) {
+    }
+
+    static LevelCurve linear(long xpPerLevel, int maxLevel) {
+        long[] required = new long[maxLevel];
+        for (int level = 1; level <= maxLevel; level++) {
+            required[level - 1] = TableLevelCurve.saturatedMultiply(xpPerLevel, level);
+        }
+        return new TableLevelCurve(required);
+    }
+
+    static LevelCurve exponential(long baseXp, double growth, int maxLevel) {
+        long[] required = new long[maxLevel];
+        double value = baseXp;
+        for (int level = 1; level <= maxLevel; level++) {
+            required[level - 1] = value >= Long.MAX_VALUE ? Long.MAX_VALUE : Math.round(value);
+            value *= growth;
+        }
+        return new TableLevelCurve(required);
+    }
+
+    // xpPerLevel[i] é a XP necessária para sair do nível i + 1; o tamanho da tabela define o nível máximo
+    static LevelCurve table(long[] xpPerLevel) {
+        return new TableLevelCurve(xpPerLevel.clone());
+    }
+}
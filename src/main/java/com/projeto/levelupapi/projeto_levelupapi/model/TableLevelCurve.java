@@ -0,0 +1,75 @@
+package com.projeto.levelupapi.projeto_levelupapi.model;
+
+import java.util.Arrays;
+
+// Curva baseada em tabela: cumulative[n] guarda a XP total para chegar ao nível n.
+// cumulative[maxLevel + 1] é o teto: qualquer total a partir dele fica preso no nível máximo.
+final class TableLevelCurve implements LevelCurve {
+
+    private final long[] required;
+    private final long[] cumulative;
+
+    TableLevelCurve(long[] required) {
+        if (required.length == 0) {
+            throw new IllegalArgumentException("A curva de nível precisa de pelo menos um nível");
+        }
+        this.required = required;
+        this.cumulative = new long[required.length + 2];
+        for (int level = 1; level <= required.length; level++) {
+            if (required[level - 1] <= 0) {
+                throw new IllegalArgumentException("XP do nível " + level + " deve ser maior que zero");
+            }
+            cumulative[level + 1] = saturatedAdd(cumulative[level], required[level - 1]);
+        }
+    }
+
+    @Override
+    public int maxLevel() {
+        return required.length;
+    }
+
+    @Override
+    public long xpRequiredForLevelUp(int level) {
+        return required[clampLevel(level) - 1];
+    }
+
+    @Override
+    public long cumulativeXp(int level) {
+        return cumulative[clampLevel(level)];
+    }
+
+    @Override
+    public Progress resolve(int level, long xpPoints, long xpGanho) {
+        int maxLevel = maxLevel();
+        long total = saturatedAdd(saturatedAdd(cumulative[clampLevel(level)], Math.max(0, xpPoints)), Math.max(0, xpGanho));
+        if (total >= cumulative[maxLevel + 1]) {
+            return new Progress(maxLevel, 0);
+        }
+        // Maior nível cujo acumulado cabe no total (busca binária em cumulative[1..maxLevel])
+        int idx = Arrays.binarySearch(cumulative, 1, maxLevel + 1, total);
+        int newLevel = idx >= 0 ? lastIndexOf(total, idx, maxLevel) : -idx - 2;
+        return new Progress(newLevel, total - cumulative[newLevel]);
+    }
+
+    private int lastIndexOf(long total, int idx, int maxLevel) {
+        while (idx < maxLevel && cumulative[idx + 1] == total) {
+            idx++;
+        }
+        return idx;
+    }
+
+    private int clampLevel(int level) {
+        return Math.max(1, Math.min(level, maxLevel()));
+    }
+
+    static long saturatedAdd(long a, long b) {
+        long sum = a + b;
+        return ((a ^ sum) & (b ^ sum)) < 0 ? Long.MAX_VALUE : sum;
+    }
+
+    static long saturatedMultiply(long a, long b) {
+        long hi = Math.multiplyHigh(a, b);
+        long lo = a * b;
+        return (hi == 0 && lo >= 0) ? lo : Long.MAX_VALUE;
+    }
+}
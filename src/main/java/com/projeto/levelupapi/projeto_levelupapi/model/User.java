@@ -3,9 +3,16 @@ package com.projeto.levelupapi.projeto_levelupapi.model;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.Instant;
 
 @Entity
 @Table(name = "users")
+// Só as colunas alteradas entram no UPDATE: in_safe_zone é gravada pelo SafeZonePresence
+// e um save do usuário inteiro não pode sobrescrevê-la com o valor lido antes
+@DynamicUpdate
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -32,4 +39,12 @@ public class User {
 
     @Column(nullable = false)
     private boolean inSafeZone = true;
+
+    // Versão do inventário, incrementada pelo InventoryItemRepository a cada alteração de stack.
+    // Fora dos UPDATEs do Hibernate: um save do usuário não pode voltá-la para o valor lido antes.
+    @Column(nullable = false, updatable = false)
+    private long inventoryVersion;
+
+    @UpdateTimestamp
+    private Instant updatedAt;
 }
\ No newline at end of file
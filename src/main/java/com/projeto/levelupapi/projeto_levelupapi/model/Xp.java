@@ -2,9 +2,16 @@ package com.projeto.levelupapi.projeto_levelupapi.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.Instant;
 
 @Entity
 @Table(name = "xp")
+// Atualizações JDBC (flush do write-behind) removem as entradas afetadas desta região
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "xp")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -21,22 +28,25 @@ public class Xp {
     private int xpPoints;  // Quantidade de XP do jogador
     private int level;     // Nível do jogador
 
-    // Método para adicionar XP ao jogador
-    public void addXp(int xpGanho) {
-        this.xpPoints += xpGanho;
-        checkLevelUp();
+    @UpdateTimestamp
+    private Instant updatedAt;  // Última alteração de XP/nível (usado nas exportações incrementais)
+
+    public Xp(Long id, User user, int xpPoints, int level) {
+        this.id = id;
+        this.user = user;
+        this.xpPoints = xpPoints;
+        this.level = level;
     }
 
-    // Verifica se o jogador subiu de nível
-    private void checkLevelUp() {
-        while (this.xpPoints >= xpRequiredForLevelUp()) {
-            this.level++;
-            this.xpPoints -= xpRequiredForLevelUp();  // Reseta a XP extra após subir de nível
-        }
+    // Método para adicionar XP ao jogador
+    public void addXp(int xpGanho) {
+        addXp(xpGanho, LevelCurve.DEFAULT);
     }
 
-    // Calcula a XP necessária para o próximo nível
-    private int xpRequiredForLevelUp() {
-        return 100 * this.level;  // Exemplo: cada nível exige 100 XP
+    // Adiciona XP resolvendo o novo nível direto pela curva (sem laço por nível ganho)
+    public void addXp(long xpGanho, LevelCurve curve) {
+        LevelCurve.Progress progress = curve.resolve(this.level, this.xpPoints, xpGanho);
+        this.level = progress.level();
+        this.xpPoints = (int) Math.min(progress.xpPoints(), Integer.MAX_VALUE);
     }
 }
@@ -1,17 +1,64 @@
 package com.projeto.levelupapi.projeto_levelupapi.repository;
 
+import com.projeto.levelupapi.projeto_levelupapi.dto.InventoryEntryDto;
+import com.projeto.levelupapi.projeto_levelupapi.dto.InventoryExportDto;
 import com.projeto.levelupapi.projeto_levelupapi.model.InventoryItem;
 import com.projeto.levelupapi.projeto_levelupapi.model.Item;
 import com.projeto.levelupapi.projeto_levelupapi.model.User;
+import org.springframework.data.domain.Limit;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface InventoryItemRepository extends JpaRepository<InventoryItem, Long> {
-    List<InventoryItem> findByUser(User user);
+public interface InventoryItemRepository extends JpaRepository<InventoryItem, Long>, InventoryItemRepositoryCustom {
     Optional<InventoryItem> findByUserAndItem(User user, Item item);
-    Page<InventoryItem> findByUser(User user, Pageable pageable);
+
+    // Respostas da API: projeção direta no DTO, uma única consulta com join no item e sem carregar o User
+    String ENTRY_SELECT = "select new com.projeto.levelupapi.projeto_levelupapi.dto.InventoryEntryDto(" +
+                          "ii.id, i.id, i.name, i.description, ii.quantity) from InventoryItem ii join ii.item i " +
+                          "where ii.user.id = :userId";
+
+    @Query(ENTRY_SELECT + " order by ii.id")
+    List<InventoryEntryDto> findEntriesByUserId(@Param("userId") Long userId);
+
+    @Query(value = ENTRY_SELECT,
+           countQuery = "select count(ii) from InventoryItem ii where ii.user.id = :userId")
+    Page<InventoryEntryDto> findEntriesByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    @Query(ENTRY_SELECT + " and ii.id > :afterId order by ii.id")  // Keyset por (user_id, id)
+    List<InventoryEntryDto> findEntriesByUserIdAfter(@Param("userId") Long userId, @Param("afterId") Long afterId, Limit limit);
+
+    // Sincronização incremental: stacks alterados depois da versão informada (índice user_id, change_version)
+    @Query(ENTRY_SELECT + " and ii.changeVersion > :since order by ii.id")
+    List<InventoryEntryDto> findEntriesChangedSince(@Param("userId") Long userId, @Param("since") long since);
+
+    // Itens removidos depois da versão informada e que não voltaram ao inventário
+    @Query("select t.itemId from InventoryTombstone t where t.userId = :userId and t.changeVersion > :since " +
+           "and not exists (select ii.id from InventoryItem ii where ii.user.id = t.userId and ii.item.id = t.itemId) " +
+           "order by t.itemId")
+    List<Long> findItemIdsRemovedSince(@Param("userId") Long userId, @Param("since") long since);
+
+    // Exportação NDJSON: uma linha por pilha, direto no DTO (sem entidades no contexto de persistência)
+    @Query("select new com.projeto.levelupapi.projeto_levelupapi.dto.InventoryExportDto(" +
+           "ii.user.id, i.id, i.name, ii.quantity, ii.updatedAt) from InventoryItem ii join ii.item i " +
+           "where (:userId is null or ii.user.id = :userId) " +
+           "and (:minLevel is null or i.unlockLevel >= :minLevel) " +
+           "and (:maxLevel is null or i.unlockLevel <= :maxLevel) " +
+           "and (:since is null or ii.updatedAt >= :since) " +
+           "order by ii.user.id, ii.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<InventoryExportDto> streamForExport(@Param("userId") Long userId,
+                                               @Param("minLevel") Integer minLevel,
+                                               @Param("maxLevel") Integer maxLevel,
+                                               @Param("since") Instant since);
 }
@@ -0,0 +1,44 @@
+package com.projeto.levelupapi.projeto_levelupapi.repository;
+
+import java.util.Collection;
+import java.util.Map;
+
+// Operações atômicas de quantidade, executadas em um único statement SQL (sem ler antes de escrever)
+public interface InventoryItemRepositoryCustom {
+
+    // Linha do inventário sem carregar as entidades User/Item
+    record Stack(Long id, Long itemId, int quantity) {
+    }
+
+    // Incrementa a versão do inventário do jogador (users.inventory_version) e retorna o novo valor.
+    // A linha do jogador fica travada até o fim da transação: alterações do mesmo inventário são
+    // serializadas e cada versão só fica visível depois de todas as anteriores.
+    long nextVersion(Long userId);
+
+    // As escritas abaixo recebem a versão obtida em nextVersion (mesma transação) e a gravam nos
+    // stacks alterados; stacks removidos deixam uma marca em inventory_tombstone com essa versão.
+
+    // Soma a quantidade ao stack do jogador, criando-o se não existir; retorna {id, nova quantidade}
+    long[] incrementQuantity(Long userId, Long itemId, int quantity, long version);
+
+    // Subtrai a quantidade; se o stack chegar a zero (ou menos) ele é removido.
+    // Retorna false se o jogador não tem o item.
+    boolean decrementQuantity(Long userId, Long itemId, int quantity, long version);
+
+    // Stacks do jogador para os itens informados, indexados por itemId.
+    // Com forUpdate = true as linhas ficam travadas (SELECT ... FOR UPDATE) até o fim da transação.
+    Map<Long, Stack> findStacks(Long userId, Collection<Long> itemIds, boolean forUpdate);
+
+    // Escritas em lote (JDBC batch) usadas pelas operações em massa do inventário
+    void batchSetQuantities(Map<Long, Integer> quantityByStackId, long version);
+
+    void batchDelete(Long userId, Collection<Long> itemIds, long version);
+
+    void batchIncrement(Long userId, Map<Long, Integer> quantityByItemId, long version);
+
+    // INSERT simples em lote, para inventários que ainda não têm nenhum stack (jogador recém-criado)
+    void batchInsert(Long userId, Map<Long, Integer> quantityByItemId, long version);
+
+    // Exclusão do jogador: apaga os stacks e as marcas de remoção (inventory_tombstone não tem FK para users)
+    void deleteAllForUser(Long userId);
+}
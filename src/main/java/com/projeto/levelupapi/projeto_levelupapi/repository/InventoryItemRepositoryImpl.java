@@ -0,0 +1,188 @@
+package com.projeto.levelupapi.projeto_levelupapi.repository;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Implementação JDBC do InventoryItemRepositoryCustom. O upsert depende da constraint única
+// (user_id, item_id) e usa a sintaxe nativa de cada banco: ON CONFLICT no PostgreSQL e MERGE no H2.
+class InventoryItemRepositoryImpl implements InventoryItemRepositoryCustom {
+
+    private static final String POSTGRES_MERGE =
+            "INSERT INTO inventory (user_id, item_id, quantity, change_version, updated_at) VALUES (?, ?, ?, ?, CURRENT_TIMESTAMP) " +
+            "ON CONFLICT (user_id, item_id) DO UPDATE SET quantity = inventory.quantity + EXCLUDED.quantity, " +
+            "change_version = EXCLUDED.change_version, updated_at = CURRENT_TIMESTAMP";
+
+    private static final String H2_MERGE =
+            "MERGE INTO inventory t " +
+            "USING (VALUES (CAST(? AS BIGINT), CAST(? AS BIGINT), CAST(? AS INTEGER), CAST(? AS BIGINT))) s(user_id, item_id, quantity, change_version) " +
+            "ON t.user_id = s.user_id AND t.item_id = s.item_id " +
+            "WHEN MATCHED THEN UPDATE SET quantity = t.quantity + s.quantity, change_version = s.change_version, updated_at = CURRENT_TIMESTAMP " +
+            "WHEN NOT MATCHED THEN INSERT (user_id, item_id, quantity, change_version, updated_at) " +
+            "VALUES (s.user_id, s.item_id, s.quantity, s.change_version, CURRENT_TIMESTAMP)";
+
+    private static final String POSTGRES_UPSERT = POSTGRES_MERGE + " RETURNING id, quantity";
+
+    private static final String H2_UPSERT = "SELECT id, quantity FROM FINAL TABLE (" + H2_MERGE + ")";
+
+    private static final String GUARDED_DECREMENT =
+            "UPDATE inventory SET quantity = quantity - ?, change_version = ?, updated_at = CURRENT_TIMESTAMP " +
+            "WHERE user_id = ? AND item_id = ? AND quantity > ?";
+
+    private static final String DELETE_IF_EXHAUSTED =
+            "DELETE FROM inventory WHERE user_id = ? AND item_id = ? AND quantity <= ?";
+
+    private static final String POSTGRES_NEXT_VERSION =
+            "UPDATE users SET inventory_version = inventory_version + 1 WHERE id = ? RETURNING inventory_version";
+
+    private static final String H2_NEXT_VERSION =
+            "SELECT inventory_version FROM FINAL TABLE (UPDATE users SET inventory_version = inventory_version + 1 WHERE id = ?)";
+
+    private static final String POSTGRES_TOMBSTONE =
+            "INSERT INTO inventory_tombstone (user_id, item_id, change_version) VALUES (?, ?, ?) " +
+            "ON CONFLICT (user_id, item_id) DO UPDATE SET change_version = EXCLUDED.change_version";
+
+    private static final String H2_TOMBSTONE =
+            "MERGE INTO inventory_tombstone (user_id, item_id, change_version) KEY (user_id, item_id) VALUES (?, ?, ?)";
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final JdbcTemplate jdbcTemplate;
+    private volatile Boolean postgres;
+
+    InventoryItemRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public long nextVersion(Long userId) {
+        return jdbcTemplate.queryForObject(isPostgres() ? POSTGRES_NEXT_VERSION : H2_NEXT_VERSION, Long.class, userId);
+    }
+
+    @Override
+    public long[] incrementQuantity(Long userId, Long itemId, int quantity, long version) {
+        String sql = isPostgres() ? POSTGRES_UPSERT : H2_UPSERT;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                List<long[]> rows = jdbcTemplate.query(sql,
+                        (rs, rowNum) -> new long[]{rs.getLong(1), rs.getInt(2)},
+                        userId, itemId, quantity, version);
+                return rows.get(0);
+            } catch (DuplicateKeyException e) {
+                // MERGE do H2 não é atômico entre inserts concorrentes da mesma chave:
+                // quem perde a corrida tenta de novo e cai no ramo de UPDATE
+                if (attempt >= MAX_ATTEMPTS) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    @Override
+    public boolean decrementQuantity(Long userId, Long itemId, int quantity, long version) {
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+            if (jdbcTemplate.update(GUARDED_DECREMENT, quantity, version, userId, itemId, quantity) == 1) {
+                return true;
+            }
+            if (jdbcTemplate.update(DELETE_IF_EXHAUSTED, userId, itemId, quantity) == 1) {
+                jdbcTemplate.update(isPostgres() ? POSTGRES_TOMBSTONE : H2_TOMBSTONE, userId, itemId, version);
+                return true;
+            }
+            // Nenhum dos dois: ou o item não está no inventário, ou alguém somou entre os dois statements
+            Integer stacks = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM inventory WHERE user_id = ? AND item_id = ?", Integer.class, userId, itemId);
+            if (stacks == null || stacks == 0) {
+                return false;
+            }
+        }
+        throw new IllegalStateException("Could not decrement inventory stack after " + MAX_ATTEMPTS + " attempts");
+    }
+
+    @Override
+    public Map<Long, Stack> findStacks(Long userId, Collection<Long> itemIds, boolean forUpdate) {
+        if (itemIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        List<Object> args = new ArrayList<>(itemIds.size() + 1);
+        args.add(userId);
+        args.addAll(itemIds);
+        String sql = "SELECT id, item_id, quantity FROM inventory WHERE user_id = ? AND item_id IN ("
+                + String.join(", ", Collections.nCopies(itemIds.size(), "?")) + ")"
+                + (forUpdate ? " FOR UPDATE" : "");
+        Map<Long, Stack> stacks = new HashMap<>();
+        jdbcTemplate.query(sql, rs -> {
+            Stack stack = new Stack(rs.getLong(1), rs.getLong(2), rs.getInt(3));
+            stacks.put(stack.itemId(), stack);
+        }, args.toArray());
+        return stacks;
+    }
+
+    @Override
+    public void batchSetQuantities(Map<Long, Integer> quantityByStackId, long version) {
+        if (quantityByStackId.isEmpty()) {
+            return;
+        }
+        List<Object[]> args = new ArrayList<>(quantityByStackId.size());
+        quantityByStackId.forEach((stackId, quantity) -> args.add(new Object[]{quantity, version, stackId}));
+        jdbcTemplate.batchUpdate("UPDATE inventory SET quantity = ?, change_version = ?, updated_at = CURRENT_TIMESTAMP WHERE id = ?", args);
+    }
+
+    @Override
+    public void batchDelete(Long userId, Collection<Long> itemIds, long version) {
+        if (itemIds.isEmpty()) {
+            return;
+        }
+        List<Object[]> args = new ArrayList<>(itemIds.size());
+        List<Object[]> tombstones = new ArrayList<>(itemIds.size());
+        itemIds.forEach(itemId -> {
+            args.add(new Object[]{userId, itemId});
+            tombstones.add(new Object[]{userId, itemId, version});
+        });
+        jdbcTemplate.batchUpdate("DELETE FROM inventory WHERE user_id = ? AND item_id = ?", args);
+        jdbcTemplate.batchUpdate(isPostgres() ? POSTGRES_TOMBSTONE : H2_TOMBSTONE, tombstones);
+    }
+
+    @Override
+    public void batchIncrement(Long userId, Map<Long, Integer> quantityByItemId, long version) {
+        if (quantityByItemId.isEmpty()) {
+            return;
+        }
+        List<Object[]> args = new ArrayList<>(quantityByItemId.size());
+        quantityByItemId.forEach((itemId, quantity) -> args.add(new Object[]{userId, itemId, quantity, version}));
+        jdbcTemplate.batchUpdate(isPostgres() ? POSTGRES_MERGE : H2_MERGE, args);
+    }
+
+    @Override
+    public void batchInsert(Long userId, Map<Long, Integer> quantityByItemId, long version) {
+        if (quantityByItemId.isEmpty()) {
+            return;
+        }
+        List<Object[]> args = new ArrayList<>(quantityByItemId.size());
+        quantityByItemId.forEach((itemId, quantity) -> args.add(new Object[]{userId, itemId, quantity, version}));
+        jdbcTemplate.batchUpdate("INSERT INTO inventory (user_id, item_id, quantity, change_version, updated_at) " +
+                "VALUES (?, ?, ?, ?, CURRENT_TIMESTAMP)", args);
+    }
+
+    @Override
+    public void deleteAllForUser(Long userId) {
+        jdbcTemplate.update("DELETE FROM inventory WHERE user_id = ?", userId);
+        jdbcTemplate.update("DELETE FROM inventory_tombstone WHERE user_id = ?", userId);
+    }
+
+    private boolean isPostgres() {
+        Boolean result = postgres;
+        if (result == null) {
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) con -> con.getMetaData().getDatabaseProductName());
+            result = product != null && product.toLowerCase().contains("postgres");
+            postgres = result;
+        }
+        return result;
+    }
+}
@@ -1,14 +1,35 @@
 package com.projeto.levelupapi.projeto_levelupapi.repository;
 
 import com.projeto.levelupapi.projeto_levelupapi.model.Item;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import jakarta.persistence.QueryHint;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
+    String QUERY_CACHE_REGION = "query.items";
+
+    // Resultado no query cache; o Item em si vem da região "items" do cache de segundo nível
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = QUERY_CACHE_REGION)
+    })
     Optional<Item> findByName(String name);
+    List<Item> findByNameIn(Collection<String> names);
+
+    List<Item> findByUnlockLevelIsNotNull();
+    boolean existsByUnlockLevelIsNotNull();
 
-    Page<Item> findAll(Pageable pageable);
+    // Exportação NDJSON filtrando pelo nível de desbloqueio (as entidades são destacadas pelo ExportService)
+    @Query("select i from Item i where (:minLevel is null or i.unlockLevel >= :minLevel) " +
+           "and (:maxLevel is null or i.unlockLevel <= :maxLevel) order by i.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<Item> streamForExport(@Param("minLevel") Integer minLevel, @Param("maxLevel") Integer maxLevel);
 }
@@ -1,13 +1,64 @@
 package com.projeto.levelupapi.projeto_levelupapi.repository;
 
+import com.projeto.levelupapi.projeto_levelupapi.dto.UserExportDto;
+import com.projeto.levelupapi.projeto_levelupapi.dto.UserResponseDto;
 import com.projeto.levelupapi.projeto_levelupapi.model.User;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.repository.query.Param;
+import jakarta.persistence.QueryHint;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface UserRepository extends JpaRepository<User, Long> {
+    // Projeção usuário + XP em um único SELECT (sem carregar as entidades nem o xpData LAZY)
+    String RESPONSE_PROJECTION = "select new com.projeto.levelupapi.projeto_levelupapi.dto.UserResponseDto(" +
+            "u.id, u.username, x.level, x.xpPoints) from User u left join Xp x on x.user = u";
+
     Optional<User> findByUsername(String username);
+
+    // users.xp_id e xp.user_id apontam um para o outro: a referência sai antes de apagar o XP
+    @Modifying
+    @Query("update User u set u.xpData = null where u.id = :id")
+    int detachXp(@Param("id") Long id);
     Page<User> findAll(Pageable pageable);
+
+    @Query(RESPONSE_PROJECTION + " order by u.id")
+    List<UserResponseDto> findAllResponses();
+
+    @Query(value = RESPONSE_PROJECTION, countQuery = "select count(u) from User u")
+    Page<UserResponseDto> findAllResponses(Pageable pageable);
+
+    @Query(RESPONSE_PROJECTION + " where u.id = :id")
+    Optional<UserResponseDto> findResponseById(@Param("id") Long id);
+
+    // Keyset: próxima fatia depois do último id lido, sem OFFSET nem COUNT
+    @Query(RESPONSE_PROJECTION + " where u.id > :afterId order by u.id")
+    List<UserResponseDto> findResponsesAfter(@Param("afterId") Long afterId, Limit limit);
+
+    // Exportação completa: lê com cursor do driver em vez de materializar a tabela inteira (exige transação aberta)
+    @Query(RESPONSE_PROJECTION + " order by u.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<UserResponseDto> streamAllResponses();
+
+    // Exportação NDJSON com filtros opcionais de nível e de última alteração (usuário ou XP)
+    @Query("select new com.projeto.levelupapi.projeto_levelupapi.dto.UserExportDto(" +
+           "u.id, u.username, x.level, x.xpPoints, u.updatedAt, x.updatedAt) from User u left join Xp x on x.user = u " +
+           "where (:minLevel is null or coalesce(x.level, 1) >= :minLevel) " +
+           "and (:maxLevel is null or coalesce(x.level, 1) <= :maxLevel) " +
+           "and (:since is null or u.updatedAt >= :since or x.updatedAt >= :since) " +
+           "order by u.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<UserExportDto> streamForExport(@Param("minLevel") Integer minLevel,
+                                          @Param("maxLevel") Integer maxLevel,
+                                          @Param("since") Instant since);
 }
@@ -1,14 +1,42 @@
 package com.projeto.levelupapi.projeto_levelupapi.repository;
 
+import com.projeto.levelupapi.projeto_levelupapi.dto.XpResponseDto;
 import com.projeto.levelupapi.projeto_levelupapi.model.Xp;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface XpRepository extends JpaRepository<Xp, Long> {
+    String QUERY_CACHE_REGION = "query.xp";
+
+    // Resultado no query cache (invalidado a cada escrita na tabela xp feita pelo Hibernate)
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = QUERY_CACHE_REGION)
+    })
     Optional<Xp> findByUserId(Long userId);  // Buscar XP do jogador pelo ID do usuário
     Page<Xp> findAll(Pageable pageable);
+    List<Xp> findByUserIdIn(Collection<Long> userIds);  // Carrega o XP de vários jogadores em uma única consulta
+
+    // Keyset por user_id (coluna única, já indexada) direto no DTO
+    @Query("select new com.projeto.levelupapi.projeto_levelupapi.dto.XpResponseDto(x.user.id, x.xpPoints, x.level) " +
+           "from Xp x where x.user.id > :afterUserId order by x.user.id")
+    List<XpResponseDto> findResponsesAfter(@Param("afterUserId") Long afterUserId, Limit limit);
+
+    // Exclusão do jogador; em JPQL o Hibernate invalida o cache de segundo nível e o query cache de xp
+    @Modifying
+    @Query("delete from Xp x where x.user.id = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
 }
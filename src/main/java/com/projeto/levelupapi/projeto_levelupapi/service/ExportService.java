@@ -0,0 +1,121 @@
+package com.projeto.levelupapi.projeto_levelupapi.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projeto.levelupapi.projeto_levelupapi.exception.BadRequestException;
+import com.projeto.levelupapi.projeto_levelupapi.model.Item;
+import com.projeto.levelupapi.projeto_levelupapi.repository.InventoryItemRepository;
+import com.projeto.levelupapi.projeto_levelupapi.repository.ItemRepository;
+import com.projeto.levelupapi.projeto_levelupapi.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+// Exportações em NDJSON (um objeto JSON por linha) lidas com cursor do banco e escritas direto na resposta.
+// Nenhuma lista é montada: a memória usada depende do fetch size, não do tamanho das tabelas.
+@Service
+public class ExportService {
+    private static final Logger logger = LoggerFactory.getLogger(ExportService.class);
+
+    // Mesmo valor do fetch size das consultas: esvazia o buffer a cada lote lido do banco
+    private static final int FLUSH_EVERY = 500;
+
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final InventoryItemRepository inventoryItemRepository;
+    private final XpWriteBehindBuffer xpWriteBehindBuffer;
+    private final ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public ExportService(UserRepository userRepository, ItemRepository itemRepository,
+                         InventoryItemRepository inventoryItemRepository, XpWriteBehindBuffer xpWriteBehindBuffer,
+                         ObjectMapper objectMapper) {
+        this.userRepository = userRepository;
+        this.itemRepository = itemRepository;
+        this.inventoryItemRepository = inventoryItemRepository;
+        this.xpWriteBehindBuffer = xpWriteBehindBuffer;
+        this.objectMapper = objectMapper;
+    }
+
+    @Transactional(readOnly = true)
+    public long exportUsers(Integer minLevel, Integer maxLevel, Instant since, OutputStream out) {
+        validarNiveis(minLevel, maxLevel);
+        long rows = writeNdjson(userRepository.streamForExport(minLevel, maxLevel, since), out, null);
+        logger.info("Exported {} users as NDJSON (minLevel={}, maxLevel={}, since={})", rows, minLevel, maxLevel, since);
+        return rows;
+    }
+
+    @Transactional(readOnly = true)
+    public long exportItems(Integer minLevel, Integer maxLevel, OutputStream out) {
+        validarNiveis(minLevel, maxLevel);
+        // Aqui a consulta devolve entidades: cada uma sai do contexto de persistência logo após ser escrita
+        long rows = writeNdjson(itemRepository.streamForExport(minLevel, maxLevel), out, (Item item) -> entityManager.detach(item));
+        logger.info("Exported {} items as NDJSON (minLevel={}, maxLevel={})", rows, minLevel, maxLevel);
+        return rows;
+    }
+
+    @Transactional(readOnly = true)
+    public long exportInventories(Long userId, Integer minLevel, Integer maxLevel, Instant since, OutputStream out) {
+        validarNiveis(minLevel, maxLevel);
+        long rows = writeNdjson(inventoryItemRepository.streamForExport(userId, minLevel, maxLevel, since), out, null);
+        logger.info("Exported {} inventory stacks as NDJSON (userId={}, minLevel={}, maxLevel={}, since={})",
+                rows, userId, minLevel, maxLevel, since);
+        return rows;
+    }
+
+    private <T> long writeNdjson(Stream<T> rows, OutputStream out, Consumer<T> afterWrite) {
+        long count = 0;
+        try (rows; JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(new SerializedString("\n"));
+            Iterator<T> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                T row = iterator.next();
+                objectMapper.writeValue(generator, row);
+                if (afterWrite != null) {
+                    afterWrite.accept(row);
+                }
+                if (++count % FLUSH_EVERY == 0) {
+                    generator.flush();
+                }
+            }
+            if (count > 0) {
+                generator.writeRaw('\n');
+            }
+        } catch (IOException e) {
+            // Normalmente o cliente fechou a conexão no meio do download
+            throw new UncheckedIOException(e);
+        }
+        return count;
+    }
+
+    // XP ainda no buffer write-behind não apareceria no filtro de nível nem no updatedAt. Chamado pelo
+    // controller antes de exportUsers, fora da transação somente leitura: o UPDATE do flush não pode
+    // rodar nela (no PostgreSQL aborta a transação) e o journal só é descartado após gravar de fato
+    public void gravarXpPendente() {
+        if (xpWriteBehindBuffer.isEnabled()) {
+            xpWriteBehindBuffer.flush();
+        }
+    }
+
+    // Chamado também pelo controller antes de abrir a resposta, já que depois do primeiro byte não dá mais para devolver 400
+    public void validarNiveis(Integer minLevel, Integer maxLevel) {
+        if (minLevel != null && maxLevel != null && minLevel > maxLevel) {
+            throw new BadRequestException("minLevel não pode ser maior que maxLevel");
+        }
+    }
+}
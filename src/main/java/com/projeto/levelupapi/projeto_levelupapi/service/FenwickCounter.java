@@ -0,0 +1,50 @@
+package com.projeto.levelupapi.projeto_levelupapi.service;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Árvore de Fenwick (BIT) de contadores sobre buckets 0..size-1, sem lock: cada add é uma sequência
+// de getAndAdd atômicos e leituras nunca bloqueiam escritas. Durante atualizações concorrentes uma
+// soma pode refletir só parte delas, o que para ranking é aceitável (corrige na próxima leitura).
+final class FenwickCounter {
+    private final AtomicLongArray tree;
+
+    FenwickCounter(int size) {
+        this.tree = new AtomicLongArray(size + 1);
+    }
+
+    // Construção em O(n) a partir das contagens por bucket
+    static FenwickCounter of(long[] counts) {
+        FenwickCounter counter = new FenwickCounter(counts.length);
+        long[] raw = new long[counts.length + 1];
+        System.arraycopy(counts, 0, raw, 1, counts.length);
+        for (int i = 1; i <= counts.length; i++) {
+            int parent = i + (i & -i);
+            if (parent <= counts.length) {
+                raw[parent] += raw[i];
+            }
+        }
+        for (int i = 1; i <= counts.length; i++) {
+            counter.tree.set(i, raw[i]);
+        }
+        return counter;
+    }
+
+    int size() {
+        return tree.length() - 1;
+    }
+
+    void add(int bucket, long delta) {
+        for (int i = bucket + 1; i < tree.length(); i += i & -i) {
+            tree.getAndAdd(i, delta);
+        }
+    }
+
+    // Soma dos buckets 0..bucket (inclusive)
+    long prefixSum(int bucket) {
+        long sum = 0;
+        for (int i = Math.min(bucket + 1, tree.length() - 1); i > 0; i -= i & -i) {
+            sum += tree.get(i);
+        }
+        return sum;
+    }
+}
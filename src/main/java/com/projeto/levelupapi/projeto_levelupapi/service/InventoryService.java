@@ -2,75 +2,229 @@ package com.projeto.levelupapi.projeto_levelupapi.service;
 
 import com.projeto.levelupapi.projeto_levelupapi.exception.ResourceNotFoundException;
 import com.projeto.levelupapi.projeto_levelupapi.exception.BadRequestException;
+import com.projeto.levelupapi.projeto_levelupapi.dto.CursorPage;
+import com.projeto.levelupapi.projeto_levelupapi.dto.InventoryDeltaDto;
+import com.projeto.levelupapi.projeto_levelupapi.dto.InventoryEntryDto;
+import com.projeto.levelupapi.projeto_levelupapi.dto.InventoryOperationDto;
+import com.projeto.levelupapi.projeto_levelupapi.dto.InventoryStackDto;
 import com.projeto.levelupapi.projeto_levelupapi.model.InventoryItem;
 import com.projeto.levelupapi.projeto_levelupapi.model.Item;
 import com.projeto.levelupapi.projeto_levelupapi.model.User;
+import com.projeto.levelupapi.projeto_levelupapi.infra.CursorCodec;
+import com.projeto.levelupapi.projeto_levelupapi.infra.metrics.Counter;
+import com.projeto.levelupapi.projeto_levelupapi.infra.metrics.MetricsRegistry;
+import com.projeto.levelupapi.projeto_levelupapi.infra.metrics.Timer;
 import com.projeto.levelupapi.projeto_levelupapi.repository.InventoryItemRepository;
-import com.projeto.levelupapi.projeto_levelupapi.repository.ItemRepository;
+import com.projeto.levelupapi.projeto_levelupapi.repository.InventoryItemRepositoryCustom.Stack;
 import org.springframework.stereotype.Service;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 public class InventoryService {
     private static final Logger logger = LoggerFactory.getLogger(InventoryService.class);
     private final InventoryItemRepository inventoryRepository;
-    private final ItemRepository itemRepository;
+    private final ItemCatalogCache itemCatalogCache;
+    private final PlayerEventBus playerEventBus;
+    private final Timer addTimer;
+    private final Timer removeTimer;
+    private final Counter itemsGranted;
 
-    public InventoryService(InventoryItemRepository inventoryRepository, ItemRepository itemRepository) {
+    public InventoryService(InventoryItemRepository inventoryRepository, ItemCatalogCache itemCatalogCache,
+                            PlayerEventBus playerEventBus, MetricsRegistry metrics) {
         this.inventoryRepository = inventoryRepository;
-        this.itemRepository = itemRepository;
+        this.itemCatalogCache = itemCatalogCache;
+        this.playerEventBus = playerEventBus;
+        this.addTimer = metrics.timer("levelup.inventory.operation", "Tempo das operações de inventário", "operation", "add");
+        this.removeTimer = metrics.timer("levelup.inventory.operation", "Tempo das operações de inventário", "operation", "remove");
+        this.itemsGranted = metrics.counter("levelup.inventory.items.granted", "Unidades de itens adicionadas aos inventários");
     }
 
-    public List<InventoryItem> getInventory(User user) {
-        return inventoryRepository.findByUser(user);
+    public List<InventoryEntryDto> getInventory(User user) {
+        return inventoryRepository.findEntriesByUserId(user.getId());
     }
 
-    public Page<InventoryItem> listInventory(User user, Pageable pageable) {
+    public Page<InventoryEntryDto> listInventory(User user, Pageable pageable) {
         logger.info("Listing inventory for user {} with pagination: page={}, size={}", user.getUsername(), pageable.getPageNumber(), pageable.getPageSize());
-        return inventoryRepository.findByUser(user, pageable);
+        return inventoryRepository.findEntriesByUserId(user.getId(), pageable);
     }
 
+    // Sincronização incremental a partir da versão que o cliente já tem. A versão vem do jogador,
+    // lido antes dos stacks: o que mudar entre as duas leituras tem versão maior e volta na próxima
+    // chamada. Com since acima da versão atual (ex.: banco recriado) devolve o inventário inteiro.
+    public InventoryDeltaDto getChangesSince(User user, long since) {
+        if (since < 0) {
+            throw new BadRequestException("Inventory version must not be negative");
+        }
+        long version = user.getInventoryVersion();
+        if (since > version) {
+            return new InventoryDeltaDto(version, true, inventoryRepository.findEntriesByUserId(user.getId()), List.of());
+        }
+        if (since == version) {
+            return new InventoryDeltaDto(version, false, List.of(), List.of());
+        }
+        return new InventoryDeltaDto(version, false,
+                inventoryRepository.findEntriesChangedSince(user.getId(), since),
+                inventoryRepository.findItemIdsRemovedSince(user.getId(), since));
+    }
+
+    // Página por cursor do inventário, ordenada pelo id do stack
+    public CursorPage<InventoryEntryDto> listInventoryAfter(User user, String cursor, int size) {
+        int limit = CursorPage.clampSize(size);
+        List<InventoryEntryDto> rows = inventoryRepository.findEntriesByUserIdAfter(user.getId(), CursorCodec.decode(cursor), Limit.of(limit + 1));
+        return CursorPage.of(rows, limit, InventoryEntryDto::getId);
+    }
+
+    // Soma a quantidade com um único upsert atômico no banco: pegadas simultâneas do mesmo item não se perdem.
+    // A versão do inventário sobe na mesma transação (escritas no inventário do jogador ficam em fila até o commit).
+    @Transactional
     public InventoryItem addItem(User user, String itemName, int quantity) {
-        if (quantity <= 0) {
-            throw new BadRequestException("Quantity must be greater than zero");
+        long inicio = System.nanoTime();
+        try {
+            if (quantity <= 0) {
+                throw new BadRequestException("Quantity must be greater than zero");
+            }
+
+            Item item = itemCatalogCache.findByName(itemName)
+                    .orElseThrow(() -> new ResourceNotFoundException("Item with name '" + itemName + "' not found"));
+
+            long version = inventoryRepository.nextVersion(user.getId());
+            long[] stack = inventoryRepository.incrementQuantity(user.getId(), item.getId(), quantity, version);
+            itemsGranted.increment(quantity);
+            playerEventBus.publish(PlayerEvent.inventory(user.getId(), version));
+            return new InventoryItem(stack[0], user, item, (int) stack[1]);
+        } finally {
+            addTimer.recordSince(inicio);
         }
-        
-        Item item = itemRepository.findByName(itemName)
-                .orElseThrow(() -> new ResourceNotFoundException("Item with name '" + itemName + "' not found"));
-                
-        InventoryItem inventoryItem = inventoryRepository.findByUserAndItem(user, item)
-                .orElse(new InventoryItem());
-                
-        inventoryItem.setUser(user);
-        inventoryItem.setItem(item);
-        inventoryItem.setQuantity(inventoryItem.getQuantity() + quantity);
-        
-        return inventoryRepository.save(inventoryItem);
+    }
+
+    // Kit inicial de um jogador recém-criado: todos os stacks em um único INSERT em lote.
+    // Deve rodar na mesma transação que criou o jogador (inventário ainda vazio).
+    public void grantStarterKit(User user, Map<Long, Integer> quantityByItemId) {
+        if (!quantityByItemId.isEmpty()) {
+            inventoryRepository.batchInsert(user.getId(), quantityByItemId, inventoryRepository.nextVersion(user.getId()));
+        }
+        quantityByItemId.values().forEach(itemsGranted::increment);
+    }
+
+    @Transactional
+    // Chamado na exclusão do jogador, na mesma transação que apaga o usuário
+    public void deleteInventory(Long userId) {
+        inventoryRepository.deleteAllForUser(userId);
     }
 
     public void removeItem(User user, String itemName, int quantity) {
-        if (quantity <= 0) {
-            throw new BadRequestException("Quantity to remove must be greater than zero");
+        long inicio = System.nanoTime();
+        try {
+            if (quantity <= 0) {
+                throw new BadRequestException("Quantity to remove must be greater than zero");
+            }
+
+            Item item = itemCatalogCache.findByName(itemName)
+                    .orElseThrow(() -> new ResourceNotFoundException("Item with name '" + itemName + "' not found"));
+
+            // Decremento condicional; o stack é apagado quando a quantidade chega a zero
+            long version = inventoryRepository.nextVersion(user.getId());
+            if (!inventoryRepository.decrementQuantity(user.getId(), item.getId(), quantity, version)) {
+                throw new ResourceNotFoundException("Item '" + itemName + "' is not in the user's inventory");
+            }
+            playerEventBus.publish(PlayerEvent.inventory(user.getId(), version));
+        } finally {
+            removeTimer.recordSince(inicio);
+        }
+    }
+
+    // Aplica várias operações (ADD/REMOVE) no inventário do jogador em uma única transação.
+    // Todos os nomes são resolvidos antes de qualquer escrita; os stacks afetados são travados
+    // uma vez (FOR UPDATE), as operações são aplicadas em memória na ordem recebida e o resultado
+    // é gravado com JDBC batch. Se qualquer operação for inválida nada é alterado.
+    @Transactional
+    public List<InventoryStackDto> applyBatch(User user, List<InventoryOperationDto> operations) {
+        Set<String> nomes = new LinkedHashSet<>();
+        for (InventoryOperationDto op : operations) {
+            if (op.getQuantity() <= 0) {
+                throw new BadRequestException("Quantity must be greater than zero");
+            }
+            nomes.add(op.getItemName());
+        }
+        Map<String, Item> itens = itemCatalogCache.findAllByName(nomes);
+        if (itens.size() < nomes.size()) {
+            nomes.removeAll(itens.keySet());
+            throw new ResourceNotFoundException("Itens não encontrados: " + nomes);
+        }
+
+        // Versão antes do FOR UPDATE: a linha do jogador é sempre a primeira travada, como em addItem/removeItem
+        long version = inventoryRepository.nextVersion(user.getId());
+        List<Long> itemIds = itens.values().stream().map(Item::getId).toList();
+        Map<Long, Stack> atuais = inventoryRepository.findStacks(user.getId(), itemIds, true);
+
+        Map<Long, Integer> quantidades = new LinkedHashMap<>();
+        for (Long itemId : itemIds) {
+            Stack stack = atuais.get(itemId);
+            quantidades.put(itemId, stack == null ? 0 : stack.quantity());
+        }
+        for (InventoryOperationDto op : operations) {
+            Long itemId = itens.get(op.getItemName()).getId();
+            int atual = quantidades.get(itemId);
+            if (op.getType() == InventoryOperationDto.Type.ADD) {
+                quantidades.put(itemId, Math.addExact(atual, op.getQuantity()));
+            } else if (atual == 0) {
+                throw new ResourceNotFoundException("Item '" + op.getItemName() + "' is not in the user's inventory");
+            } else {
+                quantidades.put(itemId, Math.max(0, atual - op.getQuantity()));
+            }
+        }
+
+        Map<Long, Integer> updates = new HashMap<>();
+        List<Long> deletes = new ArrayList<>();
+        Map<Long, Integer> inserts = new HashMap<>();
+        quantidades.forEach((itemId, quantidade) -> {
+            Stack stack = atuais.get(itemId);
+            if (stack == null) {
+                if (quantidade > 0) {
+                    inserts.put(itemId, quantidade);
+                }
+            } else if (quantidade == 0) {
+                deletes.add(itemId);
+            } else if (quantidade != stack.quantity()) {
+                updates.put(stack.id(), quantidade);
+            }
+        });
+        inventoryRepository.batchSetQuantities(updates, version);
+        inventoryRepository.batchDelete(user.getId(), deletes, version);
+        // Stacks novos não existiam para travar: o upsert soma caso outra requisição os tenha criado no meio
+        inventoryRepository.batchIncrement(user.getId(), inserts, version);
+
+        Map<Long, Stack> finais = inserts.isEmpty() ? null : inventoryRepository.findStacks(user.getId(), inserts.keySet(), false);
+        List<InventoryStackDto> resultado = new ArrayList<>(itens.size());
+        for (Item item : itens.values()) {
+            int quantidade = quantidades.get(item.getId());
+            if (finais != null && inserts.containsKey(item.getId())) {
+                Stack stack = finais.get(item.getId());
+                quantidade = stack == null ? 0 : stack.quantity();
+            }
+            resultado.add(new InventoryStackDto(item.getId(), item.getName(), quantidade));
         }
-        
-        Item item = itemRepository.findByName(itemName)
-                .orElseThrow(() -> new ResourceNotFoundException("Item with name '" + itemName + "' not found"));
-                
-        InventoryItem inventoryItem = inventoryRepository.findByUserAndItem(user, item)
-                .orElseThrow(() -> new ResourceNotFoundException("Item '" + itemName + "' is not in the user's inventory"));
-                
-        int newQuantity = inventoryItem.getQuantity() - quantity;
-        
-        if (newQuantity <= 0) {
-            inventoryRepository.delete(inventoryItem);
-        } else {
-            inventoryItem.setQuantity(newQuantity);
-            inventoryRepository.save(inventoryItem);
+        for (InventoryOperationDto op : operations) {
+            if (op.getType() == InventoryOperationDto.Type.ADD) {
+                itemsGranted.increment(op.getQuantity());
+            }
         }
+        playerEventBus.publish(PlayerEvent.inventory(user.getId(), version));
+        logger.info("Applied {} inventory operations for user {} ({} updated, {} removed, {} created)",
+                operations.size(), user.getUsername(), updates.size(), deletes.size(), inserts.size());
+        return resultado;
     }
 }
\ No newline at end of file
@@ -0,0 +1,135 @@
+package com.projeto.levelupapi.projeto_levelupapi.service;
+
+import com.projeto.levelupapi.projeto_levelupapi.model.Item;
+import com.projeto.levelupapi.projeto_levelupapi.repository.ItemRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Cache em memória do catálogo de itens (nome -> Item). O catálogo é pequeno e quase não muda,
+// então leituras usam um mapa imutável sem lock e cada escrita publica uma cópia nova (copy-on-write).
+@Component
+public class ItemCatalogCache {
+    private static final Logger logger = LoggerFactory.getLogger(ItemCatalogCache.class);
+
+    private final ItemRepository itemRepository;
+    private volatile Map<String, Item> byName = Map.of();
+    // Incrementada a cada escrita no catálogo: o ItemCatalogSnapshot se refaz quando ela muda
+    private volatile long version;
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public ItemCatalogCache(ItemRepository itemRepository) {
+        this.itemRepository = itemRepository;
+    }
+
+    @PostConstruct
+    void init() {
+        refresh();
+    }
+
+    // Resolve o item pelo nome; em caso de miss consulta o banco e guarda o resultado
+    public Optional<Item> findByName(String name) {
+        Item item = byName.get(name);
+        if (item != null) {
+            hits.increment();
+            return Optional.of(item);
+        }
+        misses.increment();
+        Optional<Item> loaded = itemRepository.findByName(name);
+        loaded.ifPresent(this::put);
+        return loaded;
+    }
+
+    // Resolve vários nomes de uma vez; os que não estão em cache vêm do banco em uma única consulta.
+    // Nomes inexistentes simplesmente ficam de fora do mapa retornado.
+    public Map<String, Item> findAllByName(Collection<String> names) {
+        Map<String, Item> snapshot = byName;
+        Map<String, Item> found = new LinkedHashMap<>();
+        List<String> faltando = new ArrayList<>();
+        for (String name : names) {
+            Item item = snapshot.get(name);
+            if (item != null) {
+                hits.increment();
+                found.put(name, item);
+            } else {
+                misses.increment();
+                faltando.add(name);
+            }
+        }
+        if (!faltando.isEmpty()) {
+            for (Item item : itemRepository.findByNameIn(faltando)) {
+                found.put(item.getName(), item);
+                put(item);
+            }
+        }
+        return found;
+    }
+
+    // Adiciona ou substitui um item (após criação ou alteração)
+    public void put(Item item) {
+        writeLock.lock();
+        try {
+            Map<String, Item> copia = new HashMap<>(byName);
+            copia.values().removeIf(cached -> cached.getId().equals(item.getId()));
+            copia.put(item.getName(), item);
+            byName = Map.copyOf(copia);
+            version++;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // Recarrega o catálogo inteiro do banco. A consulta roda fora do lock: com virtual threads,
+    // bloquear em I/O dentro de um monitor prenderia a thread carregadora (pinning).
+    public void refresh() {
+        List<Item> items = itemRepository.findAll();
+        Map<String, Item> novo = new HashMap<>(items.size() * 2);
+        for (Item item : items) {
+            novo.put(item.getName(), item);
+        }
+        writeLock.lock();
+        try {
+            byName = Map.copyOf(novo);
+            version++;
+        } finally {
+            writeLock.unlock();
+        }
+        logger.info("Item catalog cache loaded: {} items", novo.size());
+    }
+
+    public int size() {
+        return byName.size();
+    }
+
+    public long version() {
+        return version;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public double getHitRate() {
+        long h = hits.sum();
+        long total = h + misses.sum();
+        return total == 0 ? 0.0 : (double) h / total;
+    }
+}
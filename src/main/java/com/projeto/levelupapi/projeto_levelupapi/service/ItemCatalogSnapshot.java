@@ -0,0 +1,169 @@
+package com.projeto.levelupapi.projeto_levelupapi.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projeto.levelupapi.projeto_levelupapi.dto.CursorPage;
+import com.projeto.levelupapi.projeto_levelupapi.exception.BadRequestException;
+import com.projeto.levelupapi.projeto_levelupapi.model.Item;
+import com.projeto.levelupapi.projeto_levelupapi.repository.ItemRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.GZIPOutputStream;
+
+// Catálogo de itens pronto para servir: lista imutável ordenada por id, o JSON de GET /items já
+// codificado (também em gzip) e um ETag forte tirado do hash do conteúdo, igual em todas as instâncias.
+// O snapshot é refeito quando a versão do ItemCatalogCache muda (criação de item, nível de
+// desbloqueio, kit inicial) e trocado de uma vez: leitores veem o antigo ou o novo, nunca um parcial.
+// Com o snapshot em dia, uma leitura não consulta o banco nem serializa nada.
+@Component
+public class ItemCatalogSnapshot {
+    private static final Logger logger = LoggerFactory.getLogger(ItemCatalogSnapshot.class);
+
+    private static final Map<String, Comparator<Item>> SORTABLE = Map.of(
+            "id", Comparator.comparing(Item::getId),
+            "name", Comparator.comparing(Item::getName),
+            "description", Comparator.comparing(Item::getDescription, Comparator.nullsFirst(Comparator.naturalOrder())),
+            "unlockLevel", Comparator.comparing(Item::getUnlockLevel, Comparator.nullsFirst(Comparator.naturalOrder())));
+
+    public record Snapshot(long version, List<Item> items, byte[] json, byte[] gzipJson, String etag) {
+
+        // ETag da representação gzip: corpo diferente, então tag forte diferente
+        public String gzipEtag() {
+            return etag.substring(0, etag.length() - 1) + "-gzip\"";
+        }
+
+        public Page<Item> page(Pageable pageable) {
+            if (pageable.isUnpaged()) {
+                return new PageImpl<>(items, pageable, items.size());
+            }
+            List<Item> ordered = items;
+            if (pageable.getSort().isSorted()) {
+                ordered = new ArrayList<>(items);
+                ordered.sort(comparator(pageable.getSort()));
+            }
+            int from = (int) Math.min(pageable.getOffset(), ordered.size());
+            int to = Math.min(from + pageable.getPageSize(), ordered.size());
+            return new PageImpl<>(ordered.subList(from, to), pageable, ordered.size());
+        }
+
+        // Mesmo contrato do keyset por id: itens com id maior que o cursor, até size
+        public CursorPage<Item> after(long afterId, int size) {
+            int low = 0;
+            int high = items.size();
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (items.get(mid).getId() <= afterId) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return CursorPage.of(items.subList(low, Math.min(low + size + 1, items.size())), size, Item::getId);
+        }
+
+        private static Comparator<Item> comparator(Sort sort) {
+            Comparator<Item> comparator = null;
+            for (Sort.Order order : sort) {
+                Comparator<Item> property = SORTABLE.get(order.getProperty());
+                if (property == null) {
+                    throw new BadRequestException("Campo de ordenação inválido: " + order.getProperty());
+                }
+                property = order.isAscending() ? property : property.reversed();
+                comparator = comparator == null ? property : comparator.thenComparing(property);
+            }
+            return comparator.thenComparing(SORTABLE.get("id"));
+        }
+    }
+
+    private final ItemRepository itemRepository;
+    private final ItemCatalogCache itemCatalogCache;
+    private final ObjectMapper objectMapper;
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private final LongAdder rebuilds = new LongAdder();
+    private volatile Snapshot current;
+
+    public ItemCatalogSnapshot(ItemRepository itemRepository, ItemCatalogCache itemCatalogCache, ObjectMapper objectMapper) {
+        this.itemRepository = itemRepository;
+        this.itemCatalogCache = itemCatalogCache;
+        this.objectMapper = objectMapper;
+    }
+
+    public Snapshot current() {
+        Snapshot snapshot = current;
+        if (snapshot != null && snapshot.version() == itemCatalogCache.version()) {
+            return snapshot;
+        }
+        return refresh();
+    }
+
+    // Refaz o snapshot se o catálogo mudou desde o último. Um rebuild por vez: a versão é lida antes
+    // da consulta, então uma escrita que chegue durante a montagem faz a próxima leitura refazer de novo.
+    public Snapshot refresh() {
+        rebuildLock.lock();
+        try {
+            long version = itemCatalogCache.version();
+            Snapshot snapshot = current;
+            if (snapshot != null && snapshot.version() == version) {
+                return snapshot;
+            }
+            List<Item> items = List.copyOf(itemRepository.findAll(Sort.by("id")));
+            byte[] json = objectMapper.writeValueAsBytes(items);
+            snapshot = new Snapshot(version, items, json, gzip(json), etag(json));
+            current = snapshot;
+            rebuilds.increment();
+            logger.info("Item catalog snapshot rebuilt: {} items, {} bytes (gzip {}), ETag {}",
+                    items.size(), json.length, snapshot.gzipJson().length, snapshot.etag());
+            return snapshot;
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize item catalog", e);
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    public long getRebuilds() {
+        return rebuilds.sum();
+    }
+
+    public int sizeInBytes() {
+        Snapshot snapshot = current;
+        return snapshot == null ? 0 : snapshot.json().length;
+    }
+
+    private static String etag(byte[] json) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(json);
+            return "\"" + HexFormat.of().formatHex(hash, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(data.length / 4 + 64);
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -1,67 +1,98 @@
 package com.projeto.levelupapi.projeto_levelupapi.service;
 
+import com.projeto.levelupapi.projeto_levelupapi.dto.CursorPage;
 import com.projeto.levelupapi.projeto_levelupapi.exception.ResourceAlreadyExistsException;
 import com.projeto.levelupapi.projeto_levelupapi.exception.ResourceNotFoundException;
 import com.projeto.levelupapi.projeto_levelupapi.exception.BadRequestException;
 import com.projeto.levelupapi.projeto_levelupapi.model.Item;
+import com.projeto.levelupapi.projeto_levelupapi.infra.CursorCodec;
 import com.projeto.levelupapi.projeto_levelupapi.repository.ItemRepository;
 import org.springframework.stereotype.Service;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.List;
 import java.util.Optional;
-import java.util.Arrays;
 
 @Service
 public class ItemService {
     private static final Logger logger = LoggerFactory.getLogger(ItemService.class);
     private final ItemRepository itemRepository;
+    private final LevelUnlockCatalog levelUnlockCatalog;
+    private final ItemCatalogCache itemCatalogCache;
+    private final ItemCatalogSnapshot catalogSnapshot;
 
-    public ItemService(ItemRepository itemRepository) {
+    public ItemService(ItemRepository itemRepository, LevelUnlockCatalog levelUnlockCatalog, ItemCatalogCache itemCatalogCache,
+                       ItemCatalogSnapshot catalogSnapshot) {
         this.itemRepository = itemRepository;
+        this.levelUnlockCatalog = levelUnlockCatalog;
+        this.itemCatalogCache = itemCatalogCache;
+        this.catalogSnapshot = catalogSnapshot;
     }
 
     public Item createItem(String name, String description) {
+        return createItem(name, description, null);
+    }
+
+    public Item createItem(String name, String description, Integer unlockLevel) {
         logger.info("Creating item: {}", name);
-        if (itemRepository.findByName(name).isPresent()) {
+        if (itemCatalogCache.findByName(name).isPresent()) {
             logger.warn("Item already exists: {}", name);
             throw new ResourceAlreadyExistsException("O item com nome '" + name + "' já existe");
         }
         Item item = new Item();
         item.setName(name);
         item.setDescription(description);
+        item.setUnlockLevel(validarNivelDesbloqueio(unlockLevel));
         Item saved = itemRepository.save(item);
         logger.info("Item created successfully: {} (ID: {})", saved.getName(), saved.getId());
+        itemCatalogCache.put(saved);
+        catalogSnapshot.refresh();
+        if (unlockLevel != null) {
+            levelUnlockCatalog.refresh();
+        }
         return saved;
     }
 
-    public List<Item> listAll() {
-        logger.info("Listing all items");
-        return itemRepository.findAll();
+    // Define (ou remove, com null) o nível em que o item vira recompensa de level up
+    public Item updateUnlockLevel(Long itemId, Integer unlockLevel) {
+        Item item = itemRepository.findById(itemId)
+                .orElseThrow(() -> new ResourceNotFoundException("Item com ID " + itemId + " não encontrado"));
+        item.setUnlockLevel(validarNivelDesbloqueio(unlockLevel));
+        Item saved = itemRepository.save(item);
+        logger.info("Unlock level of item {} set to {}", saved.getName(), unlockLevel);
+        itemCatalogCache.put(saved);
+        catalogSnapshot.refresh();
+        levelUnlockCatalog.refresh();
+        return saved;
     }
 
-    public Page<Item> listAll(Pageable pageable) {
-        logger.info("Listing items with pagination: page={}, size={}", pageable.getPageNumber(), pageable.getPageSize());
-        return itemRepository.findAll(pageable);
+    // Catálogo completo já serializado (GET /items), sem consulta ao banco enquanto não houver escrita
+    public ItemCatalogSnapshot.Snapshot catalog() {
+        return catalogSnapshot.current();
+    }
+
+    // Página por cursor ordenada por id, recortada do snapshot
+    public CursorPage<Item> listAfter(ItemCatalogSnapshot.Snapshot catalog, String cursor, int size) {
+        return catalog.after(CursorCodec.decode(cursor), CursorPage.clampSize(size));
     }
 
     public Optional<Item> findByName(String name) {
-        return itemRepository.findByName(name);
+        return itemCatalogCache.findByName(name);
     }
 
     public List<String> getAvailableItemsForLevel(int level) {
-        // Exemplo de desbloqueio por nível
-        if (level == 2) {
-            return Arrays.asList("Espada de Ferro", "Elmo de Couro");
-        } else if (level == 3) {
-            return Arrays.asList("Machado de Ferro", "Poção de Mana", "Armadura Reforçada");
-        } else if (level == 4) {
-            return Arrays.asList("Arco Longo", "Botas de Velocidade");
+        return levelUnlockCatalog.itemsForLevel(level);
+    }
+
+    public boolean isAvailableForLevel(String itemName, int level) {
+        return levelUnlockCatalog.isUnlocked(itemName, level);
+    }
+
+    private Integer validarNivelDesbloqueio(Integer unlockLevel) {
+        if (unlockLevel != null && (unlockLevel < 1 || unlockLevel > levelUnlockCatalog.maxLevel())) {
+            throw new BadRequestException("Nível de desbloqueio deve estar entre 1 e " + levelUnlockCatalog.maxLevel());
         }
-        // ...adicionar mais conforme necessidade...
-        return Arrays.asList();
+        return unlockLevel;
     }
 }
\ No newline at end of file
@@ -0,0 +1,305 @@
+package com.projeto.levelupapi.projeto_levelupapi.service;
+
+import com.projeto.levelupapi.projeto_levelupapi.dto.LeaderboardEntryDto;
+import com.projeto.levelupapi.projeto_levelupapi.exception.ResourceNotFoundException;
+import com.projeto.levelupapi.projeto_levelupapi.model.LevelCurve;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Ranking em memória dos jogadores por (nível, XP), mantido a partir dos ganhos de XP.
+//  - ConcurrentSkipListSet ordenado por XP total (desc) e id (asc): top-K e vizinhos de um jogador
+//  - FenwickCounter com a contagem de jogadores por faixa de XP total, mais uma OrderStatisticTree por
+//    bucket: posição de um jogador em O(log n), somando os buckets acima dele (Fenwick) e os que vêm antes
+//    dentro do próprio bucket (árvore). Jogadores novos e os do nível máximo caem todos no mesmo bucket,
+//    então percorrer o bucket deixaria a consulta linear justamente para os maiores grupos.
+// Leituras (top-K, vizinhos e posição) nunca bloqueiam nem esperam escritas. Escritas do mesmo jogador
+// são serializadas pelo compute do mapa; as de jogadores diferentes só disputam o lock de escrita da
+// árvore quando caem no mesmo bucket.
+@Service
+public class LeaderboardService {
+    private static final Logger logger = LoggerFactory.getLogger(LeaderboardService.class);
+    public static final int MAX_LIMIT = 100;
+
+    private static final Comparator<Entry> RANKING = Comparator
+            .comparingLong(Entry::score).reversed()
+            .thenComparingLong(Entry::userId);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final LevelCurve levelCurve;
+    private final XpWriteBehindBuffer writeBehindBuffer;
+    private final BucketLayout layout;
+
+    private volatile Board board;
+    // Atualizações recebidas enquanto um rebuild lê o banco; reaplicadas no quadro novo
+    private volatile Queue<Entry> pendingDuringRebuild;
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    public LeaderboardService(JdbcTemplate jdbcTemplate, LevelCurve levelCurve, XpWriteBehindBuffer writeBehindBuffer,
+                              @Value("${leaderboard.buckets:65536}") int buckets) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.levelCurve = levelCurve;
+        this.writeBehindBuffer = writeBehindBuffer;
+        this.layout = new BucketLayout(levelCurve, buckets);
+        this.board = new Board(layout.size());
+    }
+
+    @PostConstruct
+    public void rebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            if (writeBehindBuffer.isEnabled()) {
+                writeBehindBuffer.flush();
+            }
+            Queue<Entry> pending = new ConcurrentLinkedQueue<>();
+            pendingDuringRebuild = pending;
+
+            List<Entry> entries = new ArrayList<>();
+            jdbcTemplate.query("SELECT x.user_id, u.username, x.level, x.xp_points FROM xp x JOIN users u ON u.id = x.user_id",
+                    rs -> {
+                        entries.add(entry(rs.getLong(1), rs.getString(2), rs.getInt(3), rs.getInt(4)));
+                    });
+            Board novo = Board.bulk(entries, layout);
+            board = novo;
+            pendingDuringRebuild = null;
+            for (Entry entry; (entry = pending.poll()) != null; ) {
+                novo.put(entry);
+            }
+            logger.info("Leaderboard rebuilt: {} players", novo.byUser.size());
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+
+    // Registra o estado atual (absoluto) de XP do jogador
+    public void update(Long userId, String username, int level, int xpPoints) {
+        Entry entry = entry(userId, username, level, xpPoints);
+        Board atual = board;
+        atual.put(entry);
+        Queue<Entry> pending = pendingDuringRebuild;
+        if (pending != null) {
+            pending.add(entry);
+        }
+        // Um rebuild trocou o quadro no meio: a entrada pode ter ido só para o descartado (e a fila
+        // já ter sido esvaziada). Reaplicar é seguro, put ignora estados mais antigos que o atual.
+        Board novo = board;
+        if (novo != atual) {
+            novo.put(entry);
+        }
+    }
+
+    public void update(Long userId, int level, int xpPoints) {
+        update(userId, null, level, xpPoints);
+    }
+
+    public void rename(Long userId, String username) {
+        board.byUser.computeIfPresent(userId, (id, atual) -> atual.withUsername(username));
+    }
+
+    public void remove(Long userId) {
+        board.remove(userId);
+    }
+
+    public List<LeaderboardEntryDto> top(int limit) {
+        int k = clampLimit(limit);
+        List<LeaderboardEntryDto> result = new ArrayList<>(k);
+        Iterator<Entry> it = board.ranking.iterator();
+        while (result.size() < k && it.hasNext()) {
+            result.add(toDto(result.size() + 1, it.next()));
+        }
+        return result;
+    }
+
+    public LeaderboardEntryDto rankOf(Long userId) {
+        Board atual = board;
+        Entry entry = atual.require(userId);
+        return toDto(atual.rank(entry), entry);
+    }
+
+    // Jogadores imediatamente acima e abaixo do informado (range para cada lado)
+    public List<LeaderboardEntryDto> around(Long userId, int range) {
+        int k = Math.max(0, Math.min(range, MAX_LIMIT / 2));
+        Board atual = board;
+        Entry entry = atual.require(userId);
+        long rank = atual.rank(entry);
+
+        List<Entry> acima = new ArrayList<>(k);
+        Iterator<Entry> up = atual.ranking.headSet(entry, false).descendingIterator();
+        while (acima.size() < k && up.hasNext()) {
+            acima.add(up.next());
+        }
+        List<LeaderboardEntryDto> result = new ArrayList<>(2 * k + 1);
+        for (int i = acima.size() - 1; i >= 0; i--) {
+            result.add(toDto(rank - i - 1, acima.get(i)));
+        }
+        result.add(toDto(rank, entry));
+        Iterator<Entry> down = atual.ranking.tailSet(entry, false).iterator();
+        for (int i = 1; i <= k && down.hasNext(); i++) {
+            result.add(toDto(rank + i, down.next()));
+        }
+        return result;
+    }
+
+    public int size() {
+        return board.byUser.size();
+    }
+
+    private Entry entry(Long userId, String username, int level, int xpPoints) {
+        // XP total = XP acumulada até o nível + XP dentro do nível (satura em vez de estourar)
+        long base = levelCurve.cumulativeXp(level);
+        long score = base + Math.max(0, xpPoints);
+        if (score < base) {
+            score = Long.MAX_VALUE;
+        }
+        return new Entry(score, userId, username, level, xpPoints, layout.bucketOf(level, xpPoints));
+    }
+
+    private static int clampLimit(int limit) {
+        return Math.max(1, Math.min(limit, MAX_LIMIT));
+    }
+
+    private static LeaderboardEntryDto toDto(long rank, Entry entry) {
+        return new LeaderboardEntryDto(rank, entry.userId(), entry.username(), entry.level(), entry.xpPoints());
+    }
+
+    private record Entry(long score, long userId, String username, int level, int xpPoints, int bucket) {
+        Entry withUsername(String novo) {
+            return new Entry(score, userId, novo, level, xpPoints, bucket);
+        }
+    }
+
+    // Distribui os buckets do Fenwick entre os níveis: cada nível recebe até buckets/maxLevel faixas
+    // de XP (ou uma por ponto de XP quando o nível exige menos que isso)
+    private static final class BucketLayout {
+        private final int[] offset;
+        private final int[] slots;
+        private final long[] required;
+        private final int size;
+
+        BucketLayout(LevelCurve curve, int buckets) {
+            int maxLevel = curve.maxLevel();
+            int perLevel = Math.max(1, buckets / maxLevel);
+            offset = new int[maxLevel + 2];
+            slots = new int[maxLevel + 1];
+            required = new long[maxLevel + 1];
+            for (int level = 1; level <= maxLevel; level++) {
+                required[level] = level == maxLevel ? 1 : curve.xpRequiredForLevelUp(level);
+                slots[level] = (int) Math.max(1, Math.min(perLevel, required[level]));
+                offset[level + 1] = offset[level] + slots[level];
+            }
+            size = offset[maxLevel + 1];
+        }
+
+        int size() {
+            return size;
+        }
+
+        int bucketOf(int level, int xpPoints) {
+            int l = Math.max(1, Math.min(level, slots.length - 1));
+            long xp = Math.max(0, xpPoints);
+            int slot = (int) Math.min(slots[l] - 1, xp * slots[l] / required[l]);
+            return offset[l] + slot;
+        }
+    }
+
+    private static final class Board {
+        private final ConcurrentHashMap<Long, Entry> byUser = new ConcurrentHashMap<>();
+        private final ConcurrentSkipListSet<Entry> ranking = new ConcurrentSkipListSet<>(RANKING);
+        private final FenwickCounter counter;
+        // Criadas na primeira vez que um jogador entra no bucket
+        private final AtomicReferenceArray<OrderStatisticTree<Entry>> bucketTrees;
+
+        private Board(int buckets) {
+            this(new FenwickCounter(buckets));
+        }
+
+        private Board(FenwickCounter counter) {
+            this.counter = counter;
+            this.bucketTrees = new AtomicReferenceArray<>(counter.size());
+        }
+
+        static Board bulk(List<Entry> entries, BucketLayout layout) {
+            long[] counts = new long[layout.size()];
+            for (Entry entry : entries) {
+                counts[entry.bucket()]++;
+            }
+            Board board = new Board(FenwickCounter.of(counts));
+            for (Entry entry : entries) {
+                board.byUser.put(entry.userId(), entry);
+            }
+            board.ranking.addAll(entries);
+            for (Entry entry : entries) {
+                board.tree(entry.bucket()).add(entry);
+            }
+            return board;
+        }
+
+        // XP só cresce e as atualizações chegam depois do commit, sem ordem entre si: um estado com
+        // XP total menor que o atual é de uma concessão mais antiga e fica de fora
+        void put(Entry novo) {
+            byUser.compute(novo.userId(), (id, atual) -> {
+                if (atual != null && novo.score() < atual.score()) {
+                    return atual;
+                }
+                Entry entry = novo.username() == null && atual != null ? novo.withUsername(atual.username()) : novo;
+                if (atual != null) {
+                    ranking.remove(atual);
+                    tree(atual.bucket()).remove(atual);
+                    counter.add(atual.bucket(), -1);
+                }
+                ranking.add(entry);
+                tree(entry.bucket()).add(entry);
+                counter.add(entry.bucket(), 1);
+                return entry;
+            });
+        }
+
+        void remove(Long userId) {
+            byUser.computeIfPresent(userId, (id, atual) -> {
+                ranking.remove(atual);
+                tree(atual.bucket()).remove(atual);
+                counter.add(atual.bucket(), -1);
+                return null;
+            });
+        }
+
+        Entry require(Long userId) {
+            Entry entry = byUser.get(userId);
+            if (entry == null) {
+                throw new ResourceNotFoundException("Jogador " + userId + " não está no ranking");
+            }
+            return entry;
+        }
+
+        // 1 + jogadores à frente: buckets acima (Fenwick) + os do mesmo bucket que vêm antes na ordenação
+        long rank(Entry entry) {
+            long acima = counter.prefixSum(counter.size() - 1) - counter.prefixSum(entry.bucket());
+            return acima + tree(entry.bucket()).countBefore(entry) + 1;
+        }
+
+        private OrderStatisticTree<Entry> tree(int bucket) {
+            OrderStatisticTree<Entry> tree = bucketTrees.get(bucket);
+            if (tree == null) {
+                bucketTrees.compareAndSet(bucket, null, new OrderStatisticTree<>(RANKING));
+                tree = bucketTrees.get(bucket);
+            }
+            return tree;
+        }
+    }
+}
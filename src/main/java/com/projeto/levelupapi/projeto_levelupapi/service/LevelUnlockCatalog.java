@@ -0,0 +1,131 @@
+package com.projeto.levelupapi.projeto_levelupapi.service;
+
+import com.projeto.levelupapi.projeto_levelupapi.model.Item;
+import com.projeto.levelupapi.projeto_levelupapi.model.LevelCurve;
+import com.projeto.levelupapi.projeto_levelupapi.repository.ItemRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Índice em memória de "item -> nível de desbloqueio", montado a partir da coluna Item.unlockLevel.
+// O índice é imutável e trocado de uma vez a cada refresh, então leituras nunca veem um estado parcial.
+@Component
+public class LevelUnlockCatalog {
+    private static final Logger logger = LoggerFactory.getLogger(LevelUnlockCatalog.class);
+
+    // Recompensas originais do jogo, gravadas na primeira subida se o catálogo estiver vazio
+    private static final Object[][] DEFAULT_UNLOCKS = {
+            {"Espada de Ferro", "Espada resistente forjada em ferro", 2},
+            {"Elmo de Couro", "Proteção leve para a cabeça", 2},
+            {"Machado de Ferro", "Machado pesado de ferro", 3},
+            {"Poção de Mana", "Recupera mana", 3},
+            {"Armadura Reforçada", "Armadura com placas de reforço", 3},
+            {"Arco Longo", "Arco de longo alcance", 4},
+            {"Botas de Velocidade", "Aumentam a velocidade de movimento", 4}
+    };
+
+    private final ItemRepository itemRepository;
+    private final int maxLevel;
+    private volatile Index index;
+
+    public LevelUnlockCatalog(ItemRepository itemRepository, LevelCurve levelCurve) {
+        this.itemRepository = itemRepository;
+        this.maxLevel = levelCurve.maxLevel();
+        this.index = new Index(List.of(), maxLevel);
+    }
+
+    @PostConstruct
+    void init() {
+        seedDefaultsIfEmpty();
+        refresh();
+    }
+
+    // Itens desbloqueados exatamente no nível informado (lista compartilhada e imutável)
+    public List<String> itemsForLevel(int level) {
+        return index.itemsForLevel(level);
+    }
+
+    public boolean isUnlocked(String itemName, int level) {
+        return index.unlockLevelOf(itemName) == level;
+    }
+
+    public int maxLevel() {
+        return maxLevel;
+    }
+
+    // Recarrega o catálogo do banco e publica o novo índice atomicamente
+    public void refresh() {
+        Index novo = new Index(itemRepository.findByUnlockLevelIsNotNull(), maxLevel);
+        this.index = novo;
+        logger.info("Level unlock catalog loaded: {} reward items", novo.size());
+    }
+
+    private void seedDefaultsIfEmpty() {
+        if (itemRepository.existsByUnlockLevelIsNotNull()) {
+            return;
+        }
+        List<Item> items = new ArrayList<>();
+        for (Object[] unlock : DEFAULT_UNLOCKS) {
+            String name = (String) unlock[0];
+            Item item = itemRepository.findByName(name).orElseGet(() -> {
+                Item novo = new Item();
+                novo.setName(name);
+                novo.setDescription((String) unlock[1]);
+                return novo;
+            });
+            item.setUnlockLevel((Integer) unlock[2]);
+            items.add(item);
+        }
+        itemRepository.saveAll(items);
+        logger.info("Seeded default level unlock catalog ({} items)", items.size());
+    }
+
+    private static final class Index {
+        private static final List<String> NONE = Collections.emptyList();
+
+        private final List<String>[] byLevel;
+        private final Map<String, Integer> levelByName;
+
+        @SuppressWarnings("unchecked")
+        Index(List<Item> items, int maxLevel) {
+            List<String>[] buckets = new List[maxLevel + 1];
+            Map<String, Integer> levels = new HashMap<>();
+            for (Item item : items) {
+                int level = item.getUnlockLevel();
+                if (level < 1 || level > maxLevel) {
+                    continue;
+                }
+                if (buckets[level] == null) {
+                    buckets[level] = new ArrayList<>();
+                }
+                buckets[level].add(item.getName());
+                levels.put(item.getName(), level);
+            }
+            for (int level = 0; level <= maxLevel; level++) {
+                buckets[level] = buckets[level] == null ? NONE : List.copyOf(buckets[level]);
+            }
+            this.byLevel = buckets;
+            this.levelByName = Map.copyOf(levels);
+        }
+
+        List<String> itemsForLevel(int level) {
+            return level < 0 || level >= byLevel.length ? NONE : byLevel[level];
+        }
+
+        int unlockLevelOf(String itemName) {
+            Integer level = levelByName.get(itemName);
+            return level == null ? -1 : level;
+        }
+
+        int size() {
+            return levelByName.size();
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.projeto.levelupapi.projeto_levelupapi.service;
+
+import java.util.Comparator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Conjunto ordenado com contagem de elementos por subárvore (treap): inserção, remoção e posição de um
+// elemento em O(log n) esperado. Os nós são imutáveis: cada escrita copia só o caminho alterado e
+// publica a nova raiz, então leituras percorrem a versão que pegaram sem lock e nunca atrasam uma
+// escrita. Escritas entre si são serializadas por um lock; o LeaderboardService usa uma árvore por
+// bucket, então só disputam esse lock escritas do mesmo bucket.
+final class OrderStatisticTree<E> {
+    private final Comparator<? super E> comparator;
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private volatile Node<E> root;
+
+    OrderStatisticTree(Comparator<? super E> comparator) {
+        this.comparator = comparator;
+    }
+
+    void add(E element) {
+        writeLock.lock();
+        try {
+            Node<E>[] parts = split(root, element);
+            Node<E>[] right = splitAfter(parts[1], element);
+            Node<E> node = new Node<>(element, ThreadLocalRandom.current().nextInt(), null, null);
+            root = merge(merge(parts[0], node), right[1]);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    void remove(E element) {
+        writeLock.lock();
+        try {
+            Node<E>[] parts = split(root, element);
+            Node<E>[] right = splitAfter(parts[1], element);
+            root = merge(parts[0], right[1]);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // Quantos elementos vêm antes de element na ordem do comparator (element não precisa estar no conjunto)
+    long countBefore(E element) {
+        long count = 0;
+        Node<E> node = root;
+        while (node != null) {
+            if (comparator.compare(node.element, element) < 0) {
+                count += size(node.left) + 1;
+                node = node.right;
+            } else {
+                node = node.left;
+            }
+        }
+        return count;
+    }
+
+    long size() {
+        return size(root);
+    }
+
+    // [elementos < element, elementos >= element]
+    private Node<E>[] split(Node<E> node, E element) {
+        if (node == null) {
+            return pair(null, null);
+        }
+        if (comparator.compare(node.element, element) < 0) {
+            Node<E>[] parts = split(node.right, element);
+            return pair(node.with(node.left, parts[0]), parts[1]);
+        }
+        Node<E>[] parts = split(node.left, element);
+        return pair(parts[0], node.with(parts[1], node.right));
+    }
+
+    // [elementos <= element, elementos > element]
+    private Node<E>[] splitAfter(Node<E> node, E element) {
+        if (node == null) {
+            return pair(null, null);
+        }
+        if (comparator.compare(node.element, element) <= 0) {
+            Node<E>[] parts = splitAfter(node.right, element);
+            return pair(node.with(node.left, parts[0]), parts[1]);
+        }
+        Node<E>[] parts = splitAfter(node.left, element);
+        return pair(parts[0], node.with(parts[1], node.right));
+    }
+
+    // Todos os elementos de left vêm antes dos de right
+    private Node<E> merge(Node<E> left, Node<E> right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            return left.with(left.left, merge(left.right, right));
+        }
+        return right.with(merge(left, right.left), right.right);
+    }
+
+    private static long size(Node<?> node) {
+        return node == null ? 0 : node.size;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <E> Node<E>[] pair(Node<E> left, Node<E> right) {
+        return new Node[]{left, right};
+    }
+
+    private static final class Node<E> {
+        private final E element;
+        private final int priority;
+        private final Node<E> left;
+        private final Node<E> right;
+        private final long size;
+
+        private Node(E element, int priority, Node<E> left, Node<E> right) {
+            this.element = element;
+            this.priority = priority;
+            this.left = left;
+            this.right = right;
+            this.size = 1 + OrderStatisticTree.size(left) + OrderStatisticTree.size(right);
+        }
+
+        // Cópia com outros filhos; o nó original continua válido para quem ainda lê a versão anterior
+        private Node<E> with(Node<E> left, Node<E> right) {
+            return new Node<>(element, priority, left, right);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.projeto.levelupapi.projeto_levelupapi.service;
+
+// Evento de um jogador entregue pelo PlayerEventBus. type.eventName vira o campo "event:" do SSE e
+// data o JSON do "data:". sequence só cresce para o mesmo jogador e tipo (XP, versão do inventário)
+// e decide qual evento fica quando dois pendentes são mesclados; 0 quando não há ordem conhecida.
+public record PlayerEvent(Long userId, Type type, long sequence, Object data) {
+
+    public enum Type {
+        XP("xp", true),
+        LEVEL_UP("level-up", false),
+        INVENTORY("inventory", true),
+        SAFE_ZONE("safe-zone", true);
+
+        private final String eventName;
+        // Estado absoluto: um evento pendente do mesmo tipo pode ser trocado pelo mais novo
+        private final boolean mergeable;
+
+        Type(String eventName, boolean mergeable) {
+            this.eventName = eventName;
+            this.mergeable = mergeable;
+        }
+
+        public String eventName() {
+            return eventName;
+        }
+
+        public boolean mergeable() {
+            return mergeable;
+        }
+    }
+
+    public record XpData(int xpPoints, int level) {
+    }
+
+    public record LevelUpData(int previousLevel, int level, String message) {
+    }
+
+    // Só a versão: o cliente busca o que mudou em GET /api/inventory/{userId}/changes?since=
+    public record InventoryData(long version) {
+    }
+
+    public record SafeZoneData(boolean inSafeZone) {
+    }
+
+    public static PlayerEvent xp(Long userId, int xpPoints, int level) {
+        return new PlayerEvent(userId, Type.XP, ((long) level << 32) | xpPoints, new XpData(xpPoints, level));
+    }
+
+    public static PlayerEvent levelUp(Long userId, int previousLevel, int level, String message) {
+        return new PlayerEvent(userId, Type.LEVEL_UP, level, new LevelUpData(previousLevel, level, message));
+    }
+
+    public static PlayerEvent inventory(Long userId, long version) {
+        return new PlayerEvent(userId, Type.INVENTORY, version, new InventoryData(version));
+    }
+
+    public static PlayerEvent safeZone(Long userId, boolean inSafeZone) {
+        return new PlayerEvent(userId, Type.SAFE_ZONE, 0, new SafeZoneData(inSafeZone));
+    }
+
+    // Com os dois pendentes, fica este evento no lugar de older? (empate: o mais novo vence)
+    boolean supersedes(PlayerEvent older) {
+        return sequence >= older.sequence;
+    }
+}
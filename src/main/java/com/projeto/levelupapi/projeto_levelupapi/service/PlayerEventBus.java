@@ -0,0 +1,345 @@
+package com.projeto.levelupapi.projeto_levelupapi.service;
+
+import com.projeto.levelupapi.projeto_levelupapi.exception.ServiceUnavailableException;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Eventos dos jogadores em memória (XP, level up, inventário, Zona de Segurança), entregues pelos
+// streams SSE de GET /api/events. Quem publica nunca espera pelo cliente: o evento entra no buffer de
+// cada stream do jogador e um pool pequeno de dispatchers faz as escritas, um stream por vez em cada
+// thread. Stream ocioso não segura thread nenhuma (requisição assíncrona do Servlet).
+//   - Buffer limitado por stream (events.buffer-size). Eventos de estado (xp, inventory, safe-zone)
+//     são mesclados com o pendente do mesmo tipo; level-up não. Com o buffer cheio o level-up mais
+//     antigo é descartado e o cliente recebe "resync" antes dos próximos eventos para reler o estado.
+//   - Heartbeat (comentário SSE) nos streams sem escrita há events.heartbeat-interval-ms: mantém
+//     proxies com a conexão aberta e revela clientes que sumiram.
+//   - Publicação dentro de uma transação só é entregue depois do commit.
+// Os eventos ficam só nesta instância: com várias instâncias, cada cliente recebe os eventos das
+// escritas atendidas pela instância em que está conectado.
+@Component
+public class PlayerEventBus implements SmartLifecycle {
+    private static final Logger logger = LoggerFactory.getLogger(PlayerEventBus.class);
+    private static final long RECONNECT_MS = 3000;
+
+    private final int bufferSize;
+    private final int maxStreamsPerUser;
+    private final long streamTimeoutMs;
+    private final long heartbeatIntervalNanos;
+    private final ThreadPoolExecutor dispatcher;
+    private final ConcurrentHashMap<Long, List<Subscription>> streams = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriptions = new AtomicInteger();
+    private volatile boolean running;
+
+    private final LongAdder published = new LongAdder();
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder merged = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    public PlayerEventBus(@Value("${events.buffer-size:32}") int bufferSize,
+                          @Value("${events.max-streams-per-user:4}") int maxStreamsPerUser,
+                          @Value("${events.stream-timeout-ms:1800000}") long streamTimeoutMs,
+                          @Value("${events.heartbeat-interval-ms:15000}") long heartbeatIntervalMs,
+                          @Value("${events.dispatcher-threads:0}") int dispatcherThreads) {
+        this.bufferSize = Math.max(1, bufferSize);
+        this.maxStreamsPerUser = Math.max(1, maxStreamsPerUser);
+        this.streamTimeoutMs = streamTimeoutMs;
+        this.heartbeatIntervalNanos = TimeUnit.MILLISECONDS.toNanos(heartbeatIntervalMs);
+        int threads = dispatcherThreads > 0 ? dispatcherThreads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        // Fila sem limite, mas com no máximo uma tarefa por stream (ver Subscription.scheduled)
+        this.dispatcher = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "player-events-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    // Abre um stream para o jogador; passando de events.max-streams-per-user, o mais antigo é encerrado
+    public SseEmitter subscribe(Long userId) {
+        if (!running) {
+            throw new ServiceUnavailableException("Servidor encerrando, reconecte em instantes", (int) (RECONNECT_MS / 1000));
+        }
+        SseEmitter emitter = new SseEmitter(streamTimeoutMs);
+        Subscription subscription = new Subscription(userId, emitter);
+        emitter.onCompletion(() -> unsubscribe(subscription));
+        emitter.onTimeout(() -> {
+            unsubscribe(subscription);
+            emitter.complete();
+        });
+        emitter.onError(error -> unsubscribe(subscription));
+        try {
+            // Primeiro envio: os cabeçalhos saem na hora e o cliente já sabe quanto esperar para reconectar
+            emitter.send(SseEmitter.event().reconnectTime(RECONNECT_MS).comment("connected"));
+        } catch (IOException e) {
+            emitter.completeWithError(e);
+            return emitter;
+        }
+
+        List<Subscription> current = streams.compute(userId, (id, list) -> {
+            List<Subscription> next = list == null ? new ArrayList<>(1) : new ArrayList<>(list);
+            next.add(subscription);
+            return List.copyOf(next);
+        });
+        subscriptions.incrementAndGet();
+        if (current.size() > maxStreamsPerUser) {
+            Subscription oldest = current.get(0);
+            unsubscribe(oldest);
+            oldest.emitter.complete();
+        }
+        logger.debug("Event stream opened for user {} ({} streams)", userId, subscriptions.get());
+        return emitter;
+    }
+
+    private void unsubscribe(Subscription subscription) {
+        if (!subscription.closed.compareAndSet(false, true)) {
+            return;
+        }
+        streams.computeIfPresent(subscription.userId, (id, list) -> {
+            List<Subscription> next = new ArrayList<>(list);
+            next.remove(subscription);
+            return next.isEmpty() ? null : List.copyOf(next);
+        });
+        subscriptions.decrementAndGet();
+    }
+
+    // Nunca bloqueia: sem stream aberto para o jogador o evento é ignorado
+    public void publish(PlayerEvent event) {
+        if (!streams.containsKey(event.userId())) {
+            return;
+        }
+        published.increment();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    deliver(event);
+                }
+            });
+        } else {
+            deliver(event);
+        }
+    }
+
+    private void deliver(PlayerEvent event) {
+        List<Subscription> subscribers = streams.get(event.userId());
+        if (subscribers == null) {
+            return;
+        }
+        for (Subscription subscription : subscribers) {
+            if (subscription.offer(event)) {
+                dispatcher.execute(subscription::drain);
+            }
+        }
+    }
+
+    // Roda a cada meio intervalo: nenhum stream fica mais que um intervalo e meio sem escrita
+    @Scheduled(fixedDelayString = "#{${events.heartbeat-interval-ms:15000} / 2}")
+    public void heartbeat() {
+        long now = System.nanoTime();
+        for (List<Subscription> subscribers : streams.values()) {
+            for (Subscription subscription : subscribers) {
+                if (now - subscription.lastSendNanos >= heartbeatIntervalNanos && subscription.requestHeartbeat()) {
+                    dispatcher.execute(subscription::drain);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    // Fase padrão: roda antes do shutdown gracioso do Tomcat, que senão esperaria os streams abertos
+    // até o timeout. Os clientes reconectam em outra instância.
+    @Override
+    public void stop() {
+        running = false;
+        int open = subscriptions.get();
+        streams.values().forEach(subscribers -> subscribers.forEach(subscription -> {
+            unsubscribe(subscription);
+            subscription.emitter.complete();
+        }));
+        logger.info("Player event streams closed for shutdown ({} streams)", open);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        dispatcher.shutdownNow();
+    }
+
+    public int getSubscriptions() {
+        return subscriptions.get();
+    }
+
+    public long getPublished() {
+        return published.sum();
+    }
+
+    public long getDelivered() {
+        return delivered.sum();
+    }
+
+    public long getMerged() {
+        return merged.sum();
+    }
+
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    private final class Subscription {
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private final ReentrantLock lock = new ReentrantLock();
+        // Protegidos por lock
+        private List<PlayerEvent> pending = new ArrayList<>();
+        private int droppedSinceSend;
+        private boolean heartbeatDue;
+        private boolean scheduled;
+        private volatile long lastSendNanos = System.nanoTime();
+
+        private Subscription(Long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        // true quando cabe a quem chamou agendar o drain (no máximo um agendado por stream)
+        boolean offer(PlayerEvent event) {
+            lock.lock();
+            try {
+                if (closed.get()) {
+                    return false;
+                }
+                if (event.type().mergeable()) {
+                    for (int i = 0; i < pending.size(); i++) {
+                        PlayerEvent older = pending.get(i);
+                        if (older.type() == event.type()) {
+                            if (event.supersedes(older)) {
+                                pending.set(i, event);
+                            }
+                            merged.increment();
+                            return false;
+                        }
+                    }
+                }
+                if (pending.size() >= bufferSize) {
+                    pending.remove(oldestDroppable());
+                    droppedSinceSend++;
+                    dropped.increment();
+                }
+                pending.add(event);
+                return schedule();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        boolean requestHeartbeat() {
+            lock.lock();
+            try {
+                if (closed.get()) {
+                    return false;
+                }
+                heartbeatDue = true;
+                return schedule();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private boolean schedule() {
+            if (scheduled) {
+                return false;
+            }
+            scheduled = true;
+            return true;
+        }
+
+        // Primeiro evento não mesclável; eventos de estado só saem se o buffer não tiver outro
+        private int oldestDroppable() {
+            for (int i = 0; i < pending.size(); i++) {
+                if (!pending.get(i).type().mergeable()) {
+                    return i;
+                }
+            }
+            return 0;
+        }
+
+        // Esvazia o buffer em uma escrita (um flush) por rodada, até não sobrar nada pendente
+        void drain() {
+            while (true) {
+                List<PlayerEvent> batch;
+                int lost;
+                boolean heartbeat;
+                lock.lock();
+                try {
+                    if (closed.get() || (pending.isEmpty() && droppedSinceSend == 0 && !heartbeatDue)) {
+                        scheduled = false;
+                        return;
+                    }
+                    batch = pending;
+                    pending = new ArrayList<>();
+                    lost = droppedSinceSend;
+                    droppedSinceSend = 0;
+                    heartbeat = heartbeatDue;
+                    heartbeatDue = false;
+                } finally {
+                    lock.unlock();
+                }
+                Set<ResponseBodyEmitter.DataWithMediaType> frames = new LinkedHashSet<>();
+                if (lost > 0) {
+                    frames.addAll(SseEmitter.event().name("resync").data(Map.of("dropped", lost), MediaType.APPLICATION_JSON).build());
+                }
+                for (PlayerEvent event : batch) {
+                    frames.addAll(SseEmitter.event().name(event.type().eventName()).data(event.data(), MediaType.APPLICATION_JSON).build());
+                }
+                if (frames.isEmpty() && heartbeat) {
+                    frames.addAll(SseEmitter.event().comment("heartbeat").build());
+                }
+                try {
+                    emitter.send(frames);
+                } catch (IOException | IllegalStateException e) {
+                    // Cliente desconectado ou stream já encerrado (timeout, substituído por um mais novo)
+                    logger.debug("Dropping event stream of user {}: {}", userId, e.getMessage());
+                    unsubscribe(this);
+                    return;
+                }
+                delivered.add(batch.size());
+                lastSendNanos = System.nanoTime();
+            }
+        }
+    }
+}
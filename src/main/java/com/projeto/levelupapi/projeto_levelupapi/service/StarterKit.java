@@ -0,0 +1,76 @@
+package com.projeto.levelupapi.projeto_levelupapi.service;
+
+import com.projeto.levelupapi.projeto_levelupapi.model.Item;
+import com.projeto.levelupapi.projeto_levelupapi.repository.ItemRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Itens iniciais entregues a todo jogador novo. Os nomes são resolvidos para ids uma única vez
+// (criando no catálogo os que ainda não existem) e o mapa itemId -> quantidade fica em memória:
+// itens não são apagados e renomear não muda o id, então o resultado vale pela vida da aplicação.
+@Component
+public class StarterKit {
+    private static final Logger logger = LoggerFactory.getLogger(StarterKit.class);
+
+    record Entry(String name, String description, int quantity) {
+    }
+
+    private static final List<Entry> ENTRIES = List.of(
+            new Entry("Mapa do Jogo", "Ajuda a navegar pelas zonas do jogo", 1),
+            new Entry("Poção de Cura", "Recupera HP", 3),
+            new Entry("Espada de Madeira", "Arma básica para início de combate", 1),
+            new Entry("Escudo de Couro", "Proteção básica para defesa", 1));
+
+    private final ItemCatalogCache itemCatalogCache;
+    private final ItemRepository itemRepository;
+    private final ReentrantLock resolveLock = new ReentrantLock();
+    private volatile Map<Long, Integer> quantityByItemId;
+
+    public StarterKit(ItemCatalogCache itemCatalogCache, ItemRepository itemRepository) {
+        this.itemCatalogCache = itemCatalogCache;
+        this.itemRepository = itemRepository;
+    }
+
+    // itemId -> quantidade, na ordem da definição do kit
+    public Map<Long, Integer> quantities() {
+        Map<Long, Integer> resolved = quantityByItemId;
+        if (resolved != null) {
+            return resolved;
+        }
+        resolveLock.lock();
+        try {
+            if (quantityByItemId == null) {
+                quantityByItemId = resolve();
+            }
+            return quantityByItemId;
+        } finally {
+            resolveLock.unlock();
+        }
+    }
+
+    private Map<Long, Integer> resolve() {
+        Map<String, Item> existentes = itemCatalogCache.findAllByName(ENTRIES.stream().map(Entry::name).toList());
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        for (Entry entry : ENTRIES) {
+            Item item = existentes.get(entry.name());
+            if (item == null) {
+                Item novo = new Item();
+                novo.setName(entry.name());
+                novo.setDescription(entry.description());
+                item = itemRepository.save(novo);
+                itemCatalogCache.put(item);
+                logger.info("Starter kit item created: {} (ID: {})", item.getName(), item.getId());
+            }
+            quantities.merge(item.getId(), entry.quantity(), Integer::sum);
+        }
+        logger.info("Starter kit resolved: {} items", quantities.size());
+        return Collections.unmodifiableMap(quantities);
+    }
+}
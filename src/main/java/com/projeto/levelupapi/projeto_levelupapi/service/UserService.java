@@ -1,22 +1,30 @@
 package com.projeto.levelupapi.projeto_levelupapi.service;
 
+import com.projeto.levelupapi.projeto_levelupapi.dto.CursorPage;
+import com.projeto.levelupapi.projeto_levelupapi.dto.UserResponseDto;
 import com.projeto.levelupapi.projeto_levelupapi.exception.ResourceNotFoundException;
 import com.projeto.levelupapi.projeto_levelupapi.model.User;
 import com.projeto.levelupapi.projeto_levelupapi.model.Xp;
-import com.projeto.levelupapi.projeto_levelupapi.model.InventoryItem;
-import com.projeto.levelupapi.projeto_levelupapi.model.Item;
+import com.projeto.levelupapi.projeto_levelupapi.infra.CursorCodec;
+import com.projeto.levelupapi.projeto_levelupapi.infra.metrics.MetricsRegistry;
+import com.projeto.levelupapi.projeto_levelupapi.infra.metrics.Timer;
 import com.projeto.levelupapi.projeto_levelupapi.repository.UserRepository;
 import com.projeto.levelupapi.projeto_levelupapi.repository.XpRepository;
-import com.projeto.levelupapi.projeto_levelupapi.repository.ItemRepository;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 public class UserService {
@@ -24,15 +32,25 @@ public class UserService {
     private final XpRepository xpRepository;
     private final PasswordEncoder passwordEncoder;
     private final InventoryService inventoryService;
-    private final ItemRepository itemRepository;
+    private final XpWriteBehindBuffer xpWriteBehindBuffer;
+    private final StarterKit starterKit;
+    private final TransactionTemplate transactionTemplate;
+    private final LeaderboardService leaderboardService;
+    private final SafeZonePresence safeZonePresence;
+    private final Timer createTimer;
     private static final Logger logger = LoggerFactory.getLogger(UserService.class);
 
-    public UserService(UserRepository userRepository, XpRepository xpRepository, PasswordEncoder passwordEncoder, InventoryService inventoryService, ItemRepository itemRepository) {
+    public UserService(UserRepository userRepository, XpRepository xpRepository, PasswordEncoder passwordEncoder, InventoryService inventoryService, XpWriteBehindBuffer xpWriteBehindBuffer, StarterKit starterKit, TransactionTemplate transactionTemplate, LeaderboardService leaderboardService, SafeZonePresence safeZonePresence, MetricsRegistry metrics) {
         this.userRepository = userRepository;
         this.xpRepository = xpRepository;
         this.passwordEncoder = passwordEncoder;
         this.inventoryService = inventoryService;
-        this.itemRepository = itemRepository;
+        this.xpWriteBehindBuffer = xpWriteBehindBuffer;
+        this.starterKit = starterKit;
+        this.transactionTemplate = transactionTemplate;
+        this.leaderboardService = leaderboardService;
+        this.safeZonePresence = safeZonePresence;
+        this.createTimer = metrics.timer("levelup.users.create", "Tempo de cadastro de jogador (hash, XP inicial e itens)");
     }
 
     public List<User> listAll() {
@@ -44,51 +62,111 @@ public class UserService {
         return userRepository.findAll(pageable);
     }
 
+    public List<UserResponseDto> listAllResponses() {
+        return comXpPendente(userRepository.findAllResponses());
+    }
+
+    public Page<UserResponseDto> listAllResponses(Pageable pageable) {
+        logger.info("Listing users with pagination: page={}, size={}", pageable.getPageNumber(), pageable.getPageSize());
+        Page<UserResponseDto> page = userRepository.findAllResponses(pageable);
+        comXpPendente(page.getContent());
+        return page;
+    }
+
+    // Próxima fatia de jogadores com id maior que afterId (keyset pagination)
+    public List<UserResponseDto> listResponsesAfter(Long afterId, int size) {
+        return comXpPendente(userRepository.findResponsesAfter(afterId == null ? 0L : afterId, Limit.of(size)));
+    }
+
+    public CursorPage<UserResponseDto> listResponsesAfter(String cursor, int size) {
+        int limit = CursorPage.clampSize(size);
+        return CursorPage.of(listResponsesAfter(CursorCodec.decode(cursor), limit + 1), limit, UserResponseDto::getId);
+    }
+
+    public Optional<UserResponseDto> findResponseById(Long id) {
+        return userRepository.findResponseById(id).map(this::comXpPendente);
+    }
+
+    // Percorre todos os jogadores em streaming, sem manter a lista inteira em memória
+    @Transactional(readOnly = true)
+    public void forEachResponse(Consumer<UserResponseDto> consumer) {
+        try (Stream<UserResponseDto> users = userRepository.streamAllResponses()) {
+            users.map(this::comXpPendente).forEach(consumer);
+        }
+    }
+
+    // Com write-behind ativo o XP mais recente pode ainda não ter sido gravado no banco
+    private List<UserResponseDto> comXpPendente(List<UserResponseDto> users) {
+        if (xpWriteBehindBuffer.size() > 0) {
+            users.forEach(this::comXpPendente);
+        }
+        return users;
+    }
+
+    private UserResponseDto comXpPendente(UserResponseDto user) {
+        Xp pendente = xpWriteBehindBuffer.size() > 0 ? xpWriteBehindBuffer.snapshot(user.getId()) : null;
+        if (pendente != null) {
+            user.setLevel(pendente.getLevel());
+            user.setXp(pendente.getXpPoints());
+        }
+        return user;
+    }
+
     public Optional<User> findById(Long id) {
         return userRepository.findById(id);
     }
 
+    public Optional<User> findByUsername(String username) {
+        return userRepository.findByUsername(username);
+    }
+
+    // Referência sem SELECT, para quem só precisa do id (a existência deve ter sido verificada antes)
+    public User getReference(Long id) {
+        return userRepository.getReferenceById(id);
+    }
+
     public User create(User user) {
+        long inicio = System.nanoTime();
+        try {
+            return criarUsuario(user);
+        } finally {
+            createTimer.recordSince(inicio);
+        }
+    }
+
+    // Jogador, XP inicial e kit inicial em uma única transação (3 statements: 2 INSERTs e um lote).
+    // O hash da senha e a resolução do kit acontecem antes, sem segurar conexão.
+    private User criarUsuario(User user) {
         logger.info("Creating new user: {}", user.getUsername());
         user.setPassword(passwordEncoder.encode(user.getPassword()));
-        User savedUser = userRepository.save(user);
-        
+        Map<Long, Integer> kit = starterKit.quantities();
+
         Xp xpInicial = new Xp();
-        xpInicial.setUser(savedUser);
         xpInicial.setXpPoints(0);
         xpInicial.setLevel(1);
-        xpRepository.save(xpInicial);
-        
-        addInitialItems(savedUser);
-        
+        User savedUser = transactionTemplate.execute(status -> {
+            User salvo = userRepository.save(user);
+            xpInicial.setUser(salvo);
+            xpRepository.save(xpInicial);
+            inventoryService.grantStarterKit(salvo, kit);
+            return salvo;
+        });
+        leaderboardService.update(savedUser.getId(), savedUser.getUsername(), xpInicial.getLevel(), xpInicial.getXpPoints());
+        safeZonePresence.register(savedUser.getId(), savedUser.isInSafeZone());
+
         logger.info("User created successfully: {} (ID: {})", savedUser.getUsername(), savedUser.getId());
         return savedUser;
     }
 
-    private void addInitialItems(User user) {
-        addItemToInventory(user, "Mapa do Jogo", "Ajuda a navegar pelas zonas do jogo", 1);
-        addItemToInventory(user, "Poção de Cura", "Recupera HP", 3);
-        addItemToInventory(user, "Espada de Madeira", "Arma básica para início de combate", 1);
-        addItemToInventory(user, "Escudo de Couro", "Proteção básica para defesa", 1);
-    }
-
-    private void addItemToInventory(User user, String name, String description, int quantity) {
-        Item item = itemRepository.findByName(name).orElseGet(() -> {
-            Item novo = new Item();
-            novo.setName(name);
-            novo.setDescription(description);
-            return itemRepository.save(novo);
-        });
-        inventoryService.addItem(user, name, quantity);
-    }
-
     public User update(Long id, User newUser) {
         return userRepository.findById(id).map(u -> {
             u.setUsername(newUser.getUsername());
             if (!newUser.getPassword().equals(u.getPassword())) {
                 u.setPassword(passwordEncoder.encode(newUser.getPassword()));
             }
-            return userRepository.save(u);
+            User salvo = userRepository.save(u);
+            leaderboardService.rename(salvo.getId(), salvo.getUsername());
+            return salvo;
         }).orElseThrow(() -> new ResourceNotFoundException("User with ID " + id + " not found"));
     }
 
@@ -98,7 +176,17 @@ public class UserService {
             logger.error("User with ID {} not found for deletion", id);
             throw new ResourceNotFoundException("User with ID " + id + " not found");
         }
-        userRepository.deleteById(id);
+        // Inventário, marcas de remoção e XP saem junto: os FKs de inventory e xp impediriam a exclusão
+        // e as marcas (sem FK) ficariam órfãs
+        transactionTemplate.executeWithoutResult(status -> {
+            inventoryService.deleteInventory(id);
+            userRepository.detachXp(id);
+            xpRepository.deleteByUserId(id);
+            userRepository.deleteById(id);
+        });
+        xpWriteBehindBuffer.evict(id);
+        leaderboardService.remove(id);
+        safeZonePresence.evict(id);
         logger.info("User deleted successfully: {}", id);
     }
 }
\ No newline at end of file
@@ -1,19 +1,38 @@
 package com.projeto.levelupapi.projeto_levelupapi.service;
 
+import com.projeto.levelupapi.projeto_levelupapi.dto.CursorPage;
+import com.projeto.levelupapi.projeto_levelupapi.dto.XpGrantRequestDto;
+import com.projeto.levelupapi.projeto_levelupapi.dto.XpGrantResultDto;
+import com.projeto.levelupapi.projeto_levelupapi.exception.BadRequestException;
+import com.projeto.levelupapi.projeto_levelupapi.dto.XpResponseDto;
 import com.projeto.levelupapi.projeto_levelupapi.exception.ResourceNotFoundException;
+import com.projeto.levelupapi.projeto_levelupapi.infra.CursorCodec;
+import com.projeto.levelupapi.projeto_levelupapi.infra.metrics.Counter;
+import com.projeto.levelupapi.projeto_levelupapi.infra.metrics.MetricsRegistry;
+import com.projeto.levelupapi.projeto_levelupapi.infra.metrics.Timer;
 
+import com.projeto.levelupapi.projeto_levelupapi.model.LevelCurve;
 import com.projeto.levelupapi.projeto_levelupapi.model.Xp;
 import com.projeto.levelupapi.projeto_levelupapi.repository.XpRepository;
 import com.projeto.levelupapi.projeto_levelupapi.model.User;
 import com.projeto.levelupapi.projeto_levelupapi.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
 @Service
 public class XpService {
     @Autowired
@@ -22,8 +41,37 @@ public class XpService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private XpWriteBehindBuffer writeBehindBuffer;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private LevelCurve levelCurve;
+
+    @Autowired
+    private LeaderboardService leaderboardService;
+
+    @Autowired
+    private MetricsRegistry metrics;
+
+    @Autowired
+    private PlayerEventBus playerEventBus;
+
+    private Timer grantTimer;
+    private Timer batchGrantTimer;
+    private Counter levelUps;
+
     private static final Logger logger = LoggerFactory.getLogger(XpService.class);
 
+    @PostConstruct
+    void registrarMetricas() {
+        grantTimer = metrics.timer("levelup.xp.grant", "Tempo para conceder XP", "mode", "single");
+        batchGrantTimer = metrics.timer("levelup.xp.grant", "Tempo para conceder XP", "mode", "batch");
+        levelUps = metrics.counter("levelup.xp.levelups", "Níveis ganhos pelos jogadores");
+    }
+
     // Método utilitário para obter ou criar XP para um usuário
     private Xp getOrCreateXp(User user) {
         return xpRepository.findByUserId(user.getId())
@@ -37,36 +85,165 @@ public class XpService {
     }
 
     // Adiciona XP ao jogador
-    @Transactional
     public String adicionarXp(Long userId, int xpGanho) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("Usuário não encontrado"));
-        Xp xp = getOrCreateXp(user);
-        int oldLevel = xp.getLevel();
-        int oldXp = xp.getXpPoints();
-        // Limite de nível 100
-        if (xp.getLevel() >= 100) {
-            return "Você já atingiu o nível máximo (100). Não é possível ganhar mais XP.";
+        long inicio = System.nanoTime();
+        try {
+            return adicionarXpInterno(userId, xpGanho);
+        } finally {
+            grantTimer.recordSince(inicio);
+        }
+    }
+
+    private String adicionarXpInterno(Long userId, int xpGanho) {
+        if (xpGanho <= 0) {
+            throw new BadRequestException("O XP ganho deve ser maior que zero");
         }
-        xp.addXp(xpGanho);
-        if (xp.getLevel() > 100) {
-            xp.setLevel(100);
-            xp.setXpPoints(0);
+        // No modo write-behind o ganho é aplicado em memória e gravado depois, em lote
+        XpGrantResultDto resultado;
+        if (writeBehindBuffer.isEnabled()) {
+            resultado = writeBehindBuffer.adicionarXp(userId, xpGanho, this::carregarXp);
+        } else {
+            resultado = transactionTemplate.execute(status -> {
+                Xp xp = carregarXp(userId);
+                XpGrantResultDto aplicado = aplicarXp(userId, xp, xpGanho, levelCurve);
+                xpRepository.save(xp);
+                return aplicado;
+            });
         }
-        xpRepository.save(xp);
-        if (xp.getLevel() > oldLevel) {
-            return "Parabéns! Você subiu para o nível " + xp.getLevel() + "! Volte para a Zona de Segurança para escolher seu novo item.";
+        leaderboardService.update(userId, resultado.getLevel(), resultado.getXpPoints());
+        levelUps.increment(resultado.getLevel() - resultado.getPreviousLevel());
+        publicarEventos(resultado);
+        return resultado.getMessage();
+    }
+
+    // Concede XP a vários jogadores (ex.: fim de uma partida) em uma única transação:
+    // uma consulta IN carrega todas as linhas de XP e as alterações saem em updates JDBC em lote
+    public List<XpGrantResultDto> adicionarXpEmLote(List<XpGrantRequestDto> grants) {
+        long inicio = System.nanoTime();
+        try {
+            return adicionarXpEmLoteInterno(grants);
+        } finally {
+            batchGrantTimer.recordSince(inicio);
         }
-        return "XP adicionado com sucesso. XP atual: " + xp.getXpPoints() + ", Nível atual: " + xp.getLevel();
     }
 
-    // Obtém a XP atual do jogador
-    public Xp obterXp(Long userId) {
+    private List<XpGrantResultDto> adicionarXpEmLoteInterno(List<XpGrantRequestDto> grants) {
+        for (XpGrantRequestDto grant : grants) {
+            if (grant.getXpGained() <= 0) {
+                throw new BadRequestException("O XP ganho deve ser maior que zero (usuário " + grant.getUserId() + ")");
+            }
+        }
+        if (writeBehindBuffer.isEnabled()) {
+            // Todos os jogadores são conferidos antes do primeiro ganho: com um id inexistente nada é aplicado
+            Set<Long> foraDoBuffer = new LinkedHashSet<>();
+            grants.forEach(grant -> {
+                if (writeBehindBuffer.snapshot(grant.getUserId()) == null) {
+                    foraDoBuffer.add(grant.getUserId());
+                }
+            });
+            if (!foraDoBuffer.isEmpty()) {
+                exigirUsuarios(foraDoBuffer);
+            }
+            List<XpGrantResultDto> resultados = new ArrayList<>(grants.size());
+            for (XpGrantRequestDto grant : grants) {
+                resultados.add(writeBehindBuffer.adicionarXp(grant.getUserId(), grant.getXpGained(), this::carregarXp));
+            }
+            return atualizarRanking(resultados);
+        }
+        return atualizarRanking(transactionTemplate.execute(status -> {
+            Set<Long> userIds = new LinkedHashSet<>();
+            grants.forEach(grant -> userIds.add(grant.getUserId()));
+
+            Map<Long, Xp> xpPorUsuario = new HashMap<>();
+            for (Xp xp : xpRepository.findByUserIdIn(userIds)) {
+                xpPorUsuario.put(xp.getUser().getId(), xp);
+            }
+            if (xpPorUsuario.size() < userIds.size()) {
+                criarXpFaltante(userIds, xpPorUsuario);
+            }
+
+            // Entidades gerenciadas: o flush do commit agrupa os UPDATEs (hibernate.jdbc.batch_size)
+            List<XpGrantResultDto> resultados = new ArrayList<>(grants.size());
+            for (XpGrantRequestDto grant : grants) {
+                Xp xp = xpPorUsuario.get(grant.getUserId());
+                resultados.add(aplicarXp(grant.getUserId(), xp, grant.getXpGained(), levelCurve));
+            }
+            logger.info("Granted XP in batch: {} grants for {} players", grants.size(), userIds.size());
+            return resultados;
+        }));
+    }
+
+    // Chamado só depois do commit: o ranking nunca mostra XP de uma transação desfeita
+    private List<XpGrantResultDto> atualizarRanking(List<XpGrantResultDto> resultados) {
+        for (XpGrantResultDto resultado : resultados) {
+            leaderboardService.update(resultado.getUserId(), resultado.getLevel(), resultado.getXpPoints());
+            levelUps.increment(resultado.getLevel() - resultado.getPreviousLevel());
+            publicarEventos(resultado);
+        }
+        return resultados;
+    }
+
+    // Estado de XP sempre e level up quando houve; como o ranking, só depois do commit
+    private void publicarEventos(XpGrantResultDto resultado) {
+        playerEventBus.publish(PlayerEvent.xp(resultado.getUserId(), resultado.getXpPoints(), resultado.getLevel()));
+        if (resultado.isLeveledUp()) {
+            playerEventBus.publish(PlayerEvent.levelUp(resultado.getUserId(), resultado.getPreviousLevel(),
+                    resultado.getLevel(), resultado.getMessage()));
+        }
+    }
+
+    private void criarXpFaltante(Set<Long> userIds, Map<Long, Xp> xpPorUsuario) {
+        Set<Long> semXp = new LinkedHashSet<>(userIds);
+        semXp.removeAll(xpPorUsuario.keySet());
+        for (User user : exigirUsuarios(semXp)) {
+            xpPorUsuario.put(user.getId(), getOrCreateXp(user));
+        }
+    }
+
+    // Uma consulta para todos os ids; 404 listando os que não existem
+    private List<User> exigirUsuarios(Set<Long> userIds) {
+        List<User> users = userRepository.findAllById(userIds);
+        if (users.size() < userIds.size()) {
+            Set<Long> faltantes = new LinkedHashSet<>(userIds);
+            users.forEach(user -> faltantes.remove(user.getId()));
+            throw new ResourceNotFoundException("Usuários não encontrados: " + faltantes);
+        }
+        return users;
+    }
+
+    // Aplica as regras de XP (limite de nível aplicado pela curva) e monta o resultado com a mensagem de retorno
+    static XpGrantResultDto aplicarXp(Long userId, Xp xp, int xpGanho, LevelCurve curve) {
+        int oldLevel = xp.getLevel();
+        String mensagem;
+        if (xp.getLevel() >= curve.maxLevel()) {
+            mensagem = "Você já atingiu o nível máximo (" + curve.maxLevel() + "). Não é possível ganhar mais XP.";
+        } else {
+            xp.addXp(xpGanho, curve);
+            if (xp.getLevel() > oldLevel) {
+                mensagem = "Parabéns! Você subiu para o nível " + xp.getLevel() + "! Volte para a Zona de Segurança para escolher seu novo item.";
+            } else {
+                mensagem = "XP adicionado com sucesso. XP atual: " + xp.getXpPoints() + ", Nível atual: " + xp.getLevel();
+            }
+        }
+        return new XpGrantResultDto(userId, oldLevel, xp.getLevel(), xp.getXpPoints(), xp.getLevel() > oldLevel, mensagem);
+    }
+
+    private Xp carregarXp(Long userId) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("Usuário não encontrado"));
-                
         return getOrCreateXp(user);
     }
+
+    // Obtém a XP atual do jogador
+    public Xp obterXp(Long userId) {
+        if (writeBehindBuffer.isEnabled()) {
+            Xp buffered = writeBehindBuffer.snapshot(userId);
+            if (buffered != null) {
+                return buffered;
+            }
+        }
+        return carregarXp(userId);
+    }
     
     // Obtém o nível atual do jogador
     public int obterNivel(Long userId) {
@@ -82,4 +259,20 @@ public class XpService {
         logger.info("Listing all XP records with pagination: page={}, size={}", pageable.getPageNumber(), pageable.getPageSize());
         return xpRepository.findAll(pageable);
     }
+
+    // Página por cursor ordenada pelo id do jogador, com o XP pendente do write-behind aplicado
+    public CursorPage<XpResponseDto> listAfter(String cursor, int size) {
+        int limit = CursorPage.clampSize(size);
+        List<XpResponseDto> rows = xpRepository.findResponsesAfter(CursorCodec.decode(cursor), Limit.of(limit + 1));
+        if (writeBehindBuffer.size() > 0) {
+            for (XpResponseDto row : rows) {
+                Xp pendente = writeBehindBuffer.snapshot(row.getUserId());
+                if (pendente != null) {
+                    row.setXpPoints(pendente.getXpPoints());
+                    row.setLevel(pendente.getLevel());
+                }
+            }
+        }
+        return CursorPage.of(rows, limit, XpResponseDto::getUserId);
+    }
 }
\ No newline at end of file
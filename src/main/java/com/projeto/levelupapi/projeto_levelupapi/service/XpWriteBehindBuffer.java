@@ -0,0 +1,452 @@
+package com.projeto.levelupapi.projeto_levelupapi.service;
+
+import com.projeto.levelupapi.projeto_levelupapi.dto.XpGrantResultDto;
+import com.projeto.levelupapi.projeto_levelupapi.model.LevelCurve;
+import com.projeto.levelupapi.projeto_levelupapi.model.Xp;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+// Modo write-behind do XP (xp.write-behind.enabled): os ganhos de XP são aplicados em memória,
+// com as mesmas regras do XpService, e gravados na tabela xp em lotes JDBC periódicos.
+//
+// Recuperação: cada ganho aceito grava o estado absoluto do jogador (xpId;level;xpPoints) em um
+// journal antes de responder. Um flush bem-sucedido descarta o journal correspondente; na subida,
+// journals que sobraram de uma queda são reaplicados (o último estado de cada linha vence, então
+// reaplicar é idempotente).
+//
+// Durabilidade: cada linha sai do buffer do processo para o sistema operacional antes da resposta,
+// então uma queda só da JVM não perde ganhos. Sem xp.write-behind.journal-fsync, uma queda da máquina
+// (energia, kernel) pode perder o que o SO ainda não levou ao disco, em geral poucos segundos de ganhos
+// já confirmados ao cliente; com ele cada ganho espera o fsync e a vazão cai para a do disco.
+//
+// Limite: com xp.write-behind.max-pending jogadores pendentes (ex.: flush travado num banco lento),
+// novos ganhos deixam de ser acumulados e são gravados na hora, na fila do flush em andamento.
+// O mapa de jogadores já carregados não diminui com o flush; só a exclusão do usuário remove a entrada.
+@Component
+public class XpWriteBehindBuffer {
+    private static final Logger logger = LoggerFactory.getLogger(XpWriteBehindBuffer.class);
+    private static final String UPDATE_XP_SQL = "UPDATE xp SET xp_points = ?, level = ?, updated_at = CURRENT_TIMESTAMP WHERE id = ?";
+    private static final int STRIPES = 64;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Cache secondLevelCache;
+    private final LevelCurve levelCurve;
+    private final boolean enabled;
+    private final int flushThreshold;
+    private final int maxPending;
+    private final Path journalPath;
+    private final boolean journalFsync;
+
+    private final ConcurrentHashMap<Long, Xp> entries = new ConcurrentHashMap<>();
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+    private final ReentrantLock[] stripes = new ReentrantLock[STRIPES];
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final ReentrantLock journalLock = new ReentrantLock();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final ExecutorService thresholdFlusher = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "xp-write-behind-flush");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private BufferedWriter journal;
+    private FileChannel journalChannel;
+
+    private final LongAdder grantsBuffered = new LongAdder();
+    private final LongAdder rowsFlushed = new LongAdder();
+    private final LongAdder flushBatches = new LongAdder();
+    private final LongAdder syncWrites = new LongAdder();
+
+    public XpWriteBehindBuffer(JdbcTemplate jdbcTemplate,
+                               EntityManagerFactory entityManagerFactory,
+                               LevelCurve levelCurve,
+                               @Value("${xp.write-behind.enabled:false}") boolean enabled,
+                               @Value("${xp.write-behind.flush-threshold:500}") int flushThreshold,
+                               @Value("${xp.write-behind.max-pending:100000}") int maxPending,
+                               @Value("${xp.write-behind.journal:xp-write-behind.journal}") String journal,
+                               @Value("${xp.write-behind.journal-fsync:false}") boolean journalFsync) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.secondLevelCache = entityManagerFactory.getCache();
+        this.levelCurve = levelCurve;
+        this.enabled = enabled;
+        this.flushThreshold = flushThreshold;
+        this.maxPending = maxPending;
+        this.journalPath = journal == null || journal.isBlank() ? null : Paths.get(journal);
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.journalFsync = journalFsync;
+    }
+
+    @PostConstruct
+    void recover() throws IOException {
+        if (!enabled || journalPath == null) {
+            return;
+        }
+        // Primeiro o journal que estava sendo descarregado, depois o ativo: a ordem importa
+        Map<Long, long[]> pending = new LinkedHashMap<>();
+        readJournal(flushingPath(), pending);
+        readJournal(journalPath, pending);
+        if (!pending.isEmpty()) {
+            List<Object[]> rows = new ArrayList<>(pending.size());
+            pending.forEach((xpId, state) -> rows.add(new Object[]{(int) state[1], (int) state[0], xpId}));
+            jdbcTemplate.batchUpdate(UPDATE_XP_SQL, rows);
+            secondLevelCache.evict(Xp.class);
+            logger.warn("Recovered {} XP rows from write-behind journal {}", rows.size(), journalPath);
+        }
+        Files.deleteIfExists(flushingPath());
+        Files.deleteIfExists(journalPath);
+        openJournal();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // Aplica o ganho em memória. O loader busca (ou cria) a linha de XP na primeira vez que o jogador aparece.
+    public XpGrantResultDto adicionarXp(Long userId, int xpGanho, Function<Long, Xp> loader) {
+        if (dirty.size() >= maxPending) {
+            XpGrantResultDto resultado = adicionarXpSincrono(userId, xpGanho, loader);
+            if (resultado != null) {
+                return resultado;
+            }
+        }
+        Xp xp = entries.get(userId);
+        if (xp == null) {
+            Xp loaded = loader.apply(userId);
+            Xp copy = new Xp(loaded.getId(), null, loaded.getXpPoints(), loaded.getLevel());
+            Xp existing = entries.putIfAbsent(userId, copy);
+            xp = existing != null ? existing : copy;
+        }
+
+        ReentrantLock lock = stripeFor(userId);
+        lock.lock();
+        try {
+            int oldLevel = xp.getLevel();
+            int oldXp = xp.getXpPoints();
+            XpGrantResultDto resultado = XpService.aplicarXp(userId, xp, xpGanho, levelCurve);
+            if (xp.getLevel() != oldLevel || xp.getXpPoints() != oldXp) {
+                // Marca como sujo antes de escrever no journal: um flush que rotacione o journal
+                // depois desta linha obrigatoriamente enxerga este jogador como pendente
+                dirty.add(userId);
+                appendJournal(xp);
+                grantsBuffered.increment();
+            }
+            return resultado;
+        } finally {
+            lock.unlock();
+            if (dirty.size() >= flushThreshold) {
+                requestThresholdFlush();
+            }
+        }
+    }
+
+    // Buffer cheio: grava este ganho direto na tabela. Segura o flushLock para não ser sobrescrito por um
+    // flush que já leu o estado anterior, e por isso espera o flush em andamento (é a contrapressão).
+    // Retorna null se o flush esvaziou o buffer enquanto esperava: o ganho volta para o caminho normal.
+    private XpGrantResultDto adicionarXpSincrono(Long userId, int xpGanho, Function<Long, Xp> loader) {
+        flushLock.lock();
+        try {
+            if (dirty.size() < maxPending) {
+                return null;
+            }
+            Xp cached = entries.get(userId);
+            if (cached == null) {
+                // Jogador fora do buffer não entra nele: as leituras seguintes vão ao banco, já atualizado
+                Xp loaded = loader.apply(userId);
+                Xp xp = new Xp(loaded.getId(), null, loaded.getXpPoints(), loaded.getLevel());
+                XpGrantResultDto resultado = XpService.aplicarXp(userId, xp, xpGanho, levelCurve);
+                gravar(xp);
+                return resultado;
+            }
+            ReentrantLock lock = stripeFor(userId);
+            lock.lock();
+            try {
+                // Aplica numa cópia: se o UPDATE falhar, o estado em memória continua o gravado
+                Xp xp = new Xp(cached.getId(), null, cached.getXpPoints(), cached.getLevel());
+                XpGrantResultDto resultado = XpService.aplicarXp(userId, xp, xpGanho, levelCurve);
+                gravar(xp);
+                cached.setXpPoints(xp.getXpPoints());
+                cached.setLevel(xp.getLevel());
+                // O journal pode ter um estado anterior deste jogador ainda não gravado: sem esta linha,
+                // a recuperação após uma queda desfaria a gravação síncrona
+                appendJournal(cached);
+                return resultado;
+            } finally {
+                lock.unlock();
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void gravar(Xp xp) {
+        jdbcTemplate.update(UPDATE_XP_SQL, xp.getXpPoints(), xp.getLevel(), xp.getId());
+        secondLevelCache.evict(Xp.class, xp.getId());
+        syncWrites.increment();
+    }
+
+    // Estado atual em memória (inclui ganhos ainda não gravados), ou null se o jogador não está no buffer
+    public Xp snapshot(Long userId) {
+        Xp xp = entries.get(userId);
+        if (xp == null) {
+            return null;
+        }
+        ReentrantLock lock = stripeFor(userId);
+        lock.lock();
+        try {
+            return new Xp(xp.getId(), null, xp.getXpPoints(), xp.getLevel());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void evict(Long userId) {
+        dirty.remove(userId);
+        entries.remove(userId);
+    }
+
+    @Scheduled(fixedDelayString = "${xp.write-behind.flush-interval-ms:500}")
+    public void scheduledFlush() {
+        if (enabled && !dirty.isEmpty()) {
+            flush();
+        }
+    }
+
+    // Grava todos os jogadores pendentes em um único batch JDBC; retorna o número de linhas gravadas
+    public int flush() {
+        flushLock.lock();
+        try {
+            rotateJournal();
+            List<Object[]> rows = new ArrayList<>();
+            List<Long> userIds = new ArrayList<>();
+            Iterator<Long> it = dirty.iterator();
+            while (it.hasNext()) {
+                Long userId = it.next();
+                it.remove();
+                Xp xp = entries.get(userId);
+                if (xp == null) {
+                    continue;
+                }
+                ReentrantLock lock = stripeFor(userId);
+                lock.lock();
+                try {
+                    rows.add(new Object[]{xp.getXpPoints(), xp.getLevel(), xp.getId()});
+                } finally {
+                    lock.unlock();
+                }
+                userIds.add(userId);
+            }
+            if (rows.isEmpty()) {
+                deleteFlushedJournal();
+                return 0;
+            }
+            try {
+                jdbcTemplate.batchUpdate(UPDATE_XP_SQL, rows);
+            } catch (RuntimeException e) {
+                // Mantém os jogadores pendentes e o journal rotacionado para a próxima tentativa/recuperação
+                dirty.addAll(userIds);
+                logger.error("Failed to flush {} buffered XP rows", rows.size(), e);
+                return 0;
+            }
+            // O UPDATE via JDBC não passa pelo Hibernate: as linhas gravadas saem do cache de segundo nível
+            for (Object[] row : rows) {
+                secondLevelCache.evict(Xp.class, row[2]);
+            }
+            deleteFlushedJournal();
+            rowsFlushed.add(rows.size());
+            flushBatches.increment();
+            logger.debug("Flushed {} buffered XP rows", rows.size());
+            return rows.size();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    void drain() {
+        thresholdFlusher.shutdownNow();
+        if (!enabled) {
+            return;
+        }
+        int flushed = flush();
+        logger.info("Write-behind XP buffer drained on shutdown ({} rows)", flushed);
+        closeJournal();
+        if (journalPath != null && dirty.isEmpty()) {
+            try {
+                Files.deleteIfExists(journalPath);
+            } catch (IOException e) {
+                logger.warn("Could not delete XP write-behind journal {}", journalPath, e);
+            }
+        }
+    }
+
+    public int pendingCount() {
+        return dirty.size();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long getGrantsBuffered() {
+        return grantsBuffered.sum();
+    }
+
+    public long getRowsFlushed() {
+        return rowsFlushed.sum();
+    }
+
+    public long getFlushBatches() {
+        return flushBatches.sum();
+    }
+
+    public long getSyncWrites() {
+        return syncWrites.sum();
+    }
+
+    private ReentrantLock stripeFor(Long userId) {
+        int h = Long.hashCode(userId);
+        return stripes[(h ^ (h >>> 16)) & (STRIPES - 1)];
+    }
+
+    private void requestThresholdFlush() {
+        if (flushRequested.compareAndSet(false, true)) {
+            thresholdFlusher.execute(() -> {
+                flushRequested.set(false);
+                flush();
+            });
+        }
+    }
+
+    private void appendJournal(Xp xp) {
+        if (journalPath == null) {
+            return;
+        }
+        journalLock.lock();
+        try {
+            journal.write(xp.getId() + ";" + xp.getLevel() + ";" + xp.getXpPoints());
+            journal.newLine();
+            journal.flush();
+            if (journalFsync) {
+                journalChannel.force(false);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write XP write-behind journal", e);
+        } finally {
+            journalLock.unlock();
+        }
+    }
+
+    private void rotateJournal() {
+        if (journalPath == null) {
+            return;
+        }
+        journalLock.lock();
+        try {
+            // Se um flush anterior falhou, o arquivo ".flushing" ainda existe e continua valendo
+            if (Files.exists(flushingPath())) {
+                return;
+            }
+            closeJournal();
+            if (Files.exists(journalPath)) {
+                Files.move(journalPath, flushingPath(), StandardCopyOption.ATOMIC_MOVE);
+            }
+            openJournal();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not rotate XP write-behind journal", e);
+        } finally {
+            journalLock.unlock();
+        }
+    }
+
+    private void deleteFlushedJournal() {
+        if (journalPath == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(flushingPath());
+        } catch (IOException e) {
+            logger.warn("Could not delete flushed XP journal {}", flushingPath(), e);
+        }
+    }
+
+    private void openJournal() throws IOException {
+        Path parent = journalPath.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        journalChannel = FileChannel.open(journalPath,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        journal = new BufferedWriter(Channels.newWriter(journalChannel, StandardCharsets.UTF_8));
+    }
+
+    private void closeJournal() {
+        if (journal == null) {
+            return;
+        }
+        try {
+            journal.close();
+        } catch (IOException e) {
+            logger.warn("Could not close XP write-behind journal", e);
+        }
+        journal = null;
+        journalChannel = null;
+    }
+
+    private Path flushingPath() {
+        return journalPath.resolveSibling(journalPath.getFileName() + ".flushing");
+    }
+
+    private static void readJournal(Path path, Map<Long, long[]> pending) throws IOException {
+        if (!Files.exists(path)) {
+            return;
+        }
+        for (String line : Files.readAllLines(path, StandardCharsets.UTF_8)) {
+            String[] parts = line.split(";");
+            if (parts.length != 3) {
+                continue; // linha truncada pela queda
+            }
+            try {
+                long xpId = Long.parseLong(parts[0]);
+                long[] state = {Long.parseLong(parts[1]), Long.parseLong(parts[2])};
+                pending.remove(xpId);
+                pending.put(xpId, state);
+            } catch (NumberFormatException e) {
+                logger.warn("Skipping malformed XP journal line: {}", line);
+            }
+        }
+    }
+}
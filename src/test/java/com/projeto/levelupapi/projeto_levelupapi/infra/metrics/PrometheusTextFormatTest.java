@@ -0,0 +1,55 @@
+package com.projeto.levelupapi.projeto_levelupapi.infra.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PrometheusTextFormatTest {
+
+    @Test
+    void timerIsExportedAsCumulativeHistogramInSeconds() {
+        MetricsRegistry registry = new MetricsRegistry();
+        Timer timer = registry.timer("levelup.xp.grant", "Tempo para conceder XP", "mode", "single");
+        timer.record(5_000);          // 5µs  -> primeira faixa (10µs)
+        timer.record(2_000_000);      // 2ms  -> faixa de 2.5ms
+        timer.record(20_000_000_000L); // 20s -> só +Inf
+
+        String text = PrometheusTextFormat.write(registry.getMeters());
+
+        assertTrue(text.contains("# TYPE levelup_xp_grant_seconds histogram\n"), text);
+        assertTrue(text.contains("levelup_xp_grant_seconds_bucket{mode=\"single\",le=\"0.00001\"} 1\n"), text);
+        assertTrue(text.contains("levelup_xp_grant_seconds_bucket{mode=\"single\",le=\"0.001\"} 1\n"), text);
+        assertTrue(text.contains("levelup_xp_grant_seconds_bucket{mode=\"single\",le=\"0.0025\"} 2\n"), text);
+        assertTrue(text.contains("levelup_xp_grant_seconds_bucket{mode=\"single\",le=\"10\"} 2\n"), text);
+        assertTrue(text.contains("levelup_xp_grant_seconds_bucket{mode=\"single\",le=\"+Inf\"} 3\n"), text);
+        assertTrue(text.contains("levelup_xp_grant_seconds_count{mode=\"single\"} 3\n"), text);
+        assertTrue(text.contains("levelup_xp_grant_seconds_max{mode=\"single\"} 20\n"), text);
+    }
+
+    @Test
+    void seriesOfTheSameFamilyShareOneHeader() {
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.counter("levelup.inventory.items.granted", "Itens").increment(3);
+        registry.functionCounter("levelup.jwt.cache.requests", "Cache", new long[]{7}, v -> v[0], "result", "hit");
+        registry.functionCounter("levelup.jwt.cache.requests", "Cache", new long[]{2}, v -> v[0], "result", "miss");
+        registry.gauge("levelup.leaderboard.size", "Ranking", List.of(1, 2), List::size, "note", "a\"b");
+
+        String text = PrometheusTextFormat.write(registry.getMeters());
+
+        assertEquals(1, text.split("# TYPE levelup_jwt_cache_requests_total counter", -1).length - 1, text);
+        assertTrue(text.contains("levelup_inventory_items_granted_total 3\n"), text);
+        assertTrue(text.contains("levelup_jwt_cache_requests_total{result=\"hit\"} 7\n"), text);
+        assertTrue(text.contains("levelup_jwt_cache_requests_total{result=\"miss\"} 2\n"), text);
+        assertTrue(text.contains("levelup_leaderboard_size{note=\"a\\\"b\"} 2\n"), text);
+    }
+
+    @Test
+    void sameNameAndTagsReturnTheSameMeter() {
+        MetricsRegistry registry = new MetricsRegistry();
+        assertSame(registry.timer("a.b", "x", "k", "v"), registry.timer("a.b", "x", "k", "v"));
+    }
+}
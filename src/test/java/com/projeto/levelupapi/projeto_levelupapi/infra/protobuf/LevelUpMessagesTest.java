@@ -0,0 +1,76 @@
+package com.projeto.levelupapi.projeto_levelupapi.infra.protobuf;
+
+import com.projeto.levelupapi.projeto_levelupapi.dto.InventoryEntryDto;
+import com.projeto.levelupapi.projeto_levelupapi.dto.InventoryOperationDto;
+import com.projeto.levelupapi.projeto_levelupapi.dto.XpGrantBatchRequestDto;
+import org.junit.jupiter.api.Test;
+
+import java.util.HexFormat;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LevelUpMessagesTest {
+
+    @Test
+    void inventoryEntryMatchesProtocWireFormat() {
+        ProtoWriter out = new ProtoWriter();
+        LevelUpMessages.writeInventoryEntry(new InventoryEntryDto(150L, 9L, "Poção", null, 3), out);
+
+        // id = 150 (08 96 01), item_id = 9, item_name em UTF-8, descrição nula omitida, quantity = 3
+        assertArrayEquals(HexFormat.of().parseHex("089601" + "1009" + "1a07506fc3a7c3a36f" + "2803"), out.toByteArray());
+    }
+
+    @Test
+    void nestedMessagesLongerThan127BytesGetMultiByteLength() {
+        String description = "x".repeat(300);
+        byte[] bytes = new ProtoWriter()
+                .repeated(1, List.of(new InventoryEntryDto(1L, 2L, "Item", description, 1)), LevelUpMessages::writeInventoryEntry)
+                .toByteArray();
+
+        ProtoReader in = new ProtoReader(bytes);
+        assertEquals(1, in.nextField());
+        String read = in.message(entry -> {
+            String value = null;
+            for (int field; (field = entry.nextField()) != 0; ) {
+                if (field == 4) {
+                    value = entry.string();
+                } else {
+                    entry.skip();
+                }
+            }
+            return value;
+        });
+        assertEquals(description, read);
+        assertEquals(0, in.nextField());
+    }
+
+    @Test
+    void batchRequestsSkipUnknownFieldsAndKeepDefaults() {
+        byte[] xpBatch = new ProtoWriter()
+                .message(1, 0, (Integer ignored, ProtoWriter grant) -> grant.int64(1, 42L).int32(2, 250).string(9, "campo novo"))
+                .message(1, 0, (Integer ignored, ProtoWriter grant) -> grant.int32(2, 10))
+                .toByteArray();
+        XpGrantBatchRequestDto grants = LevelUpMessages.readXpGrantBatch(new ProtoReader(xpBatch));
+        assertEquals(42L, grants.getGrants().get(0).getUserId());
+        assertEquals(250, grants.getGrants().get(0).getXpGained());
+        assertNull(grants.getGrants().get(1).getUserId());
+
+        byte[] inventoryBatch = new ProtoWriter()
+                .message(1, 0, (Integer ignored, ProtoWriter op) -> op.int32(1, 2).string(2, "Poção de Cura"))
+                .toByteArray();
+        InventoryOperationDto operation = LevelUpMessages.readInventoryBatch(new ProtoReader(inventoryBatch)).getOperations().get(0);
+        assertEquals(InventoryOperationDto.Type.REMOVE, operation.getType());
+        assertEquals("Poção de Cura", operation.getItemName());
+        assertEquals(1, operation.getQuantity());
+    }
+
+    @Test
+    void truncatedInputIsRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> LevelUpMessages.readInventoryBatch(new ProtoReader(new byte[]{0x0a, 0x7f})));
+    }
+}
@@ -0,0 +1,70 @@
+package com.projeto.levelupapi.projeto_levelupapi.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LevelCurveTest {
+
+    // Referência: o laço nível a nível, com o custo do nível atual descontado antes de subir
+    private static long[] loop(int level, long xp, long gain, int maxLevel) {
+        xp += gain;
+        while (level <= maxLevel && xp >= 100L * level) {
+            xp -= 100L * level;
+            level++;
+        }
+        return level > maxLevel ? new long[]{maxLevel, 0} : new long[]{level, xp};
+    }
+
+    @Test
+    void linearCurveMatchesLevelByLevelLoop() {
+        LevelCurve curve = LevelCurve.DEFAULT;
+        Random random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            int level = 1 + random.nextInt(100);
+            long xp = random.nextInt(100 * level);
+            long gain = random.nextInt(1 + random.nextInt(600_000));
+
+            long[] expected = loop(level, xp, gain, 100);
+            LevelCurve.Progress actual = curve.resolve(level, xp, gain);
+
+            assertEquals(expected[0], actual.level(), "level for " + level + "/" + xp + "/+" + gain);
+            assertEquals(expected[1], actual.xpPoints(), "xp for " + level + "/" + xp + "/+" + gain);
+        }
+    }
+
+    @Test
+    void exactThresholdsLevelUp() {
+        assertEquals(new LevelCurve.Progress(2, 0), LevelCurve.DEFAULT.resolve(1, 0, 100));
+        assertEquals(new LevelCurve.Progress(2, 50), LevelCurve.DEFAULT.resolve(1, 0, 150));
+        assertEquals(new LevelCurve.Progress(3, 0), LevelCurve.DEFAULT.resolve(1, 0, 300));
+    }
+
+    @Test
+    void capIsAppliedWhileResolving() {
+        assertEquals(new LevelCurve.Progress(100, 9_999), LevelCurve.DEFAULT.resolve(99, 0, 9_900 + 9_999));
+        assertEquals(new LevelCurve.Progress(100, 0), LevelCurve.DEFAULT.resolve(99, 0, 9_900 + 10_000));
+        assertEquals(new LevelCurve.Progress(100, 0), LevelCurve.DEFAULT.resolve(1, 0, Long.MAX_VALUE));
+    }
+
+    @Test
+    void hugeCurvesSaturateInsteadOfOverflowing() {
+        LevelCurve curve = LevelCurve.exponential(100, 10.0, 60);
+        assertEquals(Long.MAX_VALUE, curve.xpRequiredForLevelUp(60));
+        assertEquals(new LevelCurve.Progress(1, 99), curve.resolve(1, 0, 99));
+        assertEquals(new LevelCurve.Progress(3, 0), curve.resolve(1, 0, 1_100));
+        assertEquals(new LevelCurve.Progress(60, 0), curve.resolve(59, Long.MAX_VALUE, Long.MAX_VALUE));
+    }
+
+    @Test
+    void tableCurveUsesConfiguredRequirements() {
+        LevelCurve curve = LevelCurve.table(new long[]{10, 20, 30});
+        assertEquals(3, curve.maxLevel());
+        assertEquals(30, curve.cumulativeXp(3));
+        assertEquals(new LevelCurve.Progress(2, 5), curve.resolve(1, 0, 15));
+        assertEquals(new LevelCurve.Progress(3, 29), curve.resolve(1, 0, 59));
+        assertEquals(new LevelCurve.Progress(3, 0), curve.resolve(1, 0, 60));
+    }
+}
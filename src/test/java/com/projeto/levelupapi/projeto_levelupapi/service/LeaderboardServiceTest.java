@@ -0,0 +1,114 @@
+package com.projeto.levelupapi.projeto_levelupapi.service;
+
+import com.projeto.levelupapi.projeto_levelupapi.dto.LeaderboardEntryDto;
+import com.projeto.levelupapi.projeto_levelupapi.model.LevelCurve;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LeaderboardServiceTest {
+    private static final Logger logger = LoggerFactory.getLogger(LeaderboardServiceTest.class);
+    private static final int TIED = 5000;
+    private static final int MAX_LEVEL = 100;
+
+    private final LevelCurve curve = LevelCurve.linear(100, MAX_LEVEL);
+    // Sem banco: o ranking é alimentado só por update (rebuild não é chamado)
+    private final LeaderboardService leaderboard = new LeaderboardService(null, curve, null, 65536);
+    private final Map<Long, int[]> model = new HashMap<>();
+
+    // Jogadores novos (nível 1, 0 XP) e os do nível máximo ficam cada grupo em um único bucket:
+    // a posição de cada um deles tem que ser exata sem depender do tamanho do grupo
+    @Test
+    void rankIsExactInsideBucketsWithThousandsOfTiedPlayers() {
+        Random random = new Random(42);
+        long id = 1;
+        for (int i = 0; i < TIED; i++) {
+            put(id++, 1, 0);
+        }
+        for (int i = 0; i < TIED; i++) {
+            put(id++, MAX_LEVEL, 0);
+        }
+        for (int i = 0; i < 2000; i++) {
+            int level = 1 + random.nextInt(MAX_LEVEL);
+            put(id++, level, level == MAX_LEVEL ? 0 : random.nextInt((int) curve.xpRequiredForLevelUp(level)));
+        }
+        // Mesmo bucket do grupo do nível máximo, mas com mais XP: fica à frente de todos os empatados
+        long leader = id++;
+        put(leader, MAX_LEVEL, 50);
+        assertRanksMatchModel();
+
+        // Parte dos empatados sai do grupo e volta com id maior que o dos que ficaram
+        for (long moved = 1; moved <= TIED; moved += 7) {
+            put(moved, 1, 1 + random.nextInt(50));
+        }
+        for (long moved = TIED + 1; moved <= 2L * TIED; moved += 11) {
+            leaderboard.remove(moved);
+            model.remove(moved);
+        }
+        assertRanksMatchModel();
+        assertEquals(1, leaderboard.rankOf(leader).getRank());
+
+        LeaderboardEntryDto middle = leaderboard.rankOf((long) TIED + TIED / 2);
+        List<LeaderboardEntryDto> around = leaderboard.around(middle.getUserId(), 5);
+        for (int i = 0; i < around.size(); i++) {
+            assertEquals(middle.getRank() - 5 + i, around.get(i).getRank());
+            assertEquals(around.get(i).getRank(), leaderboard.rankOf(around.get(i).getUserId()).getRank());
+        }
+
+        long start = System.nanoTime();
+        for (long tied = TIED + 1; tied <= 2L * TIED; tied++) {
+            if (model.containsKey(tied)) {
+                leaderboard.rankOf(tied);
+            }
+        }
+        logger.info("Leaderboard rank inside a bucket of {} tied players: {} ns per query",
+                TIED, (System.nanoTime() - start) / TIED);
+    }
+
+    // Atualizações publicadas depois do commit podem chegar fora de ordem: a mais antiga não rebaixa o jogador
+    @Test
+    void staleUpdateArrivingLateDoesNotLowerRank() {
+        put(1, 5, 40);
+        put(2, 5, 60);
+        put(1, 6, 10);
+        leaderboard.update(1L, 5, 40);
+
+        LeaderboardEntryDto first = leaderboard.rankOf(1L);
+        assertEquals(1, first.getRank());
+        assertEquals(6, first.getLevel());
+        assertEquals(10, first.getXp());
+        assertEquals(2, leaderboard.rankOf(2L).getRank());
+    }
+
+    private void put(long userId, int level, int xpPoints) {
+        leaderboard.update(userId, "jogador-" + userId, level, xpPoints);
+        model.put(userId, new int[]{level, xpPoints});
+    }
+
+    // Posição esperada: ordenação completa por XP total (desc) e id (asc)
+    private void assertRanksMatchModel() {
+        List<Long> ordered = new ArrayList<>(model.keySet());
+        ordered.sort(Comparator.comparingLong((Long userId) -> -score(userId)).thenComparingLong(userId -> userId));
+        for (int i = 0; i < ordered.size(); i++) {
+            assertEquals(i + 1, leaderboard.rankOf(ordered.get(i)).getRank(), "posição errada para " + ordered.get(i));
+        }
+        List<LeaderboardEntryDto> top = leaderboard.top(LeaderboardService.MAX_LIMIT);
+        for (int i = 0; i < top.size(); i++) {
+            assertEquals(ordered.get(i), top.get(i).getUserId());
+        }
+    }
+
+    private long score(long userId) {
+        int[] state = model.get(userId);
+        return curve.cumulativeXp(state[0]) + state[1];
+    }
+}
@@ -0,0 +1,167 @@
+package com.projeto.levelupapi.projeto_levelupapi.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projeto.levelupapi.projeto_levelupapi.dto.XpGrantRequestDto;
+import com.projeto.levelupapi.projeto_levelupapi.dto.XpGrantResultDto;
+import com.projeto.levelupapi.projeto_levelupapi.model.User;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"events.heartbeat-interval-ms=300", "events.buffer-size=8"})
+class PlayerEventStreamTest {
+    private static final Logger logger = LoggerFactory.getLogger(PlayerEventStreamTest.class);
+    private static final int GRANTS = 300;
+
+    @LocalServerPort
+    private int port;
+    @Autowired
+    private XpService xpService;
+    @Autowired
+    private InventoryService inventoryService;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private PlayerEventBus playerEventBus;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    private record Received(String name, JsonNode data) {
+    }
+
+    // Rajada de concessões com o stream aberto: o último estado de XP sempre chega (eventos de estado
+    // são mesclados, nunca descartados) e todo level-up ou chega ou é contado num "resync"
+    @Test
+    void streamDeliversPlayerEventsWithMergedStateAndAccountedLevelUps() throws Exception {
+        post("/api/users", null, "{\"username\":\"sse-player\",\"password\":\"senha-sse\"}");
+        String token = objectMapper.readTree(post("/api/auth/login", null,
+                "{\"username\":\"sse-player\",\"password\":\"senha-sse\"}")).get("token").asText();
+        User user = userService.findByUsername("sse-player").orElseThrow();
+
+        List<Received> events = new CopyOnWriteArrayList<>();
+        List<String> comments = new CopyOnWriteArrayList<>();
+        HttpRequest subscribe = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/events"))
+                .header("Authorization", "Bearer " + token)
+                .header("Accept", "text/event-stream")
+                .build();
+        CompletableFuture<HttpResponse<Stream<String>>> stream = client.sendAsync(subscribe, HttpResponse.BodyHandlers.ofLines());
+        HttpResponse<Stream<String>> response = stream.get(5, TimeUnit.SECONDS);
+        assertEquals(200, response.statusCode());
+        Thread reader = new Thread(() -> readEvents(response.body(), events, comments), "sse-test-reader");
+        reader.setDaemon(true);
+        reader.start();
+        await(() -> playerEventBus.getSubscriptions() > 0);
+
+        List<XpGrantResultDto> results = new ArrayList<>();
+        for (int i = 0; i < GRANTS; i++) {
+            XpGrantRequestDto grant = new XpGrantRequestDto();
+            grant.setUserId(user.getId());
+            grant.setXpGained(1500);
+            results.addAll(xpService.adicionarXpEmLote(List.of(grant)));
+        }
+        XpGrantResultDto last = results.get(results.size() - 1);
+        long levelUps = results.stream().filter(XpGrantResultDto::isLeveledUp).count();
+        inventoryService.addItem(user, "Espada de Ferro", 1);
+        long inventoryVersion = userService.findById(user.getId()).orElseThrow().getInventoryVersion();
+        post("/api/safezone/" + user.getId() + "/exit", token, null);
+
+        await(() -> received(events, "level-up") + dropped(events) == levelUps
+                && hasEvent(events, "safe-zone") && hasEvent(events, "inventory"));
+        Received xp = lastOf(events, "xp");
+        assertEquals(last.getXpPoints(), xp.data().get("xpPoints").asInt());
+        assertEquals(last.getLevel(), xp.data().get("level").asInt());
+        assertEquals(inventoryVersion, lastOf(events, "inventory").data().get("version").asLong());
+        assertEquals(false, lastOf(events, "safe-zone").data().get("inSafeZone").asBoolean());
+
+        int heartbeats = comments.size();
+        await(() -> comments.size() > heartbeats && comments.get(comments.size() - 1).contains("heartbeat"));
+
+        logger.info("SSE: {} grants -> {} xp events, {} of {} level-ups delivered, {} dropped; bus merged {} / dropped {}",
+                GRANTS, received(events, "xp"), received(events, "level-up"), levelUps, dropped(events),
+                playerEventBus.getMerged(), playerEventBus.getDropped());
+    }
+
+    private void readEvents(Stream<String> lines, List<Received> events, List<String> comments) {
+        String[] name = {null};
+        lines.forEach(line -> {
+            try {
+                if (line.startsWith(":")) {
+                    comments.add(line);
+                } else if (line.startsWith("event:")) {
+                    name[0] = line.substring("event:".length());
+                } else if (line.startsWith("data:")) {
+                    events.add(new Received(name[0], objectMapper.readTree(line.substring("data:".length()))));
+                } else if (line.isEmpty()) {
+                    name[0] = null;
+                }
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    private String post(String path, String token, String json) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Content-Type", "application/json")
+                .POST(json == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(json));
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        HttpResponse<String> response = client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, response.statusCode(), response.body());
+        return response.body();
+    }
+
+    private static long received(List<Received> events, String name) {
+        return events.stream().filter(event -> name.equals(event.name())).count();
+    }
+
+    private static boolean hasEvent(List<Received> events, String name) {
+        return received(events, name) > 0;
+    }
+
+    private static long dropped(List<Received> events) {
+        return events.stream().filter(event -> "resync".equals(event.name()))
+                .mapToLong(event -> event.data().get("dropped").asLong()).sum();
+    }
+
+    private static Received lastOf(List<Received> events, String name) {
+        Received last = null;
+        for (Received event : events) {
+            if (name.equals(event.name())) {
+                last = event;
+            }
+        }
+        return last;
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "evento esperado não chegou");
+            Thread.sleep(20);
+        }
+    }
+}
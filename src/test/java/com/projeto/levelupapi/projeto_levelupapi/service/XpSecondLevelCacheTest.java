@@ -0,0 +1,128 @@
+package com.projeto.levelupapi.projeto_levelupapi.service;
+
+import com.projeto.levelupapi.projeto_levelupapi.model.LevelCurve;
+import com.projeto.levelupapi.projeto_levelupapi.model.User;
+import com.projeto.levelupapi.projeto_levelupapi.model.Xp;
+import com.projeto.levelupapi.projeto_levelupapi.repository.XpRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class XpSecondLevelCacheTest {
+    private static final Logger logger = LoggerFactory.getLogger(XpSecondLevelCacheTest.class);
+
+    private static final int WRITERS = 8;
+    private static final int READERS = 8;
+    private static final int PLAYERS_PER_WRITER = 4;
+    private static final int GRANTS_PER_WRITER = 400;
+
+    @Autowired
+    private XpService xpService;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private XpRepository xpRepository;
+    @Autowired
+    private LevelCurve levelCurve;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    // Cada escritor tem seus próprios jogadores, então as concessões de um jogador são sequenciais:
+    // qualquer leitura desatualizada do cache durante o read-modify-write vira XP perdido.
+    // Leitores em paralelo ficam recarregando as mesmas linhas no cache enquanto elas mudam.
+    @Test
+    void cachedXpStaysInSyncWithDatabaseUnderConcurrentWrites() throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        List<Long> playerIds = new ArrayList<>();
+        for (int i = 0; i < WRITERS * PLAYERS_PER_WRITER; i++) {
+            User user = new User();
+            user.setUsername("l2-cache-" + i);
+            user.setPassword("senha-l2");
+            playerIds.add(userService.create(user).getId());
+        }
+        long hitsBefore = statistics.getSecondLevelCacheHitCount();
+
+        AtomicBoolean writing = new AtomicBoolean(true);
+        ExecutorService executor = Executors.newFixedThreadPool(WRITERS + READERS);
+        List<Future<Map<Long, Xp>>> writers = new ArrayList<>();
+        List<Future<?>> readers = new ArrayList<>();
+        try {
+            for (int w = 0; w < WRITERS; w++) {
+                List<Long> own = playerIds.subList(w * PLAYERS_PER_WRITER, (w + 1) * PLAYERS_PER_WRITER);
+                long seed = w;
+                writers.add(executor.submit(() -> grantAndModel(own, new Random(seed))));
+            }
+            for (int r = 0; r < READERS; r++) {
+                readers.add(executor.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    while (writing.get()) {
+                        xpService.obterXp(playerIds.get(random.nextInt(playerIds.size())));
+                    }
+                }));
+            }
+            List<Map<Long, Xp>> expected = new ArrayList<>();
+            for (Future<Map<Long, Xp>> writer : writers) {
+                expected.add(writer.get());
+            }
+            writing.set(false);
+            for (Future<?> reader : readers) {
+                reader.get();
+            }
+
+            for (Map<Long, Xp> models : expected) {
+                models.forEach((userId, model) -> {
+                    Map<String, Object> row = jdbcTemplate.queryForMap("SELECT xp_points, level FROM xp WHERE user_id = ?", userId);
+                    Xp cached = xpRepository.findByUserId(userId).orElseThrow();
+                    assertEquals(model.getXpPoints(), ((Number) row.get("xp_points")).intValue(), "XP perdido no banco para " + userId);
+                    assertEquals(model.getLevel(), ((Number) row.get("level")).intValue(), "nível perdido no banco para " + userId);
+                    assertEquals(model.getXpPoints(), cached.getXpPoints(), "cache desatualizado para " + userId);
+                    assertEquals(model.getLevel(), cached.getLevel(), "cache desatualizado para " + userId);
+                });
+            }
+        } finally {
+            writing.set(false);
+            executor.shutdownNow();
+        }
+        long hits = statistics.getSecondLevelCacheHitCount() - hitsBefore;
+        assertTrue(hits > 0, "o cache de segundo nível não foi usado");
+        logger.info("L2 cache under concurrent XP writes: {} hits; query cache {} hits / {} misses; xp region {} puts",
+                hits, statistics.getQueryCacheHitCount(), statistics.getQueryCacheMissCount(),
+                statistics.getDomainDataRegionStatistics("xp").getPutCount());
+    }
+
+    // Aplica as concessões pelo serviço e, em paralelo, no modelo em memória com as mesmas regras
+    private Map<Long, Xp> grantAndModel(List<Long> players, Random random) {
+        Map<Long, Xp> models = new HashMap<>();
+        players.forEach(id -> models.put(id, new Xp(null, null, 0, 1)));
+        for (int i = 0; i < GRANTS_PER_WRITER; i++) {
+            Long userId = players.get(random.nextInt(players.size()));
+            int gain = 1 + random.nextInt(150);
+            xpService.adicionarXp(userId, gain);
+            XpService.aplicarXp(userId, models.get(userId), gain, levelCurve);
+        }
+        return models;
+    }
+}
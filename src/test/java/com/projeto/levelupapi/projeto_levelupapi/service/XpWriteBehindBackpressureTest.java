@@ -0,0 +1,73 @@
+package com.projeto.levelupapi.projeto_levelupapi.service;
+
+import com.projeto.levelupapi.projeto_levelupapi.model.User;
+import com.projeto.levelupapi.projeto_levelupapi.repository.XpRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(properties = {
+        "xp.write-behind.enabled=true",
+        "xp.write-behind.flush-interval-ms=3600000",
+        "xp.write-behind.max-pending=1",
+        "xp.write-behind.journal=target/xp-write-behind-backpressure-test.journal",
+        "xp.write-behind.journal-fsync=true"})
+class XpWriteBehindBackpressureTest {
+
+    @Autowired
+    private XpService xpService;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private XpRepository xpRepository;
+    @Autowired
+    private XpWriteBehindBuffer writeBehindBuffer;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Com o buffer cheio o ganho vai direto para a tabela; o jogador que já estava pendente continua
+    // esperando o flush, e nenhum dos dois perde XP
+    @Test
+    void grantsAreWrittenSynchronouslyOnceThePendingCapIsReached() {
+        Long buffered = criar("backpressure-1");
+        Long direct = criar("backpressure-2");
+
+        xpService.adicionarXp(buffered, 30);
+        assertEquals(1, writeBehindBuffer.pendingCount());
+        assertEquals(0, xpNoBanco(buffered));
+
+        long syncWrites = writeBehindBuffer.getSyncWrites();
+        xpService.adicionarXp(direct, 40);
+        xpService.adicionarXp(buffered, 5);
+        assertEquals(syncWrites + 2, writeBehindBuffer.getSyncWrites());
+        assertEquals(1, writeBehindBuffer.pendingCount());
+        assertEquals(40, xpNoBanco(direct));
+        assertEquals(35, xpNoBanco(buffered));
+        assertEquals(40, xpRepository.findByUserId(direct).orElseThrow().getXpPoints());
+        assertEquals(35, writeBehindBuffer.snapshot(buffered).getXpPoints());
+
+        writeBehindBuffer.flush();
+        assertEquals(0, writeBehindBuffer.pendingCount());
+        assertEquals(35, xpNoBanco(buffered));
+
+        // Buffer vazio de novo: o próximo ganho volta a ser acumulado
+        xpService.adicionarXp(direct, 10);
+        assertEquals(syncWrites + 2, writeBehindBuffer.getSyncWrites());
+        assertEquals(40, xpNoBanco(direct));
+        assertEquals(50, writeBehindBuffer.snapshot(direct).getXpPoints());
+    }
+
+    private Long criar(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setPassword("senha-" + username);
+        return userService.create(user).getId();
+    }
+
+    private int xpNoBanco(Long userId) {
+        return jdbcTemplate.queryForObject("SELECT xp_points FROM xp WHERE user_id = ?", Integer.class, userId);
+    }
+}
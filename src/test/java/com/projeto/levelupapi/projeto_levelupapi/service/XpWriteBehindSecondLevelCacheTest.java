@@ -0,0 +1,74 @@
+package com.projeto.levelupapi.projeto_levelupapi.service;
+
+import com.projeto.levelupapi.projeto_levelupapi.model.User;
+import com.projeto.levelupapi.projeto_levelupapi.model.Xp;
+import com.projeto.levelupapi.projeto_levelupapi.repository.XpRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        "xp.write-behind.enabled=true",
+        "xp.write-behind.flush-interval-ms=3600000",
+        "xp.write-behind.journal=target/xp-write-behind-l2-test.journal"})
+class XpWriteBehindSecondLevelCacheTest {
+
+    @Autowired
+    private XpService xpService;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private XpRepository xpRepository;
+    @Autowired
+    private XpWriteBehindBuffer writeBehindBuffer;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    // O flush grava por JDBC, por fora do Hibernate: sem o evict da linha no cache de segundo nível,
+    // a releitura depois do flush devolveria o XP de antes dos ganhos
+    @Test
+    void cachedXpIsRefreshedAfterWriteBehindFlush() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        User user = new User();
+        user.setUsername("l2-write-behind");
+        user.setPassword("senha-l2");
+        Long userId = userService.create(user).getId();
+
+        int expectedXp = 0;
+        int expectedLevel = 1;
+        for (int round = 0; round < 5; round++) {
+            // Duas leituras: a segunda tem que vir do cache, senão o teste não prova nada
+            Xp cached = xpRepository.findByUserId(userId).orElseThrow();
+            long hits = statistics.getSecondLevelCacheHitCount();
+            assertEquals(cached.getXpPoints(), xpRepository.findByUserId(userId).orElseThrow().getXpPoints());
+            assertTrue(statistics.getSecondLevelCacheHitCount() > hits, "a linha de XP não veio do cache");
+
+            xpService.adicionarXp(userId, 70);
+            Xp buffered = writeBehindBuffer.snapshot(userId);
+            expectedXp = buffered.getXpPoints();
+            expectedLevel = buffered.getLevel();
+            assertTrue(writeBehindBuffer.pendingCount() > 0);
+
+            writeBehindBuffer.flush();
+
+            Map<String, Object> row = jdbcTemplate.queryForMap("SELECT xp_points, level FROM xp WHERE user_id = ?", userId);
+            assertEquals(expectedXp, ((Number) row.get("xp_points")).intValue());
+            assertEquals(expectedLevel, ((Number) row.get("level")).intValue());
+            Xp reread = xpRepository.findByUserId(userId).orElseThrow();
+            assertEquals(expectedXp, reread.getXpPoints(), "cache desatualizado após o flush (rodada " + round + ")");
+            assertEquals(expectedLevel, reread.getLevel(), "cache desatualizado após o flush (rodada " + round + ")");
+        }
+        assertTrue(expectedLevel > 1, "as concessões deveriam ter subido o nível");
+    }
+}